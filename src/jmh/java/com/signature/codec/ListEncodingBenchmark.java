@@ -0,0 +1,122 @@
+package com.signature.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.signature.domain.CustomerDTO;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Encoding cost of a list response, i.e. a {@code Flux<CustomerDTO>}, per representation. The payload size of every
+ * format is reported as the {@code payloadBytes} secondary result, next to the time and allocation figures.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ListEncodingBenchmark {
+
+  private static final ResolvableType ELEMENT_TYPE = ResolvableType.forClass(CustomerDTO.class);
+
+  @Param({"json", "cbor", "smile", "protobuf"})
+  public String format;
+
+  @Param({"50", "1000"})
+  public int size;
+
+  private Encoder<Object> encoder;
+  private MimeType mimeType;
+  private List<CustomerDTO> customers;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    switch (format) {
+      case "json":
+        encoder = (Encoder<Object>) (Encoder<?>) new Jackson2JsonEncoder(Jackson2ObjectMapperBuilder.json().build());
+        mimeType = MediaType.APPLICATION_JSON;
+        break;
+      case "cbor":
+        encoder = (Encoder<Object>) (Encoder<?>) new CborEncoder(new ObjectMapper(new CBORFactory()));
+        mimeType = MediaType.APPLICATION_CBOR;
+        break;
+      case "smile":
+        encoder = (Encoder<Object>) (Encoder<?>) new Jackson2SmileEncoder(new ObjectMapper(new SmileFactory()));
+        mimeType = MediaType.valueOf("application/x-jackson-smile");
+        break;
+      default:
+        encoder = new ProtobufDtoEncoder();
+        mimeType = ProtobufDtoEncoder.APPLICATION_PROTOBUF;
+    }
+
+    customers = IntStream.range(0, size)
+            .mapToObj(i -> new CustomerDTO("First" + i, "Last" + i,
+                    "/api/v1/customers/63290f1d8e0c4b2a3c5d" + (7000 + i)))
+            .collect(Collectors.toList());
+  }
+
+  @Benchmark
+  public long encode(final Payload payload) {
+    return encodeList();
+  }
+
+  private long encodeList() {
+    return encoder.encode(Flux.fromIterable(customers), DefaultDataBufferFactory.sharedInstance, ELEMENT_TYPE,
+                    mimeType, Collections.emptyMap())
+            .map(ListEncodingBenchmark::readableAndRelease)
+            .reduce(0L, Long::sum)
+            .block();
+  }
+
+  private static long readableAndRelease(final DataBuffer buffer) {
+    final long bytes = buffer.readableByteCount();
+    DataBufferUtils.release(buffer);
+    return bytes;
+  }
+
+  /**
+   * Size of the encoded list, measured once per iteration outside of the timed calls.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Payload {
+
+    public long payloadBytes;
+
+    @Setup(Level.Iteration)
+    public void measure(final ListEncodingBenchmark benchmark) {
+      payloadBytes = benchmark.encodeList();
+    }
+  }
+}
\ No newline at end of file
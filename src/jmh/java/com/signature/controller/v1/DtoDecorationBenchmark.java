@@ -0,0 +1,65 @@
+package com.signature.controller.v1;
+
+import com.signature.domain.CategoryDTO;
+import com.signature.domain.CustomerDTO;
+import com.signature.domain.VendorDTO;
+import com.signature.mapper.CategoryMapper;
+import com.signature.mapper.CustomerMapper;
+import com.signature.mapper.VendorMapper;
+import com.signature.model.Category;
+import com.signature.model.Customer;
+import com.signature.model.Vendor;
+import com.signature.util.FieldSelection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-element cost of turning a document into a response DTO, i.e. the mapper call plus the resource URL.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DtoDecorationBenchmark {
+
+  private final CustomerResource customerResource = new CustomerResource(CustomerMapper.INSTANCE);
+  private final VendorResource vendorResource = new VendorResource(VendorMapper.INSTANCE);
+  private final CategoryResource categoryResource = new CategoryResource(CategoryMapper.INSTANCE);
+
+  private final FieldSelection names = FieldSelection.of("firstName", "lastName");
+
+  private final Customer customer = new Customer("63290f1d8e0c4b2a3c5d7e91", "Atul", "Singh");
+  private final Vendor vendor = new Vendor("63290f1d8e0c4b2a3c5d7e92", "Signature Technologies Ltd.");
+  private final Category category = new Category("63290f1d8e0c4b2a3c5d7e93", "Fruits");
+
+  @Benchmark
+  public CustomerDTO customerToCustomerDto() {
+    return customerResource.toDto(customer);
+  }
+
+  @Benchmark
+  public CustomerDTO customerToCustomerDtoWithoutUrl() {
+    return customerResource.toDto(customer, names);
+  }
+
+  @Benchmark
+  public VendorDTO vendorToVendorDto() {
+    return vendorResource.toDto(vendor);
+  }
+
+  @Benchmark
+  public CategoryDTO categoryToCategoryDto() {
+    return categoryResource.toDto(category);
+  }
+}
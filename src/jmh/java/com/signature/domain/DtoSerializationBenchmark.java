@@ -0,0 +1,63 @@
+package com.signature.domain;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the response DTOs with the object mapper defaults Spring Boot applies to the codecs.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DtoSerializationBenchmark {
+
+  private ObjectWriter customerWriter;
+  private ObjectWriter vendorWriter;
+  private ObjectWriter categoryWriter;
+
+  private final CustomerDTO customerDTO =
+          new CustomerDTO("Atul", "Singh", "/api/v1/customers/63290f1d8e0c4b2a3c5d7e91");
+  private final VendorDTO vendorDTO =
+          new VendorDTO("Signature Technologies Ltd.", "/api/v1/vendors/63290f1d8e0c4b2a3c5d7e92");
+  private final CategoryDTO categoryDTO = new CategoryDTO("Fruits", "/api/v1/categories/63290f1d8e0c4b2a3c5d7e93");
+
+  @Setup
+  public void setUp() {
+    final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    customerWriter = objectMapper.writerFor(CustomerDTO.class);
+    vendorWriter = objectMapper.writerFor(VendorDTO.class);
+    categoryWriter = objectMapper.writerFor(CategoryDTO.class);
+  }
+
+  @Benchmark
+  public byte[] customerDto() throws JsonProcessingException {
+    return customerWriter.writeValueAsBytes(customerDTO);
+  }
+
+  @Benchmark
+  public byte[] vendorDto() throws JsonProcessingException {
+    return vendorWriter.writeValueAsBytes(vendorDTO);
+  }
+
+  @Benchmark
+  public byte[] categoryDto() throws JsonProcessingException {
+    return categoryWriter.writeValueAsBytes(categoryDTO);
+  }
+}
@@ -0,0 +1,128 @@
+package com.signature.exception;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.autoconfigure.web.WebProperties;
+import org.springframework.boot.autoconfigure.web.reactive.error.AbstractErrorWebExceptionHandler;
+import org.springframework.boot.web.error.ErrorAttributeOptions;
+import org.springframework.boot.web.reactive.error.DefaultErrorAttributes;
+import org.springframework.boot.web.reactive.error.ErrorAttributes;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.adapter.DefaultServerWebExchange;
+import org.springframework.web.server.i18n.AcceptHeaderLocaleContextResolver;
+import org.springframework.web.server.session.DefaultWebSessionManager;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A 404 from exception to written response: a stack-capturing exception rendered from the error attributes, as
+ * before, against a stackless exception written directly by {@link RestGlobalErrorExceptionHandler}. The exception
+ * is created below {@code stackDepth} frames, as misses surface deep inside reactive pipelines.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NotFoundBenchmark {
+
+  private static final String ID = "63290f1d8e0c4b2a3c5d7e91";
+
+  @Param({"20", "150"})
+  public int stackDepth;
+
+  private final ServerCodecConfigurer codecs = ServerCodecConfigurer.create();
+  private final DefaultWebSessionManager sessionManager = new DefaultWebSessionManager();
+  private final AcceptHeaderLocaleContextResolver localeContextResolver = new AcceptHeaderLocaleContextResolver();
+
+  private AttributesErrorHandler attributesHandler;
+  private RestGlobalErrorExceptionHandler directHandler;
+
+  @Setup
+  public void setUp() throws Exception {
+    final StaticApplicationContext context = new StaticApplicationContext();
+    attributesHandler = new AttributesErrorHandler(new DefaultErrorAttributes(), context, codecs);
+    attributesHandler.afterPropertiesSet();
+    directHandler = new RestGlobalErrorExceptionHandler(new DefaultErrorAttributes(), context, codecs);
+    directHandler.afterPropertiesSet();
+  }
+
+  @Benchmark
+  public ServerWebExchange attributes() {
+    final ServerWebExchange exchange = exchange();
+    final Throwable error =
+            atDepth(stackDepth, () -> new ResourceNotFoundException("Customer with id " + ID + " not found"));
+    attributesHandler.handle(exchange, error).block();
+    return exchange;
+  }
+
+  @Benchmark
+  public ServerWebExchange direct() {
+    final ServerWebExchange exchange = exchange();
+    final Throwable error = atDepth(stackDepth, () -> ResourceNotFoundException.of("Customer", "id", ID));
+    directHandler.handle(exchange, error).block();
+    return exchange;
+  }
+
+  private ServerWebExchange exchange() {
+    return new DefaultServerWebExchange(MockServerHttpRequest.get("/api/v1/customers/" + ID).build(),
+            new MockServerHttpResponse(), sessionManager, codecs, localeContextResolver);
+  }
+
+  private static <T> T atDepth(final int depth, final Supplier<T> supplier) {
+    return depth <= 0 ? supplier.get() : atDepth(depth - 1, supplier);
+  }
+
+  /**
+   * The error handler as it was before not-found responses were written directly.
+   */
+  static class AttributesErrorHandler extends AbstractErrorWebExceptionHandler {
+
+    AttributesErrorHandler(final ErrorAttributes errorAttributes,
+                           final ApplicationContext applicationContext,
+                           final ServerCodecConfigurer serverCodecConfigurer) {
+      super(errorAttributes, new WebProperties.Resources(), applicationContext);
+      setMessageWriters(serverCodecConfigurer.getWriters());
+      setMessageReaders(serverCodecConfigurer.getReaders());
+    }
+
+    @Override
+    protected RouterFunction<ServerResponse> getRoutingFunction(ErrorAttributes errorAttributes) {
+      return RouterFunctions.route(RequestPredicates.all(), this::renderErrorResponse);
+    }
+
+    private Mono<ServerResponse> renderErrorResponse(ServerRequest request) {
+      Map<String, Object> errorPropertiesMap = getErrorAttributes(request,
+              ErrorAttributeOptions.of(ErrorAttributeOptions.Include.MESSAGE));
+      int statusCode = Integer.parseInt(errorPropertiesMap.get("status").toString());
+      return ServerResponse.status(statusCode)
+              .contentType(MediaType.APPLICATION_JSON)
+              .body(BodyInserters.fromValue(errorPropertiesMap));
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.signature.handler.v1;
+
+import com.signature.config.AppProperties;
+import com.signature.controller.v1.CustomerController;
+import com.signature.mapper.CustomerMapper;
+import com.signature.model.Customer;
+import com.signature.service.CustomerService;
+import com.signature.util.FieldSelection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Requests per second and, with {@code -prof gc}, bytes allocated per request for the customer endpoints served by
+ * {@link CustomerController} and by the {@link V1Routes} of the functional profile. Both are dispatched by a
+ * {@code DispatcherHandler} over the same in-memory service, so the difference is the mapping, argument resolution
+ * and response adaptation of each style. {@code get} reads one customer, {@code list} the first page of 50.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RoutingStyleBenchmark {
+
+  private static final String ID = "63290f1d8e0c4b2a3c5d7e91";
+
+  @Param({"get", "list"})
+  public String request;
+
+  private AnnotationConfigApplicationContext annotatedContext;
+  private AnnotationConfigApplicationContext functionalContext;
+  private HttpHandler annotated;
+  private HttpHandler functional;
+  private String uri;
+
+  @Setup
+  public void setUp() {
+    annotatedContext = context();
+    annotatedContext.registerBean(CustomerController.class);
+    annotatedContext.refresh();
+    annotated = WebHttpHandlerBuilder.applicationContext(annotatedContext).build();
+
+    functionalContext = context();
+    functionalContext.getEnvironment().setActiveProfiles(V1Routes.PROFILE);
+    functionalContext.registerBean(CustomerHandler.class);
+    functionalContext.registerBean("customerRoutes", RouterFunction.class,
+            () -> V1Routes.customerRoutes(functionalContext.getBean(CustomerHandler.class)));
+    functionalContext.refresh();
+    functional = WebHttpHandlerBuilder.applicationContext(functionalContext).build();
+
+    uri = "get".equals(request) ? "/api/v1/customers/" + ID : "/api/v1/customers?limit=50";
+  }
+
+  @TearDown
+  public void tearDown() {
+    annotatedContext.close();
+    functionalContext.close();
+  }
+
+  @Benchmark
+  public MockServerHttpResponse annotated() {
+    return handle(annotated);
+  }
+
+  @Benchmark
+  public MockServerHttpResponse functional() {
+    return handle(functional);
+  }
+
+  private MockServerHttpResponse handle(final HttpHandler handler) {
+    final MockServerHttpResponse response = new MockServerHttpResponse();
+    handler.handle(MockServerHttpRequest.get(uri).build(), response).block();
+    return response;
+  }
+
+  private static AnnotationConfigApplicationContext context() {
+    final AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+    context.register(WebConfig.class);
+    context.registerBean(CustomerMapper.class, () -> CustomerMapper.INSTANCE);
+    context.registerBean(CustomerService.class, RoutingStyleBenchmark::customerService);
+    context.registerBean(AppProperties.class, AppProperties::new);
+    return context;
+  }
+
+  /**
+   * Answers the reads of the benchmarked requests from memory.
+   */
+  private static CustomerService customerService() {
+    final List<Customer> page = IntStream.range(0, 51)
+            .mapToObj(i -> new Customer(String.format("63290f1d8e0c4b2a3c5d%04x", i), "Atul", "Singh"))
+            .collect(Collectors.toList());
+    final CustomerService customerService = mock(CustomerService.class);
+    when(customerService.getCustomer(eq(ID), any(FieldSelection.class)))
+            .thenReturn(Mono.just(new Customer(ID, "Atul", "Singh")));
+    when(customerService.getCustomerPage(isNull(), eq(51), any(FieldSelection.class)))
+            .thenReturn(Flux.fromIterable(page));
+    return customerService;
+  }
+
+  @EnableWebFlux
+  static class WebConfig {
+  }
+}
\ No newline at end of file
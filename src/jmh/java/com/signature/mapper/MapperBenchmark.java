@@ -0,0 +1,64 @@
+package com.signature.mapper;
+
+import com.signature.domain.CategoryDTO;
+import com.signature.domain.CustomerDTO;
+import com.signature.domain.VendorDTO;
+import com.signature.model.Category;
+import com.signature.model.Customer;
+import com.signature.model.Vendor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+
+  private final CustomerMapper customerMapper = CustomerMapper.INSTANCE;
+  private final VendorMapper vendorMapper = VendorMapper.INSTANCE;
+  private final CategoryMapper categoryMapper = CategoryMapper.INSTANCE;
+
+  private final Customer customer = new Customer("63290f1d8e0c4b2a3c5d7e91", "Atul", "Singh");
+  private final Vendor vendor = new Vendor("63290f1d8e0c4b2a3c5d7e92", "Signature Technologies Ltd.");
+  private final Category category = new Category("63290f1d8e0c4b2a3c5d7e93", "Fruits");
+
+  private final CustomerDTO customerDTO = new CustomerDTO("Atul", "Singh");
+  private final VendorDTO vendorDTO = new VendorDTO("Signature Technologies Ltd.");
+
+  @Benchmark
+  public CustomerDTO customerToCustomerDto() {
+    return customerMapper.customerToCustomerDto(customer);
+  }
+
+  @Benchmark
+  public Customer customerDtoToCustomer() {
+    return customerMapper.customerDtoToCustomer(customerDTO);
+  }
+
+  @Benchmark
+  public VendorDTO vendorToVendorDto() {
+    return vendorMapper.vendorToVendorDto(vendor);
+  }
+
+  @Benchmark
+  public Vendor vendorDtoToVendor() {
+    return vendorMapper.vendorDtoToVendor(vendorDTO);
+  }
+
+  @Benchmark
+  public CategoryDTO categoryToCategoryDto() {
+    return categoryMapper.categoryToCategoryDTO(category);
+  }
+}
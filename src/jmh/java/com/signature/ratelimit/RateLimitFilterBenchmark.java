@@ -0,0 +1,85 @@
+package com.signature.ratelimit;
+
+import com.signature.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of admitting a request through {@link RateLimitFilter}, against passing it straight to the chain.
+ * Limits are set high enough that every request is admitted, so this is the overhead every request pays. Requests
+ * come from {@code clients} addresses to get-by-id routes of random customers, on four threads.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Threads(4)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RateLimitFilterBenchmark {
+
+  private static final int EXCHANGES = 4096;
+  private static final WebFilterChain CHAIN = exchange -> Mono.empty();
+
+  @Param({"1", "10000"})
+  public int clients;
+
+  private RateLimitFilter filter;
+  private ServerWebExchange[] exchanges;
+
+  @Setup
+  public void setUp() {
+    final AppProperties appProperties = new AppProperties();
+    appProperties.getRateLimit().getClient().setRate(1e9);
+    appProperties.getRateLimit().getClient().setBurst(1_000_000);
+    appProperties.getRateLimit().getRoute().setRate(1e9);
+    appProperties.getRateLimit().getRoute().setBurst(1_000_000);
+    filter = new RateLimitFilter(appProperties, new SimpleMeterRegistry());
+
+    exchanges = new ServerWebExchange[EXCHANGES];
+    for (int i = 0; i < EXCHANGES; i++) {
+      exchanges[i] = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/customers/" + ObjectId.get())
+              .remoteAddress(clientAddress(i % clients)));
+    }
+  }
+
+  @Benchmark
+  public Void unfiltered() {
+    return CHAIN.filter(next()).block();
+  }
+
+  @Benchmark
+  public Void filtered() {
+    return filter.filter(next(), CHAIN).block();
+  }
+
+  private static InetSocketAddress clientAddress(final int client) {
+    final String address = "10." + (client >>> 16 & 0xff) + "." + (client >>> 8 & 0xff) + "." + (client & 0xff);
+    return new InetSocketAddress(address, 443);
+  }
+
+  private ServerWebExchange next() {
+    return exchanges[ThreadLocalRandom.current().nextInt(EXCHANGES)];
+  }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.signature.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a suggestion lookup of ten vendors by a random two or three letter prefix, and of renaming a vendor, in a
+ * {@link PrefixIndex} of {@code vendors} generated names. The index size is reported as the
+ * {@code indexBytes} secondary result.
+ */
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PrefixIndexBenchmark {
+
+  private static final int PREFIXES = 4096;
+  private static final String[] WORDS = {"Apple", "Ångström", "Blue", "Café", "Delta", "Global", "Green", "Müller",
+      "North", "Pacific", "Signature", "Summit", "Vandela", "Zenith"};
+  private static final String[] SUFFIXES = {"Technologies Ltd.", "Foods", "Trading Co.", "GmbH", "Partners"};
+
+  @Param({"10000", "1000000"})
+  public int vendors;
+
+  private PrefixIndex index;
+  private String[] prefixes;
+  private String[] ids;
+
+  @Setup
+  public void setUp() {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final List<PrefixIndex.Entry> entries = new ArrayList<>(vendors);
+    for (int i = 0; i < vendors; i++) {
+      final String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " "
+              + SUFFIXES[random.nextInt(SUFFIXES.length)] + " " + i;
+      entries.add(new PrefixIndex.Entry(ObjectId.get().toHexString(), name));
+    }
+    index = new PrefixIndex("benchmark", new SimpleMeterRegistry());
+    index.beginLoad();
+    index.load(entries);
+
+    prefixes = new String[PREFIXES];
+    ids = new String[PREFIXES];
+    for (int i = 0; i < PREFIXES; i++) {
+      final String name = entries.get(random.nextInt(vendors)).getLabel();
+      prefixes[i] = name.substring(0, Math.min(name.length(), 2 + random.nextInt(2)));
+      ids[i] = entries.get(random.nextInt(vendors)).getId();
+    }
+  }
+
+  @Benchmark
+  public List<PrefixIndex.Entry> find(final IndexSize size) {
+    return index.find(prefixes[ThreadLocalRandom.current().nextInt(PREFIXES)], SearchKeys.DEFAULT_LIMIT);
+  }
+
+  @Benchmark
+  public PrefixIndex rename(final IndexSize size) {
+    final int i = ThreadLocalRandom.current().nextInt(PREFIXES);
+    index.put(ids[i], prefixes[i] + " renamed");
+    return index;
+  }
+
+  /**
+   * Memory held by the index, measured once per iteration outside of the timed calls.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class IndexSize {
+
+    public long indexBytes;
+
+    @Setup(Level.Iteration)
+    public void measure(final PrefixIndexBenchmark benchmark) {
+      indexBytes = benchmark.index.memory();
+    }
+  }
+}
\ No newline at end of file
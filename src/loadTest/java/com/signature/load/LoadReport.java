@@ -0,0 +1,89 @@
+package com.signature.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Latency percentiles and throughput of every scenario, written as {@code load-test.json} and {@code load-test.html}.
+ */
+class LoadReport {
+
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+  private final Map<String, Object> settings;
+  private final List<Map<String, Object>> scenarios = new ArrayList<>();
+
+  LoadReport(final Map<String, Object> settings) {
+    this.settings = settings;
+  }
+
+  void add(final String scenario, final Histogram latencies, final long errors, final long dropped,
+           final double elapsedSeconds) {
+    final Map<String, Object> row = new LinkedHashMap<>();
+    row.put("scenario", scenario);
+    row.put("requests", latencies.getTotalCount());
+    row.put("errors", errors);
+    row.put("dropped", dropped);
+    row.put("throughput", round(latencies.getTotalCount() / elapsedSeconds));
+    row.put("mean", millis(latencies.getMean()));
+    row.put("p50", millis(latencies.getValueAtPercentile(50)));
+    row.put("p90", millis(latencies.getValueAtPercentile(90)));
+    row.put("p99", millis(latencies.getValueAtPercentile(99)));
+    row.put("p999", millis(latencies.getValueAtPercentile(99.9)));
+    row.put("max", millis(latencies.getMaxValue()));
+    scenarios.add(row);
+  }
+
+  List<Map<String, Object>> getScenarios() {
+    return scenarios;
+  }
+
+  void write(final Path directory) throws IOException {
+    Files.createDirectories(directory);
+
+    final Map<String, Object> report = new LinkedHashMap<>();
+    report.put("settings", settings);
+    report.put("latencyUnit", "ms");
+    report.put("scenarios", scenarios);
+    new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+            .writeValue(directory.resolve("load-test.json").toFile(), report);
+
+    Files.writeString(directory.resolve("load-test.html"), html(), StandardCharsets.UTF_8);
+  }
+
+  private String html() {
+    final StringBuilder html = new StringBuilder()
+            .append("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"utf-8\">\n<title>Load test</title>\n")
+            .append("<style>body{font-family:sans-serif}table{border-collapse:collapse}")
+            .append("td,th{border:1px solid #ccc;padding:4px 8px;text-align:right}")
+            .append("td:first-child{text-align:left}</style>\n</head>\n<body>\n<h1>Load test</h1>\n<p>");
+    settings.forEach((key, value) -> html.append(key).append(" = ").append(value).append("<br>\n"));
+    html.append("</p>\n<table>\n<tr><th>scenario</th><th>requests</th><th>errors</th><th>dropped</th>")
+            .append("<th>req/s</th><th>mean ms</th><th>p50 ms</th><th>p90 ms</th><th>p99 ms</th>")
+            .append("<th>p999 ms</th><th>max ms</th></tr>\n");
+    for (Map<String, Object> row : scenarios) {
+      html.append("<tr>");
+      row.values().forEach(value -> html.append("<td>").append(value).append("</td>"));
+      html.append("</tr>\n");
+    }
+    return html.append("</table>\n</body>\n</html>\n").toString();
+  }
+
+  private static double millis(final double nanos) {
+    return round(nanos / NANOS_PER_MILLI);
+  }
+
+  private static double round(final double value) {
+    return Math.round(value * 1000) / 1000.0;
+  }
+}
\ No newline at end of file
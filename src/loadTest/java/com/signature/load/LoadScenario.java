@@ -0,0 +1,90 @@
+package com.signature.load;
+
+import com.signature.domain.CustomerDTO;
+import com.signature.domain.VendorDTO;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiFunction;
+
+/**
+ * One endpoint driven by the load test. Each arrival issues a single request built from the seeded ids.
+ */
+class LoadScenario {
+
+  private final String name;
+  private final BiFunction<WebClient, SeededIds, Mono<?>> request;
+
+  LoadScenario(final String name, final BiFunction<WebClient, SeededIds, Mono<?>> request) {
+    this.name = name;
+    this.request = request;
+  }
+
+  String getName() {
+    return name;
+  }
+
+  Mono<?> request(final WebClient webClient, final SeededIds ids) {
+    return request.apply(webClient, ids);
+  }
+
+  static List<LoadScenario> all() {
+    return List.of(
+            new LoadScenario("customers.create", (client, ids) -> client.post().uri("/api/v1/customers")
+                    .bodyValue(new CustomerDTO("Load", "Test"))
+                    .retrieve().toBodilessEntity()),
+            new LoadScenario("customers.get", (client, ids) -> client.get()
+                    .uri("/api/v1/customers/{id}", ids.anyCustomer())
+                    .retrieve().toBodilessEntity()),
+            new LoadScenario("customers.page", (client, ids) -> client.get()
+                    .uri("/api/v1/customers?limit=50&after={id}", ids.anyCustomer())
+                    .retrieve().toBodilessEntity()),
+            new LoadScenario("customers.update", (client, ids) -> client.put()
+                    .uri("/api/v1/customers/{id}", ids.anyCustomer())
+                    .bodyValue(new CustomerDTO("Load", "Test"))
+                    .retrieve().toBodilessEntity()),
+            new LoadScenario("customers.patch", (client, ids) -> client.patch()
+                    .uri("/api/v1/customers/{id}", ids.anyCustomer())
+                    .bodyValue(new CustomerDTO(null, "Patched"))
+                    .retrieve().toBodilessEntity()),
+            new LoadScenario("vendors.create", (client, ids) -> client.post().uri("/api/v1/vendors")
+                    .bodyValue(new VendorDTO("Load Test Ltd."))
+                    .retrieve().toBodilessEntity()),
+            new LoadScenario("vendors.get", (client, ids) -> client.get()
+                    .uri("/api/v1/vendors/{id}", ids.anyVendor())
+                    .retrieve().toBodilessEntity()),
+            new LoadScenario("vendors.page", (client, ids) -> client.get()
+                    .uri("/api/v1/vendors?limit=50&after={id}", ids.anyVendor())
+                    .retrieve().toBodilessEntity()),
+            new LoadScenario("vendors.patch", (client, ids) -> client.patch()
+                    .uri("/api/v1/vendors/{id}", ids.anyVendor())
+                    .bodyValue(new VendorDTO("Patched Ltd."))
+                    .retrieve().toBodilessEntity()),
+            new LoadScenario("categories.list", (client, ids) -> client.get().uri("/api/v1/categories")
+                    .retrieve().toBodilessEntity()),
+            new LoadScenario("categories.get", (client, ids) -> client.get()
+                    .uri("/api/v1/categories/{name}", "Fruits")
+                    .retrieve().toBodilessEntity()));
+  }
+
+  static class SeededIds {
+
+    private final List<String> customers;
+    private final List<String> vendors;
+
+    SeededIds(final List<String> customers, final List<String> vendors) {
+      this.customers = customers;
+      this.vendors = vendors;
+    }
+
+    String anyCustomer() {
+      return customers.get(ThreadLocalRandom.current().nextInt(customers.size()));
+    }
+
+    String anyVendor() {
+      return vendors.get(ThreadLocalRandom.current().nextInt(vendors.size()));
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,173 @@
+package com.signature.load;
+
+import com.signature.SpringRestfulApplication;
+import com.signature.load.LoadScenario.SeededIds;
+import com.signature.model.Customer;
+import com.signature.model.Vendor;
+import com.signature.repository.BulkInsertResult;
+import com.signature.repository.CustomerRepository;
+import com.signature.repository.VendorRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Starts the application on embedded Mongo, seeds it and drives every {@link LoadScenario} with an open workload:
+ * requests arrive at a fixed rate whether or not earlier ones have completed, and latency is measured from the
+ * intended arrival time so queueing in front of a slow server is not hidden.
+ * <p>
+ * Settings are read from system properties, see {@code ./gradlew loadTest} in build.gradle.
+ */
+@Slf4j
+public final class LoadTest {
+
+  private static final Duration TICK = Duration.ofMillis(1);
+  private static final int SEED_CHUNK_SIZE = 1000;
+  private static final int MAX_IN_FLIGHT = 512;
+  private static final int MAX_QUEUED = 100_000;
+
+  private LoadTest() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    final int documents = Integer.getInteger("load.documents", 10_000);
+    final int rate = Integer.getInteger("load.rate", 200);
+    final Duration warmup = DurationStyle.detectAndParse(System.getProperty("load.warmup", "5s"));
+    final Duration duration = DurationStyle.detectAndParse(System.getProperty("load.duration", "30s"));
+    final Pattern include = Pattern.compile(System.getProperty("load.scenarios", ".*"));
+    final Path reportDirectory = Path.of(System.getProperty("load.report-dir", "build/reports/loadTest"));
+
+    final ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringRestfulApplication.class)
+            .properties("server.port=0",
+                    "spring.data.mongodb.port=0",
+                    "logging.level.com.signature=info",
+                    "logging.level.org.springframework.data.mongodb.core.ReactiveMongoTemplate=info",
+                    "app.rate-limit.enabled=false")
+            .run(args);
+
+    try {
+      final int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+      final SeededIds ids = new SeededIds(
+              seed(documents, i -> new Customer("First" + i, "Last" + i),
+                      context.getBean(CustomerRepository.class)::insertUnordered),
+              seed(documents, i -> new Vendor("Vendor " + i + " Ltd."),
+                      context.getBean(VendorRepository.class)::insertUnordered));
+      log.info("Seeded {} customers and {} vendors", documents, documents);
+
+      final WebClient webClient = WebClient.builder()
+              .baseUrl("http://localhost:" + port)
+              .clientConnector(new ReactorClientHttpConnector(HttpClient.create(
+                      ConnectionProvider.builder("load-test")
+                              .maxConnections(MAX_IN_FLIGHT)
+                              .pendingAcquireMaxCount(-1)
+                              .build())))
+              .build();
+
+      final Map<String, Object> settings = new LinkedHashMap<>();
+      settings.put("documents", documents);
+      settings.put("rate", rate);
+      settings.put("warmup", warmup.toString());
+      settings.put("duration", duration.toString());
+      final LoadReport report = new LoadReport(settings);
+
+      final List<LoadScenario> scenarios = LoadScenario.all().stream()
+              .filter(scenario -> include.matcher(scenario.getName()).matches())
+              .collect(Collectors.toList());
+
+      for (LoadScenario scenario : scenarios) {
+        log.info("Running {} at {} req/s for {} after {} warm-up", scenario.getName(), rate, duration, warmup);
+        run(scenario, webClient, ids, rate, warmup, null);
+        run(scenario, webClient, ids, rate, duration, report);
+      }
+
+      report.write(reportDirectory);
+      report.getScenarios().forEach(row -> log.info("{}", row));
+      log.info("Report written to {}", reportDirectory.toAbsolutePath());
+    } finally {
+      context.close();
+    }
+  }
+
+  private static <T> List<String> seed(final int documents, final Function<Integer, T> factory,
+                                       final Function<List<T>, Flux<BulkInsertResult>> insert) {
+    return Flux.range(0, documents)
+            .map(factory)
+            .buffer(SEED_CHUNK_SIZE)
+            .concatMap(insert)
+            .filter(BulkInsertResult::isInserted)
+            .map(BulkInsertResult::getId)
+            .collectList()
+            .block();
+  }
+
+  private static void run(final LoadScenario scenario, final WebClient webClient, final SeededIds ids,
+                          final int rate, final Duration duration, final LoadReport report) {
+    final Histogram latencies = new ConcurrentHistogram(3);
+    final AtomicLong errors = new AtomicLong();
+    final AtomicLong dropped = new AtomicLong();
+    final long start = System.nanoTime();
+
+    arrivals(rate, duration)
+            .onBackpressureBuffer(MAX_QUEUED, intended -> dropped.incrementAndGet(),
+                    BufferOverflowStrategy.DROP_LATEST)
+            .flatMap(intended -> scenario.request(webClient, ids)
+                    .doOnSuccess(response -> latencies.recordValue(System.nanoTime() - intended))
+                    .onErrorResume(e -> {
+                      errors.incrementAndGet();
+                      return Mono.empty();
+                    }), MAX_IN_FLIGHT)
+            .blockLast();
+
+    if (report != null) {
+      report.add(scenario.getName(), latencies, errors.get(), dropped.get(),
+              (System.nanoTime() - start) / 1_000_000_000.0);
+    }
+  }
+
+  /**
+   * Intended start times, in {@link System#nanoTime()}, of {@code rate} requests per second over the given duration.
+   */
+  static Flux<Long> arrivals(final int rate, final Duration duration) {
+    return Flux.defer(() -> {
+      final long start = System.nanoTime();
+      final long end = start + duration.toNanos();
+      final double interval = 1_000_000_000.0 / rate;
+      final AtomicLong issued = new AtomicLong();
+
+      return Flux.interval(TICK)
+              .map(tick -> Math.min(System.nanoTime(), end))
+              .takeUntil(now -> now >= end)
+              .concatMapIterable(now -> {
+                final long due = (long) ((now - start) / interval);
+                final List<Long> starts = new ArrayList<>();
+                for (long next = issued.get(); next < due; next = issued.incrementAndGet()) {
+                  starts.add(start + (long) (next * interval));
+                }
+                return starts;
+              });
+    });
+  }
+}
\ No newline at end of file
@@ -2,12 +2,18 @@ package com.signature;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class SpringRestfulApplication {
 
   public static void main(String[] args) {
-    SpringApplication.run(SpringRestfulApplication.class, args);
+    final SpringApplication application = new SpringApplication(SpringRestfulApplication.class);
+    // startup steps are served at /actuator/startup
+    application.setApplicationStartup(new BufferingApplicationStartup(2048));
+    application.run(args);
   }
 
 }
@@ -1,5 +1,6 @@
 package com.signature.bootstrap;
 
+import com.signature.bootstrap.BootstrapCompletedEvent.CollectionSeed;
 import com.signature.model.Category;
 import com.signature.model.Customer;
 import com.signature.model.Vendor;
@@ -8,87 +9,118 @@ import com.signature.repository.CustomerRepository;
 import com.signature.repository.VendorRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Component;
-
-import java.util.Objects;
-
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Seeds empty collections with sample data without holding up startup.
+ * <p>
+ * All collections are counted and seeded concurrently, each with a single {@code insertMany}. Until seeding is done
+ * {@link BootstrapHealthIndicator} keeps the readiness probe down, and completion is announced with a
+ * {@link BootstrapCompletedEvent} carrying the time spent per collection.
+ */
 @Slf4j
 @Component
+@Profile("!" + PerfSeeder.PROFILE)
 public class Bootstrap implements CommandLineRunner {
 
   private final CategoryRepository categoryRepository;
   private final CustomerRepository customerRepository;
   private final VendorRepository vendorRepository;
+  private final ApplicationEventPublisher eventPublisher;
+
+  private volatile boolean completed;
+  private volatile Throwable failure;
 
   public Bootstrap(final CategoryRepository categoryRepository,
                    final CustomerRepository customerRepository,
-                   final VendorRepository vendorRepository) {
+                   final VendorRepository vendorRepository,
+                   final ApplicationEventPublisher eventPublisher) {
     this.categoryRepository = categoryRepository;
     this.customerRepository = customerRepository;
     this.vendorRepository = vendorRepository;
+    this.eventPublisher = eventPublisher;
   }
 
-  private void loadCategories() throws Exception {
-    final Long count = categoryRepository.count().block();
-
-    if (Objects.equals(count, 0L)) {
-      log.debug("### Loading Categories on Bootstrap ###");
-
-      categoryRepository.save(new Category("Fruits")).block();
-      categoryRepository.save(new Category("Dried")).block();
-      categoryRepository.save(new Category("Fresh")).block();
-      categoryRepository.save(new Category("Exotic")).block();
-      categoryRepository.save(new Category("Nuts")).block();
-
-      log.info("No. of categories added : {}", categoryRepository.count().block());
-    } else {
-      log.info("No. of categories already present : {}", count);
-    }
+  public boolean isCompleted() {
+    return completed;
   }
 
-  private void loadCustomers() throws Exception {
-    final Long count = customerRepository.count().block();
-
-    if (Objects.equals(count, 0L)) {
-      log.debug("### Loading Customers on Bootstrap ###");
-
-      customerRepository.save(new Customer("Rishu", "Singh")).block();
-      customerRepository.save(new Customer("Atul", "Singh")).block();
-      customerRepository.save(new Customer("Chotu", "Singh")).block();
-      customerRepository.save(new Customer("Abhishek", "Singh")).block();
-      customerRepository.save(new Customer("Shivang", "Verma")).block();
-      customerRepository.save(new Customer("Vivek", "Pandey")).block();
-      customerRepository.save(new Customer("Saumil", "Thripathi")).block();
-
-      log.info("No. of customers added : {}", customerRepository.count().block());
-    } else {
-      log.info("No. of customers already present : {}", count);
-    }
+  public Throwable getFailure() {
+    return failure;
   }
 
-  private void loadVendors() throws Exception {
-    final Long count = vendorRepository.count().block();
-
-    if (Objects.equals(count, 0L)) {
-      log.debug("### Loading Vendors on Bootstrap ###");
-
-      vendorRepository.save(new Vendor("Signature Technologies Ltd.")).block();
-      vendorRepository.save(new Vendor("Vandela Technologies Ltd.")).block();
-      vendorRepository.save(new Vendor("Apple Technologies Ltd.")).block();
-      vendorRepository.save(new Vendor("Microsoft Technologies Ltd.")).block();
-      vendorRepository.save(new Vendor("Google Technologies Ltd.")).block();
-      vendorRepository.save(new Vendor("Facebook Technologies Ltd.")).block();
+  /**
+   * Seeds every empty collection, completing once all of them are written.
+   */
+  public Mono<BootstrapCompletedEvent> seed() {
+    final long started = System.nanoTime();
+    return Flux.merge(
+                    seed("categories", categoryRepository, () -> List.of(
+                            new Category("Fruits"),
+                            new Category("Dried"),
+                            new Category("Fresh"),
+                            new Category("Exotic"),
+                            new Category("Nuts"))),
+                    seed("customers", customerRepository, () -> List.of(
+                            new Customer("Rishu", "Singh"),
+                            new Customer("Atul", "Singh"),
+                            new Customer("Chotu", "Singh"),
+                            new Customer("Abhishek", "Singh"),
+                            new Customer("Shivang", "Verma"),
+                            new Customer("Vivek", "Pandey"),
+                            new Customer("Saumil", "Thripathi"))),
+                    seed("vendors", vendorRepository, () -> List.of(
+                            new Vendor("Signature Technologies Ltd."),
+                            new Vendor("Vandela Technologies Ltd."),
+                            new Vendor("Apple Technologies Ltd."),
+                            new Vendor("Microsoft Technologies Ltd."),
+                            new Vendor("Google Technologies Ltd."),
+                            new Vendor("Facebook Technologies Ltd."))))
+            .collectList()
+            .map(collections ->
+                    new BootstrapCompletedEvent(this, collections, (System.nanoTime() - started) / 1_000_000))
+            .doOnNext(event -> {
+              completed = true;
+              log.info("Bootstrap finished in {} ms, {} ms after JVM start: {}", event.getTotalMillis(),
+                      ManagementFactory.getRuntimeMXBean().getUptime(),
+                      event.getCollections().stream().map(Object::toString).collect(Collectors.joining(", ")));
+              eventPublisher.publishEvent(event);
+            })
+            .doOnError(e -> {
+              failure = e;
+              log.error("Bootstrap failed", e);
+            });
+  }
 
-      log.info("No. of vendors added : {}", vendorRepository.count().block());
-    } else {
-      log.info("No. of vendors already present : {}", count);
-    }
+  private static <T> Mono<CollectionSeed> seed(final String collection,
+                                               final ReactiveMongoRepository<T, String> repository,
+                                               final Supplier<List<T>> documents) {
+    return repository.count().elapsed().flatMap(counted -> {
+      final long count = counted.getT2();
+      if (count > 0) {
+        log.info("No. of {} already present : {}", collection, count);
+        return Mono.just(new CollectionSeed(collection, counted.getT1(), 0, 0));
+      }
+      log.debug("### Loading {} on Bootstrap ###", collection);
+      return repository.insert(documents.get()).count().elapsed().map(inserted -> {
+        log.info("No. of {} added : {}", collection, inserted.getT2());
+        return new CollectionSeed(collection, counted.getT1(), inserted.getT1(), inserted.getT2());
+      });
+    });
   }
 
   @Override
-  public void run(String... args) throws Exception {
-    loadCategories();
-    loadCustomers();
-    loadVendors();
+  public void run(String... args) {
+    seed().onErrorResume(e -> Mono.empty()).subscribe();
   }
 }
\ No newline at end of file
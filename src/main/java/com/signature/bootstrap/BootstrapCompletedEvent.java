@@ -0,0 +1,38 @@
+package com.signature.bootstrap;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+/**
+ * Published once {@link Bootstrap} has seeded every collection, with the time each collection took.
+ */
+@Getter
+public class BootstrapCompletedEvent extends ApplicationEvent {
+
+  private final List<CollectionSeed> collections;
+  private final long totalMillis;
+
+  public BootstrapCompletedEvent(final Object source, final List<CollectionSeed> collections, final long totalMillis) {
+    super(source);
+    this.collections = collections;
+    this.totalMillis = totalMillis;
+  }
+
+  @Getter
+  @AllArgsConstructor
+  public static class CollectionSeed {
+
+    private final String collection;
+    private final long countMillis;
+    private final long insertMillis;
+    private final long inserted;
+
+    @Override
+    public String toString() {
+      return collection + " (count " + countMillis + " ms, " + inserted + " inserted in " + insertMillis + " ms)";
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.signature.bootstrap;
+
+import org.springframework.boot.actuate.health.AbstractReactiveHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reports {@code OUT_OF_SERVICE} while {@link Bootstrap} is still seeding, so the readiness group holds traffic back
+ * until the sample data is in place.
+ */
+@Component
+@Profile("!" + PerfSeeder.PROFILE)
+public class BootstrapHealthIndicator extends AbstractReactiveHealthIndicator {
+
+  private final Bootstrap bootstrap;
+
+  public BootstrapHealthIndicator(final Bootstrap bootstrap) {
+    this.bootstrap = bootstrap;
+  }
+
+  @Override
+  protected Mono<Health> doHealthCheck(Health.Builder builder) {
+    if (bootstrap.getFailure() != null) {
+      return Mono.just(builder.down(bootstrap.getFailure()).build());
+    }
+    return Mono.just(bootstrap.isCompleted() ? builder.up().build() : builder.outOfService().build());
+  }
+}
\ No newline at end of file
@@ -0,0 +1,125 @@
+package com.signature.bootstrap;
+
+import com.signature.config.AppProperties;
+import com.signature.model.Customer;
+import com.signature.model.Vendor;
+import com.signature.repository.BulkInsertResult;
+import com.signature.repository.CustomerRepository;
+import com.signature.repository.VendorRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Fills the database with generated customers and vendors for performance testing, e.g.
+ * {@code ./gradlew bootRun --args='--spring.profiles.active=perf-seed --app.perf-seed.customers=5000000'}.
+ * <p>
+ * Documents are generated lazily and written in unordered {@code insertMany} batches, several of them in flight at
+ * once, so memory use depends on the batch size and concurrency only. The achieved throughput is logged per
+ * collection.
+ */
+@Slf4j
+@Component
+@Profile(PerfSeeder.PROFILE)
+public class PerfSeeder implements ApplicationRunner {
+
+  public static final String PROFILE = "perf-seed";
+
+  private static final int PROGRESS_STEPS = 10;
+
+  private final CustomerRepository customerRepository;
+  private final VendorRepository vendorRepository;
+  private final AppProperties.PerfSeed properties;
+  private final ConfigurableApplicationContext context;
+
+  public PerfSeeder(final CustomerRepository customerRepository,
+                    final VendorRepository vendorRepository,
+                    final AppProperties appProperties,
+                    final ConfigurableApplicationContext context) {
+    this.customerRepository = customerRepository;
+    this.vendorRepository = vendorRepository;
+    this.properties = appProperties.getPerfSeed();
+    this.context = context;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    log.info("### Seeding {} customers and {} vendors in batches of {} with {} concurrent inserts ###",
+            properties.getCustomers(), properties.getVendors(), properties.getBatchSize(),
+            properties.getConcurrency());
+
+    final SyntheticData customers = new SyntheticData(properties.getSeed());
+    final SyntheticData vendors = new SyntheticData(properties.getSeed() + 1);
+    final SeedResult customerResult = seed("customers", properties.getCustomers(),
+            customers::customer, customerRepository::insertUnordered);
+    final SeedResult vendorResult = seed("vendors", properties.getVendors(),
+            vendors::vendor, vendorRepository::insertUnordered);
+
+    final long inserted = customerResult.inserted + vendorResult.inserted;
+    final Duration elapsed = customerResult.elapsed.plus(vendorResult.elapsed);
+    log.info("Seeded {} documents in {} ms ({} docs/s)", inserted, elapsed.toMillis(),
+            throughput(inserted, elapsed));
+
+    if (properties.isExitWhenDone()) {
+      System.exit(SpringApplication.exit(context));
+    }
+  }
+
+  <T> SeedResult seed(final String collection,
+                      final long count,
+                      final Supplier<T> generator,
+                      final Function<List<T>, Flux<BulkInsertResult>> insert) {
+    final AtomicLong inserted = new AtomicLong();
+    final AtomicLong failed = new AtomicLong();
+    final long progressStep = Math.max(properties.getBatchSize(), count / PROGRESS_STEPS);
+    final long started = System.nanoTime();
+
+    Flux.<T>generate(sink -> sink.next(generator.get()))
+            .take(count)
+            .buffer(properties.getBatchSize())
+            .flatMap(batch -> insert.apply(batch).filter(BulkInsertResult::isInserted).count()
+                    .doOnNext(batchInserted -> {
+                      final long total = inserted.addAndGet(batchInserted);
+                      failed.addAndGet(batch.size() - batchInserted);
+                      if (total / progressStep != (total - batchInserted) / progressStep) {
+                        log.info("{}: {} of {} inserted ({} docs/s)", collection, total, count,
+                                throughput(total, Duration.ofNanos(System.nanoTime() - started)));
+                      }
+                    }), properties.getConcurrency())
+            .blockLast();
+
+    final SeedResult result =
+            new SeedResult(inserted.get(), failed.get(), Duration.ofNanos(System.nanoTime() - started));
+    log.info("Seeded {} {} in {} ms ({} docs/s, {} failed)", result.inserted, collection, result.elapsed.toMillis(),
+            throughput(result.inserted, result.elapsed), result.failed);
+    return result;
+  }
+
+  private static long throughput(final long documents, final Duration elapsed) {
+    return elapsed.isZero() ? documents : (long) (documents * 1e9 / elapsed.toNanos());
+  }
+
+  static final class SeedResult {
+
+    final long inserted;
+    final long failed;
+    final Duration elapsed;
+
+    private SeedResult(final long inserted, final long failed, final Duration elapsed) {
+      this.inserted = inserted;
+      this.failed = failed;
+      this.elapsed = elapsed;
+    }
+  }
+}
\ No newline at end of file
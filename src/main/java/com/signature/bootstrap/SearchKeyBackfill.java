@@ -0,0 +1,35 @@
+package com.signature.bootstrap;
+
+import com.signature.repository.CustomerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stores the name search keys of customers written before they were introduced, in the background, so that customer
+ * search finds them. Documents written since carry their keys already, so this is a no-op once it has run.
+ */
+@Slf4j
+@Component
+public class SearchKeyBackfill implements ApplicationRunner {
+
+  private static final int BATCH_SIZE = 1000;
+
+  private final CustomerRepository customerRepository;
+
+  public SearchKeyBackfill(final CustomerRepository customerRepository) {
+    this.customerRepository = customerRepository;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    customerRepository.backfillSearchKeys(BATCH_SIZE).subscribe(
+            updated -> {
+              if (updated > 0) {
+                log.info("Stored search keys of {} customers", updated);
+              }
+            },
+            e -> log.error("Storing customer search keys failed", e));
+  }
+}
\ No newline at end of file
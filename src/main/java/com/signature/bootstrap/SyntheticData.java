@@ -0,0 +1,82 @@
+package com.signature.bootstrap;
+
+import com.signature.model.Customer;
+import com.signature.model.Vendor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates customers and vendors whose names follow a Zipf distribution, as real names do: a few names are very
+ * common and there is a long tail of rare ones. The same seed always yields the same sequence.
+ */
+class SyntheticData {
+
+  private static final Names FIRST_NAMES = new Names(List.of(
+          "Aarav", "Vivaan", "Aditya", "Rahul", "Priya", "Anjali", "Rohan", "Neha", "Amit", "Sneha",
+          "Arjun", "Pooja", "Karan", "Kavya", "Vikram", "Riya", "Rishu", "Atul", "Abhishek", "Shivang",
+          "Vivek", "Saumil", "Ishaan", "Meera", "Sanjay", "Divya", "Manish", "Nisha", "Deepak", "Ananya",
+          "Harsh", "Tanvi", "Nikhil", "Shreya", "Gaurav", "Aisha", "Kunal", "Simran", "Varun", "Isha",
+          "Yash", "Tara", "Siddharth", "Aditi", "Pranav", "Kiran", "Mohit", "Swati", "Akash", "Radhika",
+          "John", "Maria", "James", "Sofia", "David", "Emma", "Michael", "Olivia", "Daniel", "Chloe"), 1.0);
+
+  private static final Names LAST_NAMES = new Names(List.of(
+          "Singh", "Sharma", "Kumar", "Verma", "Gupta", "Patel", "Yadav", "Pandey", "Mishra", "Tiwari",
+          "Reddy", "Nair", "Iyer", "Joshi", "Mehta", "Shah", "Chopra", "Malhotra", "Kapoor", "Bose",
+          "Das", "Banerjee", "Chatterjee", "Mukherjee", "Rao", "Pillai", "Menon", "Agarwal", "Jain", "Thripathi",
+          "Saxena", "Srivastava", "Dubey", "Chauhan", "Rathore", "Bhatt", "Desai", "Kulkarni", "Smith", "Fernandes"),
+          1.1);
+
+  private static final Names VENDOR_PREFIXES = new Names(List.of(
+          "Signature", "Vandela", "Sunrise", "Green Valley", "Himalayan", "Golden Harvest", "Orchard", "Coastal",
+          "Royal", "Nature's", "Evergreen", "Fresh Farms", "Silver Leaf", "Blue Ridge", "Kashmir", "Malabar",
+          "Deccan", "Ganga", "Nilgiri", "Sahyadri", "Tropical", "Heritage", "Premier", "Pioneer", "Summit"), 0.8);
+
+  private static final Names VENDOR_TRADES = new Names(List.of(
+          "Fruits", "Foods", "Agro", "Traders", "Exports", "Organics", "Dry Fruits", "Produce", "Orchards",
+          "Distributors", "Nuts", "Supplies"), 0.9);
+
+  private static final Names VENDOR_SUFFIXES = new Names(List.of(
+          "Pvt. Ltd.", "Ltd.", "& Sons", "Co.", "LLP", "Enterprises", "Group"), 1.2);
+
+  private final SplittableRandom random;
+
+  SyntheticData(final long seed) {
+    this.random = new SplittableRandom(seed);
+  }
+
+  Customer customer() {
+    return new Customer(FIRST_NAMES.sample(random), LAST_NAMES.sample(random));
+  }
+
+  Vendor vendor() {
+    return new Vendor(VENDOR_PREFIXES.sample(random) + " " + VENDOR_TRADES.sample(random) + " "
+            + VENDOR_SUFFIXES.sample(random));
+  }
+
+  /**
+   * Names weighted by {@code 1 / rank^exponent}, sampled by a binary search over the cumulative weights.
+   */
+  static final class Names {
+
+    private final String[] names;
+    private final double[] cumulativeWeights;
+
+    Names(final List<String> names, final double exponent) {
+      this.names = names.toArray(new String[0]);
+      this.cumulativeWeights = new double[names.size()];
+      double total = 0;
+      for (int rank = 1; rank <= names.size(); rank++) {
+        total += 1 / Math.pow(rank, exponent);
+        cumulativeWeights[rank - 1] = total;
+      }
+    }
+
+    String sample(final SplittableRandom random) {
+      final double point = random.nextDouble(cumulativeWeights[cumulativeWeights.length - 1]);
+      final int index = Arrays.binarySearch(cumulativeWeights, point);
+      return names[Math.min(index >= 0 ? index + 1 : -index - 1, names.length - 1)];
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,135 @@
+package com.signature.catalog;
+
+import com.signature.bootstrap.BootstrapCompletedEvent;
+import com.signature.config.AppProperties;
+import com.signature.model.Category;
+import com.signature.repository.CategoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable in-process snapshot of all categories, indexed by id and by name.
+ * <p>
+ * The snapshot is loaded once the application is ready and replaced atomically whenever the category collection
+ * changes, either through a change stream or, on servers without change streams, by polling. Until the first
+ * snapshot is loaded lookups fall through to {@link CategoryRepository}.
+ */
+@Slf4j
+@Component
+public class CategoryCatalog {
+
+  private final CategoryRepository categoryRepository;
+  private final ReactiveMongoTemplate mongoTemplate;
+  private final Duration pollInterval;
+
+  private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+  private volatile Disposable watcher;
+
+  public CategoryCatalog(final CategoryRepository categoryRepository,
+                         final ReactiveMongoTemplate mongoTemplate,
+                         final AppProperties appProperties) {
+    this.categoryRepository = categoryRepository;
+    this.mongoTemplate = mongoTemplate;
+    this.pollInterval = appProperties.getCategoryCatalog().getPollInterval();
+  }
+
+  public boolean isLoaded() {
+    return snapshot.get() != null;
+  }
+
+  public Mono<Category> findById(final String id) {
+    final Snapshot current = snapshot.get();
+    return current == null ? categoryRepository.findById(id) : Mono.justOrEmpty(current.byId.get(id));
+  }
+
+  public Mono<Category> findByName(final String name) {
+    final Snapshot current = snapshot.get();
+    return current == null ? categoryRepository.findByName(name) : Mono.justOrEmpty(current.byName.get(name));
+  }
+
+  public Flux<Category> findAll() {
+    final Snapshot current = snapshot.get();
+    return current == null ? categoryRepository.findAll() : Flux.fromIterable(current.all);
+  }
+
+  public Mono<Void> refresh() {
+    return categoryRepository.findAll()
+            .collectList()
+            .map(Snapshot::new)
+            .doOnNext(loaded -> {
+              snapshot.set(loaded);
+              log.debug("Category catalog loaded with {} categories", loaded.all.size());
+            })
+            .then();
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    watcher = refresh()
+            .thenMany(changes())
+            .onBackpressureLatest()
+            .concatMap(change -> refresh(), 1)
+            .doOnError(e -> log.warn("Category catalog refresh failed, retrying", e))
+            .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(pollInterval))
+            .subscribe();
+  }
+
+  /**
+   * Categories seeded on startup may land between the initial load and the opening of the change stream.
+   */
+  @EventListener(BootstrapCompletedEvent.class)
+  public void onBootstrapCompleted() {
+    refresh().subscribe(null, e -> log.warn("Category catalog refresh after bootstrap failed", e));
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (watcher != null) {
+      watcher.dispose();
+    }
+  }
+
+  private Flux<?> changes() {
+    final String collectionName = mongoTemplate.getCollectionName(Category.class);
+    return mongoTemplate.changeStream(collectionName, ChangeStreamOptions.empty(), Document.class)
+            .<Object>map(ChangeStreamEvent::getOperationType)
+            .onErrorResume(e -> {
+              log.info("Change streams unavailable for {} ({}), polling every {}", collectionName, e.getMessage(), pollInterval);
+              return Flux.interval(pollInterval, pollInterval);
+            });
+  }
+
+  private static final class Snapshot {
+
+    private final List<Category> all;
+    private final Map<String, Category> byId;
+    private final Map<String, Category> byName;
+
+    private Snapshot(final List<Category> categories) {
+      this.all = List.copyOf(categories);
+      this.byId = categories.stream().collect(Collectors.toUnmodifiableMap(Category::getId, Function.identity()));
+      this.byName = categories.stream()
+              .filter(category -> category.getName() != null)
+              .collect(Collectors.toUnmodifiableMap(Category::getName, Function.identity(), (first, second) -> first));
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package com.signature.catalog;
+
+import com.signature.bootstrap.BootstrapCompletedEvent;
+import com.signature.config.AppProperties;
+import com.signature.repository.VendorRepository;
+import com.signature.util.FieldSelection;
+import com.signature.util.PrefixIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * In-process index of all vendor names for prefix suggestions.
+ * <p>
+ * The index is loaded once the application is ready and reloaded every reload interval, one load at a time, which
+ * bounds staleness for writes made by other instances. Writes through this instance are applied as they happen.
+ * Until the first load completes lookups find nothing.
+ */
+@Slf4j
+@Component
+public class VendorNameIndex {
+
+  private final VendorRepository vendorRepository;
+  private final Duration reloadInterval;
+  private final PrefixIndex index;
+
+  private final Sinks.Many<Object> reloadRequests = Sinks.many().unicast().onBackpressureBuffer();
+
+  private volatile Disposable reloads;
+
+  public VendorNameIndex(final VendorRepository vendorRepository,
+                         final AppProperties appProperties,
+                         final MeterRegistry registry) {
+    this.vendorRepository = vendorRepository;
+    this.reloadInterval = appProperties.getVendorSuggest().getReloadInterval();
+    this.index = new PrefixIndex("vendors", registry);
+  }
+
+  public List<PrefixIndex.Entry> find(final String prefixKey, final int limit) {
+    return index.find(prefixKey, limit);
+  }
+
+  public void put(final String id, final String name) {
+    index.put(id, name);
+  }
+
+  public void putAll(final Collection<PrefixIndex.Entry> entries) {
+    index.putAll(entries);
+  }
+
+  public void remove(final String id) {
+    index.remove(id);
+  }
+
+  public Mono<Void> reload() {
+    return Mono.defer(() -> {
+      index.beginLoad();
+      return vendorRepository.findAllProjected(FieldSelection.of("name"))
+              .map(vendor -> new PrefixIndex.Entry(vendor.getId(), vendor.getName()))
+              .collectList()
+              .doOnNext(entries -> {
+                index.load(entries);
+                log.debug("Vendor name index loaded with {} names in {} bytes", entries.size(), index.memory());
+              })
+              .doOnError(e -> index.cancelLoad())
+              .then();
+    });
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    reloads = Flux.merge(Flux.interval(Duration.ZERO, reloadInterval), reloadRequests.asFlux())
+            .onBackpressureDrop()
+            .concatMap(tick -> reload()
+                    .onErrorResume(e -> {
+                      log.warn("Loading the vendor name index failed", e);
+                      return Mono.empty();
+                    }), 1)
+            .subscribe();
+  }
+
+  /**
+   * Vendors seeded on startup may land after the initial load.
+   */
+  @EventListener(BootstrapCompletedEvent.class)
+  public void onBootstrapCompleted() {
+    reloadRequests.tryEmitNext(Boolean.TRUE);
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (reloads != null) {
+      reloads.dispose();
+    }
+  }
+}
\ No newline at end of file
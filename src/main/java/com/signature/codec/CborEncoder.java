@@ -0,0 +1,41 @@
+package com.signature.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link Jackson2CborEncoder} usable for HTTP responses. The Spring encoder only implements {@code encodeValue} and
+ * rejects publishers, so a single value is encoded as is and a stream is collected and written as one CBOR array.
+ */
+public class CborEncoder extends Jackson2CborEncoder {
+
+  public CborEncoder(final ObjectMapper mapper) {
+    super(mapper, MediaType.APPLICATION_CBOR);
+  }
+
+  @Override
+  public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                 ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+    if (inputStream instanceof Mono) {
+      return Mono.from(inputStream)
+              .map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints))
+              .flux();
+    }
+    final ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+    return Flux.from(inputStream)
+            .collectList()
+            .map(values -> encodeValue(values, bufferFactory, listType, mimeType, hints))
+            .flux();
+  }
+}
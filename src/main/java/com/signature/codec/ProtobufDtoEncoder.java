@@ -0,0 +1,170 @@
+package com.signature.codec;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Message;
+import com.signature.domain.CategoryDTO;
+import com.signature.domain.CustomerDTO;
+import com.signature.domain.VendorDTO;
+import com.signature.domain.proto.CategoryMessage;
+import com.signature.domain.proto.CustomerMessage;
+import com.signature.domain.proto.VendorMessage;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the v1 DTOs as the Protobuf messages declared in {@code resources.proto}.
+ * <p>
+ * A single DTO is written as one message. Collections and streams are written as varint length-delimited messages,
+ * the same framing {@link org.springframework.http.codec.protobuf.ProtobufEncoder} uses for streams.
+ */
+public class ProtobufDtoEncoder implements HttpMessageEncoder<Object> {
+
+  public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+  private static final List<MimeType> MIME_TYPES = List.of(APPLICATION_PROTOBUF);
+
+  private static final Map<Class<?>, Function<Object, Message>> CONVERTERS = Map.of(
+          CustomerDTO.class, dto -> toMessage((CustomerDTO) dto),
+          VendorDTO.class, dto -> toMessage((VendorDTO) dto),
+          CategoryDTO.class, dto -> toMessage((CategoryDTO) dto));
+
+  @Override
+  public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+    final Class<?> dtoClass = dtoClass(elementType);
+    return supportsMimeType(mimeType) && dtoClass != null && CONVERTERS.containsKey(dtoClass);
+  }
+
+  @Override
+  public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                 ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+    if (inputStream instanceof Mono) {
+      return Mono.from(inputStream)
+              .map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints))
+              .flux();
+    }
+    return Flux.from(inputStream).map(value -> write(toMessages(value), bufferFactory, true));
+  }
+
+  @Override
+  public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                MimeType mimeType, Map<String, Object> hints) {
+    return write(toMessages(value), bufferFactory, value instanceof Collection);
+  }
+
+  @Override
+  public List<MimeType> getEncodableMimeTypes() {
+    return MIME_TYPES;
+  }
+
+  @Override
+  public List<MediaType> getStreamingMediaTypes() {
+    return List.of(APPLICATION_PROTOBUF);
+  }
+
+  private static boolean supportsMimeType(final MimeType mimeType) {
+    return mimeType == null || MIME_TYPES.stream().anyMatch(supported -> supported.isCompatibleWith(mimeType));
+  }
+
+  private static Class<?> dtoClass(final ResolvableType type) {
+    final Class<?> rawClass = type.toClass();
+    return Collection.class.isAssignableFrom(rawClass) ? type.asCollection().resolveGeneric(0) : rawClass;
+  }
+
+  private static List<Message> toMessages(final Object value) {
+    if (value instanceof Collection) {
+      return ((Collection<?>) value).stream().map(ProtobufDtoEncoder::convert).collect(Collectors.toList());
+    }
+    return List.of(convert(value));
+  }
+
+  /**
+   * Converts by the nearest registered class, so subclasses such as sparse fieldset DTOs use their parent's message.
+   */
+  private static Message convert(final Object dto) {
+    Function<Object, Message> converter = null;
+    for (Class<?> type = dto.getClass(); converter == null && type != null; type = type.getSuperclass()) {
+      converter = CONVERTERS.get(type);
+    }
+    if (converter == null) {
+      throw new EncodingException("No Protobuf message for " + dto.getClass().getName());
+    }
+    return converter.apply(dto);
+  }
+
+  private static DataBuffer write(final List<Message> messages, final DataBufferFactory bufferFactory,
+                                  final boolean delimited) {
+    int size = 0;
+    for (Message message : messages) {
+      final int messageSize = message.getSerializedSize();
+      size += delimited ? CodedOutputStream.computeUInt32SizeNoTag(messageSize) + messageSize : messageSize;
+    }
+
+    final DataBuffer buffer = bufferFactory.allocateBuffer(size);
+    try (OutputStream outputStream = buffer.asOutputStream()) {
+      for (Message message : messages) {
+        if (delimited) {
+          message.writeDelimitedTo(outputStream);
+        } else {
+          message.writeTo(outputStream);
+        }
+      }
+      return buffer;
+    } catch (IOException e) {
+      DataBufferUtils.release(buffer);
+      throw new EncodingException("Could not write Protobuf message: " + e.getMessage(), e);
+    }
+  }
+
+  static CustomerMessage toMessage(final CustomerDTO dto) {
+    final CustomerMessage.Builder builder = CustomerMessage.newBuilder();
+    if (dto.getFirstName() != null) {
+      builder.setFirstName(dto.getFirstName());
+    }
+    if (dto.getLastName() != null) {
+      builder.setLastName(dto.getLastName());
+    }
+    if (dto.getCustomerUrl() != null) {
+      builder.setCustomerUrl(dto.getCustomerUrl());
+    }
+    return builder.build();
+  }
+
+  static VendorMessage toMessage(final VendorDTO dto) {
+    final VendorMessage.Builder builder = VendorMessage.newBuilder();
+    if (dto.getName() != null) {
+      builder.setName(dto.getName());
+    }
+    if (dto.getVendorUrl() != null) {
+      builder.setVendorUrl(dto.getVendorUrl());
+    }
+    return builder.build();
+  }
+
+  static CategoryMessage toMessage(final CategoryDTO dto) {
+    final CategoryMessage.Builder builder = CategoryMessage.newBuilder();
+    if (dto.getName() != null) {
+      builder.setName(dto.getName());
+    }
+    if (dto.getCategoryUrl() != null) {
+      builder.setCategoryUrl(dto.getCategoryUrl());
+    }
+    return builder.build();
+  }
+}
\ No newline at end of file
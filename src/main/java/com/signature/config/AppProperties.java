@@ -0,0 +1,326 @@
+package com.signature.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app")
+public class AppProperties {
+
+  private final CategoryCatalog categoryCatalog = new CategoryCatalog();
+
+  private final Batch batch = new Batch();
+
+  private final Indexes indexes = new Indexes();
+
+  private final ChangeFeed changeFeed = new ChangeFeed();
+
+  private final BatchLoader batchLoader = new BatchLoader();
+
+  private final Cache cache = new Cache();
+
+  private final PerfSeed perfSeed = new PerfSeed();
+
+  private final RateLimit rateLimit = new RateLimit();
+
+  private final WriteBehind writeBehind = new WriteBehind();
+
+  private final VendorSuggest vendorSuggest = new VendorSuggest();
+
+  private final Idempotency idempotency = new Idempotency();
+
+  @Getter
+  @Setter
+  public static class CategoryCatalog {
+
+    /**
+     * How often the catalog is reloaded when the server does not support change streams.
+     */
+    private Duration pollInterval = Duration.ofSeconds(30);
+  }
+
+  @Getter
+  @Setter
+  public static class Batch {
+
+    /**
+     * Number of documents written with a single insertMany.
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * Number of chunks of one batch request written concurrently.
+     */
+    private int concurrency = 2;
+  }
+
+  @Getter
+  @Setter
+  public static class Indexes {
+
+    /**
+     * Whether derived repository queries are checked with explain for a supporting index on startup.
+     */
+    private boolean verify = true;
+
+    /**
+     * Whether a failed index creation or an unindexed query aborts startup instead of logging a warning.
+     */
+    private boolean strict = false;
+  }
+
+  @Getter
+  @Setter
+  public static class ChangeFeed {
+
+    /**
+     * Number of recent changes kept in memory, so reconnecting subscribers resume without a cursor of their own.
+     */
+    private int historySize = 1024;
+
+    /**
+     * How long the shared change stream stays open after its last subscriber is gone.
+     */
+    private Duration gracePeriod = Duration.ofSeconds(30);
+
+    /**
+     * Interval of the keep-alive comments sent on idle change feeds.
+     */
+    private Duration heartbeat = Duration.ofSeconds(15);
+  }
+
+  @Getter
+  @Setter
+  public static class BatchLoader {
+
+    /**
+     * How long a get-by-id lookup waits for others to be resolved with it in one findAllById. Zero disables batching.
+     */
+    private Duration window = Duration.ZERO;
+
+    /**
+     * Number of distinct ids that dispatches a batch before its window has passed.
+     */
+    private int maxBatchSize = 100;
+  }
+
+  @Getter
+  @Setter
+  public static class Cache {
+
+    /**
+     * Number of customers, and separately of vendors, kept by the get-by-id cache. Zero disables the cache.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * How long a cached entity is served before it is loaded again. Bounds staleness for writes of other instances.
+     */
+    private Duration expireAfterWrite = Duration.ofSeconds(60);
+  }
+
+  @Getter
+  @Setter
+  public static class PerfSeed {
+
+    /**
+     * Number of customers generated by the perf-seed profile.
+     */
+    private long customers = 1_000_000;
+
+    /**
+     * Number of vendors generated by the perf-seed profile.
+     */
+    private long vendors = 1_000_000;
+
+    /**
+     * Number of documents written with a single insertMany.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Number of insertMany batches in flight at once.
+     */
+    private int concurrency = 8;
+
+    /**
+     * Seed of the name generator, so repeated runs produce the same data.
+     */
+    private long seed = 42;
+
+    /**
+     * Whether the application exits once seeding is done instead of serving requests.
+     */
+    private boolean exitWhenDone = true;
+  }
+
+  @Getter
+  @Setter
+  public static class RateLimit {
+
+    /**
+     * Whether requests to /api are admitted through the client and route token buckets.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Addresses of the proxies whose X-Forwarded-For is trusted, as printed by InetAddress#getHostAddress. Clients
+     * behind other proxies are limited by the proxy's address.
+     */
+    private List<String> trustedProxies = List.of();
+
+    /**
+     * Bucket of every client, shared by all routes.
+     */
+    private final Limit client = new Limit(100, 200);
+
+    /**
+     * Bucket of every route, i.e. method and path with ids left out, shared by all clients.
+     */
+    private final Limit route = new Limit(1000, 2000);
+
+    /**
+     * Number of client buckets, and separately of route buckets, kept in memory.
+     */
+    private int maxBuckets = 100_000;
+
+    /**
+     * How long a refilled bucket is kept after its last request.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(1);
+  }
+
+  @Getter
+  @Setter
+  public static class Limit {
+
+    /**
+     * Requests per second a bucket is refilled with. Zero disables the limit.
+     */
+    private double rate;
+
+    /**
+     * Requests a full bucket admits at once.
+     */
+    private int burst;
+
+    public Limit() {
+    }
+
+    public Limit(final double rate, final int burst) {
+      this.rate = rate;
+      this.burst = burst;
+    }
+  }
+
+  @Getter
+  @Setter
+  public static class WriteBehind {
+
+    /**
+     * Whether created customers are buffered and written in bulk instead of one insert per request.
+     */
+    private boolean enabled = false;
+
+    /**
+     * When a create is answered: once buffered, or once its bulk write has been acknowledged.
+     */
+    private Durability durability = Durability.BUFFERED;
+
+    /**
+     * Number of customers buffered at most; creates beyond it are rejected with 503.
+     */
+    private int capacity = 10_000;
+
+    /**
+     * Number of customers written with a single insertMany, flushed as soon as that many are buffered.
+     */
+    private int maxBatchSize = 500;
+
+    /**
+     * How long a customer waits in the buffer at most before a smaller batch is written.
+     */
+    private Duration flushInterval = Duration.ofMillis(50);
+
+    /**
+     * How long shutdown waits for the buffer to be written.
+     */
+    private Duration drainTimeout = Duration.ofSeconds(30);
+
+    public enum Durability {
+      /**
+       * 202 Accepted once buffered. Buffered customers are lost if the process dies before they are written.
+       */
+      BUFFERED,
+      /**
+       * 201 Created once the bulk write containing the customer has been acknowledged.
+       */
+      WRITTEN
+    }
+  }
+
+  @Getter
+  @Setter
+  public static class VendorSuggest {
+
+    /**
+     * How often the vendor name index is reloaded. Bounds staleness for writes of other instances.
+     */
+    private Duration reloadInterval = Duration.ofMinutes(10);
+  }
+
+  @Getter
+  @Setter
+  public static class Idempotency {
+
+    /**
+     * Whether creates carrying the idempotency header are answered once and replayed on retries.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Request header holding the client chosen key.
+     */
+    private String header = "Idempotency-Key";
+
+    /**
+     * Header whose value scopes the keys, so that clients sending it cannot replay each other's responses.
+     */
+    private String clientHeader = "X-API-Key";
+
+    /**
+     * Paths whose POST requests honor the header.
+     */
+    private List<String> paths = List.of("/api/v1/customers", "/api/v1/vendors");
+
+    /**
+     * How long a stored response is replayed for.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * How long a key stays claimed by a request that never completes, e.g. because its instance died.
+     */
+    private Duration lockTimeout = Duration.ofMinutes(1);
+
+    /**
+     * How long a duplicate waits for the request holding its key before it is answered with 409.
+     */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    /**
+     * How often a duplicate looks up a key claimed by a request of another instance.
+     */
+    private Duration pollInterval = Duration.ofMillis(100);
+
+    /**
+     * Number of stored responses kept in memory in front of the collection.
+     */
+    private long cacheSize = 10_000;
+  }
+}
\ No newline at end of file
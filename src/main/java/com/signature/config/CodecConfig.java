@@ -0,0 +1,36 @@
+package com.signature.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.signature.codec.CborEncoder;
+import com.signature.codec.ProtobufDtoEncoder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Binary representations next to JSON, selected through the Accept header.
+ * <p>
+ * {@code application/x-jackson-smile} is registered by WebFlux itself once jackson-dataformat-smile is present.
+ * {@code application/cbor} is added here with the Jackson settings Boot applies to JSON, and
+ * {@code application/x-protobuf} is written by {@link ProtobufDtoEncoder}. The CBOR media type is passed explicitly
+ * as the single-argument CBOR codec constructors fall back to the JSON media types.
+ */
+@Configuration(proxyBeanMethods = false)
+public class CodecConfig {
+
+  @Bean
+  public CodecCustomizer binaryCodecCustomizer(final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+    final ObjectMapper cborMapper = objectMapperBuilder.getObject().factory(new CBORFactory()).build();
+
+    return configurer -> {
+      configurer.customCodecs().register(new CborEncoder(cborMapper));
+      configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper, MediaType.APPLICATION_CBOR));
+      configurer.customCodecs().register(new ProtobufDtoEncoder());
+    };
+  }
+}
\ No newline at end of file
@@ -1,9 +1,10 @@
 package com.signature.controller.v1;
 
 import com.signature.domain.CategoryDTO;
+import com.signature.handler.v1.V1Routes;
 import com.signature.mapper.CategoryMapper;
-import com.signature.model.Category;
 import com.signature.service.CategoryService;
+import com.signature.util.ETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,51 +14,67 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Slf4j
 @RestController
-@RequestMapping("/api/v1/categories")
+@Profile("!" + V1Routes.PROFILE)
+@RequestMapping(CategoryResource.PATH)
 @Tag(name = "Category Controller", description = "Category API")
 public class CategoryController {
 
-  private final CategoryMapper categoryMapper;
+  private final CategoryResource categoryResource;
   private final CategoryService categoryService;
 
   public CategoryController(CategoryMapper categoryMapper,
                             CategoryService categoryService) {
-    this.categoryMapper = categoryMapper;
+    this.categoryResource = new CategoryResource(categoryMapper);
     this.categoryService = categoryService;
   }
 
-  private CategoryDTO categoryToCategoryDto(final Category category) {
-    CategoryDTO categoryDTO = categoryMapper.categoryToCategoryDTO(category);
-    categoryDTO.setCategoryUrl("/api/v1/categories/" + category.getId());
-    return categoryDTO;
-  }
-
   @GetMapping
   @Operation(summary = "Get all categories")
-  @ApiResponse(responseCode = "200", description = "Found all categories",
-          content = {@Content(mediaType = "application/json",
-                  array = @ArraySchema(schema = @Schema(implementation = CategoryDTO.class)))})
-  public ResponseEntity<Flux<CategoryDTO>> getAllCategories() {
-    return ResponseEntity.ok(categoryService.getAll().map(this::categoryToCategoryDto));
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Found all categories",
+                  content = {@Content(mediaType = "application/json",
+                          array = @ArraySchema(schema = @Schema(implementation = CategoryDTO.class)))}),
+          @ApiResponse(responseCode = "304", description = "Categories not modified since the given ETag",
+                  content = @Content)})
+  public Mono<ResponseEntity<List<CategoryDTO>>> getAllCategories(final ServerWebExchange exchange) {
+    return ETags.respond(exchange, categoryService.getAll().collectList(),
+            CategoryResource::etag,
+            categories -> categories.stream().map(categoryResource::toDto).collect(Collectors.toList()));
   }
 
+  @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+  @Operation(summary = "Stream all categories as newline delimited JSON or server-sent events")
+  @ApiResponse(responseCode = "200", description = "Streaming all categories",
+          content = {@Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                  schema = @Schema(implementation = CategoryDTO.class)),
+                  @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                          schema = @Schema(implementation = CategoryDTO.class))})
+  public ResponseEntity<Flux<CategoryDTO>> streamAllCategories() {
+    return ResponseEntity.ok(categoryService.getAll().map(categoryResource::toDto));
+  }
 
   private Mono<CategoryDTO> getCategoryById(final String id) {
-    return categoryService.getById(id).map(this::categoryToCategoryDto);
+    return categoryService.getById(id).map(categoryResource::toDto);
   }
 
   public Mono<CategoryDTO> getCategoryByName(final String name) {
-    return categoryService.getByName(name).map(this::categoryToCategoryDto);
+    return categoryService.getByName(name).map(categoryResource::toDto);
   }
 
   @GetMapping("/{identifier}")
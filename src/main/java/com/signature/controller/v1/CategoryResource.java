@@ -0,0 +1,35 @@
+package com.signature.controller.v1;
+
+import com.signature.domain.CategoryDTO;
+import com.signature.mapper.CategoryMapper;
+import com.signature.model.Category;
+import com.signature.util.ETags;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Representation of categories in the v1 API, shared by {@link CategoryController} and the category handler of the
+ * router functions.
+ */
+public final class CategoryResource {
+
+  public static final String PATH = "/api/v1/categories";
+
+  private final CategoryMapper categoryMapper;
+
+  public CategoryResource(final CategoryMapper categoryMapper) {
+    this.categoryMapper = categoryMapper;
+  }
+
+  public CategoryDTO toDto(final Category category) {
+    CategoryDTO categoryDTO = categoryMapper.categoryToCategoryDTO(category);
+    categoryDTO.setCategoryUrl(PATH + "/" + category.getId());
+    return categoryDTO;
+  }
+
+  public static String etag(final List<Category> categories) {
+    return ETags.of(categories.stream()
+            .flatMap(category -> Stream.of(category.getId(), category.getName())).toArray());
+  }
+}
\ No newline at end of file
@@ -1,10 +1,23 @@
 package com.signature.controller.v1;
 
+import com.signature.config.AppProperties;
+import com.signature.domain.BatchItemDTO;
+import com.signature.domain.ChangeEventDTO;
 import com.signature.domain.CustomerDTO;
+import com.signature.exception.InvalidRequestException;
+import com.signature.handler.v1.V1Routes;
 import com.signature.mapper.CustomerMapper;
 import com.signature.model.Customer;
 import com.signature.service.CustomerService;
+import com.signature.util.ChangeFeed;
+import com.signature.util.ETags;
+import com.signature.util.FieldSelection;
+import com.signature.util.IdList;
+import com.signature.util.KeysetPage;
+import com.signature.util.SearchKeys;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -12,8 +25,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -21,45 +37,76 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.Optional;
+
 @Slf4j
 @RestController
-@RequestMapping("/api/v1/customers")
+@Profile("!" + V1Routes.PROFILE)
+@RequestMapping(CustomerResource.PATH)
 @Tag(name = "Customer Controller", description = "Customer API")
 public class CustomerController {
 
-  private final CustomerMapper customerMapper;
+  private final CustomerResource customerResource;
   private final CustomerService customerService;
+  private final Duration heartbeat;
+  private final boolean writeBehind;
+  private final HttpStatus createdStatus;
 
   public CustomerController(final CustomerMapper customerMapper,
-                            final CustomerService customerService) {
-    this.customerMapper = customerMapper;
+                            final CustomerService customerService,
+                            final AppProperties appProperties) {
+    this.customerResource = new CustomerResource(customerMapper);
     this.customerService = customerService;
-  }
-
-  private CustomerDTO customerToCustomerDto(final Customer customer) {
-    CustomerDTO customerDTO = customerMapper.customerToCustomerDto(customer);
-    customerDTO.setCustomerUrl("/api/v1/customers/" + customer.getId());
-    return customerDTO;
+    this.heartbeat = appProperties.getChangeFeed().getHeartbeat();
+    this.writeBehind = appProperties.getWriteBehind().isEnabled();
+    this.createdStatus = CustomerResource.createdStatus(appProperties.getWriteBehind());
   }
 
   @PostMapping
   @Operation(summary = "Create a new customer")
+  @Parameter(in = ParameterIn.HEADER, name = "Idempotency-Key",
+          description = "Client chosen key; retries with it are answered with the first response (app.idempotency)")
   @ApiResponses(value = {
           @ApiResponse(responseCode = "201", description = "Customer created",
                   content = @Content(mediaType = "application/json",
                           schema = @Schema(implementation = CustomerDTO.class))),
+          @ApiResponse(responseCode = "202", description = "Customer accepted for writing (app.write-behind)",
+                  content = @Content(mediaType = "application/json",
+                          schema = @Schema(implementation = CustomerDTO.class))),
           @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content),
-          @ApiResponse(responseCode = "409", description = "Customer already exists", content = @Content)
+          @ApiResponse(responseCode = "409", description = "Customer already exists, or a request with the same "
+                  + "Idempotency-Key is still in progress", content = @Content),
+          @ApiResponse(responseCode = "422", description = "Idempotency-Key used with a different body",
+                  content = @Content),
+          @ApiResponse(responseCode = "503", description = "Write buffer full", content = @Content)
   })
   public ResponseEntity<Mono<CustomerDTO>> createCustomer(@RequestBody final CustomerDTO customerDTO) {
-    final Customer customer = customerMapper.customerDtoToCustomer(customerDTO);
-    return ResponseEntity.status(HttpStatus.CREATED)
-            .body(customerService.addCustomer(customer).map(this::customerToCustomerDto));
+    final Customer customer = customerResource.toCustomer(customerDTO);
+    return ResponseEntity.status(createdStatus)
+            .body((writeBehind ? customerService.bufferCustomer(customer) : customerService.addCustomer(customer))
+                    .map(customerResource::toDto));
+  }
+
+  @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  @Operation(summary = "Create customers in bulk from a JSON array or newline delimited JSON")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Result of every customer in input order",
+                  content = @Content(mediaType = "application/json",
+                          array = @ArraySchema(schema = @Schema(implementation = BatchItemDTO.class)))),
+          @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content)
+  })
+  public ResponseEntity<Flux<BatchItemDTO>> createCustomers(@RequestBody final Flux<CustomerDTO> customerDTOs) {
+    return ResponseEntity.ok(customerService.addCustomers(customerDTOs.map(customerResource::toCustomer))
+            .map(customerResource::toBatchItem));
   }
 
   @GetMapping(value = "/{id}")
@@ -68,19 +115,110 @@ public class CustomerController {
           @ApiResponse(responseCode = "200", description = "Customer found",
                   content = @Content(mediaType = "application/json",
                           schema = @Schema(implementation = CustomerDTO.class))),
+          @ApiResponse(responseCode = "304", description = "Customer not modified since the given ETag",
+                  content = @Content),
           @ApiResponse(responseCode = "404", description = "Customer not found", content = @Content)
   })
-  public ResponseEntity<Mono<CustomerDTO>> getCustomer(@PathVariable final String id) {
-    return ResponseEntity.ok(customerService.getCustomer(id).map(this::customerToCustomerDto));
+  public Mono<ResponseEntity<CustomerDTO>> getCustomer(
+          @PathVariable final String id,
+          @Parameter(description = "Comma separated subset of " + CustomerResource.FIELD_NAMES + " to return")
+          @RequestParam(required = false) final String fields,
+          final ServerWebExchange exchange) {
+    return FieldSelection.parse(fields, CustomerResource.FIELDS)
+            .flatMap(selection -> ETags.respond(exchange, customerService.getCustomer(id, selection),
+                    customer -> CustomerResource.etag(customer, selection),
+                    customer -> customerResource.toDto(customer, selection)));
   }
 
   @GetMapping
-  @Operation(summary = "Get all customers")
-  @ApiResponse(responseCode = "200", description = "Found all customers",
-          content = @Content(mediaType = "application/json",
-                  array = @ArraySchema(schema = @Schema(implementation = CustomerDTO.class))))
-  public ResponseEntity<Flux<CustomerDTO>> getAllCustomers() {
-    return ResponseEntity.ok(customerService.getAllCustomers().map(this::customerToCustomerDto));
+  @Operation(summary = "Get all customers, a page of them when after or limit is given, or those with the given ids")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Found customers",
+                  content = @Content(mediaType = "application/json",
+                          array = @ArraySchema(schema = @Schema(implementation = CustomerDTO.class)))),
+          @ApiResponse(responseCode = "400", description = "Invalid cursor or ids", content = @Content)
+  })
+  public Mono<ResponseEntity<Flux<CustomerDTO>>> getAllCustomers(
+          @Parameter(description = "Cursor from the " + KeysetPage.NEXT_CURSOR_HEADER + " header, or a customer id")
+          @RequestParam(required = false) final String after,
+          @Parameter(description = "Page size, at most " + KeysetPage.MAX_LIMIT)
+          @RequestParam(required = false) final Integer limit,
+          @Parameter(description = "Return the estimated number of customers in " + KeysetPage.TOTAL_COUNT_HEADER)
+          @RequestParam(defaultValue = "false") final boolean count,
+          @Parameter(description = "Comma separated subset of " + CustomerResource.FIELD_NAMES + " to return")
+          @RequestParam(required = false) final String fields,
+          @Parameter(description = "Comma separated customer ids to return, at most " + KeysetPage.MAX_LIMIT
+                  + "; ids that do not exist are left out")
+          @RequestParam(required = false) final String ids) {
+    return FieldSelection.parse(fields, CustomerResource.FIELDS).flatMap(selection -> {
+      if (ids != null) {
+        return IdList.parse(ids, after, limit)
+                .map(idSet -> ResponseEntity.ok(customerService.getCustomers(idSet, selection)
+                        .map(customer -> customerResource.toDto(customer, selection))));
+      }
+      if (after == null && limit == null) {
+        return Mono.just(ResponseEntity.ok(customerService.getAllCustomers(selection)
+                .map(customer -> customerResource.toDto(customer, selection))));
+      }
+
+      final Optional<String> afterId = after == null ? Optional.empty() : KeysetPage.decode(after);
+      if (after != null && afterId.isEmpty()) {
+        return Mono.error(new InvalidRequestException("Invalid cursor " + after));
+      }
+
+      final int pageSize = KeysetPage.pageSize(limit);
+      return KeysetPage.respond(customerService.getCustomerPage(afterId.orElse(null), pageSize + 1, selection),
+              count ? customerService.getEstimatedCustomerCount() : Mono.empty(),
+              pageSize, Customer::getId, customer -> customerResource.toDto(customer, selection));
+    });
+  }
+
+  @GetMapping(value = "/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  @Operation(summary = "Find customers whose first or last name starts with the query, ignoring case and accents")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Matching customers",
+                  content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                          array = @ArraySchema(schema = @Schema(implementation = CustomerDTO.class))),
+                          @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                  schema = @Schema(implementation = CustomerDTO.class))}),
+          @ApiResponse(responseCode = "400", description = "Missing query", content = @Content)
+  })
+  public ResponseEntity<Flux<CustomerDTO>> searchCustomers(
+          @Parameter(description = "Start of the first name, the last name, or of both separated by a space")
+          @RequestParam final String q,
+          @Parameter(description = "Number of customers to return, at most " + SearchKeys.MAX_LIMIT)
+          @RequestParam(required = false) final Integer limit) {
+    return ResponseEntity.ok(customerService.searchCustomers(q, SearchKeys.limit(limit))
+            .map(customerResource::toDto));
+  }
+
+  @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+  @Operation(summary = "Stream all customers as newline delimited JSON or server-sent events")
+  @ApiResponse(responseCode = "200", description = "Streaming all customers",
+          content = {@Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                  schema = @Schema(implementation = CustomerDTO.class)),
+                  @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                          schema = @Schema(implementation = CustomerDTO.class))})
+  public ResponseEntity<Flux<CustomerDTO>> streamAllCustomers() {
+    return ResponseEntity.ok(customerService.streamAllCustomers().map(customerResource::toDto));
+  }
+
+  @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  @Operation(summary = "Follow inserts, updates and deletes of customers as server-sent events")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Streaming customer changes",
+                  content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                          schema = @Schema(implementation = ChangeEventDTO.class))),
+          @ApiResponse(responseCode = "400", description = "Invalid resume token", content = @Content)
+  })
+  public Flux<ServerSentEvent<ChangeEventDTO<CustomerDTO>>> streamCustomerChanges(
+          @Parameter(description = "Id of the last event received, sent by EventSource on reconnect")
+          @RequestHeader(value = "Last-Event-ID", required = false) final String lastEventId,
+          @Parameter(description = "Id of the last event received, when the header cannot be set")
+          @RequestParam(required = false) final String resumeAfter) {
+    final String resumeToken = lastEventId != null ? lastEventId : resumeAfter;
+    return ChangeFeed.toServerSentEvents(customerService.getCustomerChanges(resumeToken), customerResource::toDto,
+            heartbeat);
   }
 
   @PutMapping("/{id}")
@@ -94,9 +232,9 @@ public class CustomerController {
   })
   public ResponseEntity<Mono<CustomerDTO>> updateCustomer(@PathVariable final String id,
                                                           @RequestBody final CustomerDTO customerDTO) {
-    Customer customer = customerMapper.customerDtoToCustomer(customerDTO);
+    Customer customer = customerResource.toCustomer(customerDTO);
     customer.setId(id);
-    return ResponseEntity.ok(customerService.updateCustomer(customer).map(this::customerToCustomerDto));
+    return ResponseEntity.ok(customerService.updateCustomer(customer).map(customerResource::toDto));
   }
 
   @PatchMapping("/{id}")
@@ -110,9 +248,9 @@ public class CustomerController {
   })
   public ResponseEntity<Mono<CustomerDTO>> patchCustomer(@PathVariable final String id,
                                                          @RequestBody final CustomerDTO customerDTO) {
-    Customer customer = customerMapper.customerDtoToCustomer(customerDTO);
+    Customer customer = customerResource.toCustomer(customerDTO);
     customer.setId(id);
-    return ResponseEntity.ok(customerService.patchCustomer(customer).map(this::customerToCustomerDto));
+    return ResponseEntity.ok(customerService.patchCustomer(customer).map(customerResource::toDto));
   }
 
   @DeleteMapping("/{id}")
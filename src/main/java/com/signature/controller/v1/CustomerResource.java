@@ -0,0 +1,91 @@
+package com.signature.controller.v1;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.signature.config.AppProperties;
+import com.signature.domain.BatchItemDTO;
+import com.signature.domain.CustomerDTO;
+import com.signature.mapper.CustomerMapper;
+import com.signature.model.Customer;
+import com.signature.repository.BulkInsertResult;
+import com.signature.util.ETags;
+import com.signature.util.FieldSelection;
+import org.springframework.http.HttpStatus;
+
+import java.util.Set;
+
+/**
+ * Representation of customers in the v1 API, shared by {@link CustomerController} and the customer handler of the
+ * router functions.
+ */
+public final class CustomerResource {
+
+  public static final String PATH = "/api/v1/customers";
+  public static final String FIELD_NAMES = "firstName, lastName, customer_url";
+  public static final Set<String> FIELDS = Set.of("firstName", "lastName", "customer_url");
+
+  private static final String URL_FIELD = "customer_url";
+
+  private final CustomerMapper customerMapper;
+
+  public CustomerResource(final CustomerMapper customerMapper) {
+    this.customerMapper = customerMapper;
+  }
+
+  /**
+   * 202 when creates are answered once buffered for writing, 201 otherwise.
+   */
+  public static HttpStatus createdStatus(final AppProperties.WriteBehind writeBehind) {
+    return writeBehind.isEnabled() && writeBehind.getDurability() == AppProperties.WriteBehind.Durability.BUFFERED
+            ? HttpStatus.ACCEPTED : HttpStatus.CREATED;
+  }
+
+  public Customer toCustomer(final CustomerDTO customerDTO) {
+    return customerMapper.customerDtoToCustomer(customerDTO);
+  }
+
+  public CustomerDTO toDto(final Customer customer) {
+    CustomerDTO customerDTO = customerMapper.customerToCustomerDto(customer);
+    customerDTO.setCustomerUrl(url(customer.getId()));
+    return customerDTO;
+  }
+
+  /**
+   * The full representation for {@link FieldSelection#ALL}, otherwise one holding only the selected fields.
+   */
+  public CustomerDTO toDto(final Customer customer, final FieldSelection fields) {
+    if (fields.isAll()) {
+      return toDto(customer);
+    }
+    CustomerDTO customerDTO = new SparseCustomerDTO();
+    if (fields.includes("firstName")) {
+      customerDTO.setFirstName(customer.getFirstName());
+    }
+    if (fields.includes("lastName")) {
+      customerDTO.setLastName(customer.getLastName());
+    }
+    if (fields.includes(URL_FIELD)) {
+      customerDTO.setCustomerUrl(url(customer.getId()));
+    }
+    return customerDTO;
+  }
+
+  public BatchItemDTO toBatchItem(final BulkInsertResult result) {
+    return new BatchItemDTO(result.getIndex(), result.getId(), result.isInserted() ? url(result.getId()) : null,
+            result.getError());
+  }
+
+  public static String etag(final Customer customer, final FieldSelection fields) {
+    return ETags.of(customer.getId(), customer.getFirstName(), customer.getLastName(), fields);
+  }
+
+  private static String url(final String id) {
+    return PATH + "/" + id;
+  }
+
+  /**
+   * Leaves out the fields that were not selected instead of rendering them as null.
+   */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private static final class SparseCustomerDTO extends CustomerDTO {
+  }
+}
\ No newline at end of file
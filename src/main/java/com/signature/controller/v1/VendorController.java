@@ -1,10 +1,23 @@
 package com.signature.controller.v1;
 
+import com.signature.config.AppProperties;
+import com.signature.domain.BatchItemDTO;
+import com.signature.domain.ChangeEventDTO;
 import com.signature.domain.VendorDTO;
+import com.signature.exception.InvalidRequestException;
+import com.signature.handler.v1.V1Routes;
 import com.signature.mapper.VendorMapper;
 import com.signature.model.Vendor;
 import com.signature.service.VendorService;
+import com.signature.util.ChangeFeed;
+import com.signature.util.ETags;
+import com.signature.util.FieldSelection;
+import com.signature.util.IdList;
+import com.signature.util.KeysetPage;
+import com.signature.util.SearchKeys;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -12,8 +25,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -21,45 +37,67 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.Optional;
+
 @Slf4j
 @RestController
-@RequestMapping("/api/v1/vendors")
+@Profile("!" + V1Routes.PROFILE)
+@RequestMapping(VendorResource.PATH)
 @Tag(name = "Vendor Controller", description = "Vendor API")
 public class VendorController {
 
-  private final VendorMapper vendorMapper;
+  private final VendorResource vendorResource;
   private final VendorService vendorService;
+  private final Duration heartbeat;
 
   public VendorController(final VendorMapper vendorMapper,
-                          final VendorService vendorService) {
-    this.vendorMapper = vendorMapper;
+                          final VendorService vendorService,
+                          final AppProperties appProperties) {
+    this.vendorResource = new VendorResource(vendorMapper);
     this.vendorService = vendorService;
-  }
-
-  private VendorDTO vendorToVendorDto(final Vendor vendor) {
-    VendorDTO vendorDTO = vendorMapper.vendorToVendorDto(vendor);
-    vendorDTO.setVendorUrl("/api/v1/vendors/" + vendor.getId());
-    return vendorDTO;
+    this.heartbeat = appProperties.getChangeFeed().getHeartbeat();
   }
 
   @PostMapping
   @Operation(summary = "Create a new vendor")
+  @Parameter(in = ParameterIn.HEADER, name = "Idempotency-Key",
+          description = "Client chosen key; retries with it are answered with the first response (app.idempotency)")
   @ApiResponses(value = {
           @ApiResponse(responseCode = "201", description = "Vendor created",
                   content = @Content(mediaType = "application/json",
                           schema = @Schema(implementation = VendorDTO.class))),
           @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content),
-          @ApiResponse(responseCode = "409", description = "Vendor already exists", content = @Content)
+          @ApiResponse(responseCode = "409", description = "Vendor already exists, or a request with the same "
+                  + "Idempotency-Key is still in progress", content = @Content),
+          @ApiResponse(responseCode = "422", description = "Idempotency-Key used with a different body",
+                  content = @Content)
   })
   public ResponseEntity<Mono<VendorDTO>> createVendor(@RequestBody final VendorDTO vendorDTO) {
-    final Vendor vendor = vendorMapper.vendorDtoToVendor(vendorDTO);
+    final Vendor vendor = vendorResource.toVendor(vendorDTO);
     return ResponseEntity.status(HttpStatus.CREATED)
-            .body(vendorService.addVendor(vendor).map(this::vendorToVendorDto));
+            .body(vendorService.addVendor(vendor).map(vendorResource::toDto));
+  }
+
+  @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  @Operation(summary = "Create vendors in bulk from a JSON array or newline delimited JSON")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Result of every vendor in input order",
+                  content = @Content(mediaType = "application/json",
+                          array = @ArraySchema(schema = @Schema(implementation = BatchItemDTO.class)))),
+          @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content)
+  })
+  public ResponseEntity<Flux<BatchItemDTO>> createVendors(@RequestBody final Flux<VendorDTO> vendorDTOs) {
+    return ResponseEntity.ok(vendorService.addVendors(vendorDTOs.map(vendorResource::toVendor))
+            .map(vendorResource::toBatchItem));
   }
 
   @GetMapping(value = "/{id}")
@@ -68,19 +106,107 @@ public class VendorController {
           @ApiResponse(responseCode = "200", description = "Vendor found",
                   content = @Content(mediaType = "application/json",
                           schema = @Schema(implementation = VendorDTO.class))),
+          @ApiResponse(responseCode = "304", description = "Vendor not modified since the given ETag",
+                  content = @Content),
           @ApiResponse(responseCode = "404", description = "Vendor not found", content = @Content)
   })
-  public ResponseEntity<Mono<VendorDTO>> getVendor(@PathVariable final String id) {
-    return ResponseEntity.ok(vendorService.getVendor(id).map(this::vendorToVendorDto));
+  public Mono<ResponseEntity<VendorDTO>> getVendor(
+          @PathVariable final String id,
+          @Parameter(description = "Comma separated subset of " + VendorResource.FIELD_NAMES + " to return")
+          @RequestParam(required = false) final String fields,
+          final ServerWebExchange exchange) {
+    return FieldSelection.parse(fields, VendorResource.FIELDS)
+            .flatMap(selection -> ETags.respond(exchange, vendorService.getVendor(id, selection),
+                    vendor -> VendorResource.etag(vendor, selection),
+                    vendor -> vendorResource.toDto(vendor, selection)));
   }
 
   @GetMapping
-  @Operation(summary = "Get all vendors")
-  @ApiResponse(responseCode = "200", description = "Found all vendors",
-          content = @Content(mediaType = "application/json",
-                  array = @ArraySchema(schema = @Schema(implementation = VendorDTO.class))))
-  public ResponseEntity<Flux<VendorDTO>> getAllVendors() {
-    return ResponseEntity.ok(vendorService.getAllVendors().map(this::vendorToVendorDto));
+  @Operation(summary = "Get all vendors, a page of them when after or limit is given, or those with the given ids")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Found vendors",
+                  content = @Content(mediaType = "application/json",
+                          array = @ArraySchema(schema = @Schema(implementation = VendorDTO.class)))),
+          @ApiResponse(responseCode = "400", description = "Invalid cursor or ids", content = @Content)
+  })
+  public Mono<ResponseEntity<Flux<VendorDTO>>> getAllVendors(
+          @Parameter(description = "Cursor from the " + KeysetPage.NEXT_CURSOR_HEADER + " header, or a vendor id")
+          @RequestParam(required = false) final String after,
+          @Parameter(description = "Page size, at most " + KeysetPage.MAX_LIMIT)
+          @RequestParam(required = false) final Integer limit,
+          @Parameter(description = "Return the estimated number of vendors in " + KeysetPage.TOTAL_COUNT_HEADER)
+          @RequestParam(defaultValue = "false") final boolean count,
+          @Parameter(description = "Comma separated subset of " + VendorResource.FIELD_NAMES + " to return")
+          @RequestParam(required = false) final String fields,
+          @Parameter(description = "Comma separated vendor ids to return, at most " + KeysetPage.MAX_LIMIT
+                  + "; ids that do not exist are left out")
+          @RequestParam(required = false) final String ids) {
+    return FieldSelection.parse(fields, VendorResource.FIELDS).flatMap(selection -> {
+      if (ids != null) {
+        return IdList.parse(ids, after, limit)
+                .map(idSet -> ResponseEntity.ok(vendorService.getVendors(idSet, selection)
+                        .map(vendor -> vendorResource.toDto(vendor, selection))));
+      }
+      if (after == null && limit == null) {
+        return Mono.just(ResponseEntity.ok(vendorService.getAllVendors(selection)
+                .map(vendor -> vendorResource.toDto(vendor, selection))));
+      }
+
+      final Optional<String> afterId = after == null ? Optional.empty() : KeysetPage.decode(after);
+      if (after != null && afterId.isEmpty()) {
+        return Mono.error(new InvalidRequestException("Invalid cursor " + after));
+      }
+
+      final int pageSize = KeysetPage.pageSize(limit);
+      return KeysetPage.respond(vendorService.getVendorPage(afterId.orElse(null), pageSize + 1, selection),
+              count ? vendorService.getEstimatedVendorCount() : Mono.empty(),
+              pageSize, Vendor::getId, vendor -> vendorResource.toDto(vendor, selection));
+    });
+  }
+
+  @GetMapping("/suggest")
+  @Operation(summary = "Suggest vendors whose name starts with the prefix, ignoring case and accents")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Matching vendors in name order",
+                  content = @Content(mediaType = "application/json",
+                          array = @ArraySchema(schema = @Schema(implementation = VendorDTO.class)))),
+          @ApiResponse(responseCode = "400", description = "Missing prefix", content = @Content)
+  })
+  public ResponseEntity<Flux<VendorDTO>> suggestVendors(
+          @Parameter(description = "Start of the vendor name")
+          @RequestParam final String prefix,
+          @Parameter(description = "Number of vendors to return, at most " + SearchKeys.MAX_LIMIT)
+          @RequestParam(required = false) final Integer limit) {
+    return ResponseEntity.ok(vendorService.suggestVendors(prefix, SearchKeys.limit(limit))
+            .map(vendorResource::toDto));
+  }
+
+  @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+  @Operation(summary = "Stream all vendors as newline delimited JSON or server-sent events")
+  @ApiResponse(responseCode = "200", description = "Streaming all vendors",
+          content = {@Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                  schema = @Schema(implementation = VendorDTO.class)),
+                  @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                          schema = @Schema(implementation = VendorDTO.class))})
+  public ResponseEntity<Flux<VendorDTO>> streamAllVendors() {
+    return ResponseEntity.ok(vendorService.streamAllVendors().map(vendorResource::toDto));
+  }
+
+  @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  @Operation(summary = "Follow inserts, updates and deletes of vendors as server-sent events")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Streaming vendor changes",
+                  content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                          schema = @Schema(implementation = ChangeEventDTO.class))),
+          @ApiResponse(responseCode = "400", description = "Invalid resume token", content = @Content)
+  })
+  public Flux<ServerSentEvent<ChangeEventDTO<VendorDTO>>> streamVendorChanges(
+          @Parameter(description = "Id of the last event received, sent by EventSource on reconnect")
+          @RequestHeader(value = "Last-Event-ID", required = false) final String lastEventId,
+          @Parameter(description = "Id of the last event received, when the header cannot be set")
+          @RequestParam(required = false) final String resumeAfter) {
+    final String resumeToken = lastEventId != null ? lastEventId : resumeAfter;
+    return ChangeFeed.toServerSentEvents(vendorService.getVendorChanges(resumeToken), vendorResource::toDto, heartbeat);
   }
 
   @PutMapping(value = "/{id}")
@@ -94,9 +220,9 @@ public class VendorController {
   })
   public ResponseEntity<Mono<VendorDTO>> updateVendor(@PathVariable final String id,
                                                       @RequestBody final VendorDTO vendorDTO) {
-    final Vendor vendor = vendorMapper.vendorDtoToVendor(vendorDTO);
+    final Vendor vendor = vendorResource.toVendor(vendorDTO);
     vendor.setId(id);
-    return ResponseEntity.ok(vendorService.updateVendor(vendor).map(this::vendorToVendorDto));
+    return ResponseEntity.ok(vendorService.updateVendor(vendor).map(vendorResource::toDto));
   }
 
   @PatchMapping(value = "/{id}")
@@ -110,9 +236,9 @@ public class VendorController {
   })
   public ResponseEntity<Mono<VendorDTO>> patchVendor(@PathVariable final String id,
                                                      @RequestBody final VendorDTO vendorDTO) {
-    final Vendor vendor = vendorMapper.vendorDtoToVendor(vendorDTO);
+    final Vendor vendor = vendorResource.toVendor(vendorDTO);
     vendor.setId(id);
-    return ResponseEntity.ok(vendorService.patchVendor(vendor).map(this::vendorToVendorDto));
+    return ResponseEntity.ok(vendorService.patchVendor(vendor).map(vendorResource::toDto));
   }
 
   @DeleteMapping(value = "/{id}")
@@ -0,0 +1,78 @@
+package com.signature.controller.v1;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.signature.domain.BatchItemDTO;
+import com.signature.domain.VendorDTO;
+import com.signature.mapper.VendorMapper;
+import com.signature.model.Vendor;
+import com.signature.repository.BulkInsertResult;
+import com.signature.util.ETags;
+import com.signature.util.FieldSelection;
+
+import java.util.Set;
+
+/**
+ * Representation of vendors in the v1 API, shared by {@link VendorController} and the vendor handler of the
+ * router functions.
+ */
+public final class VendorResource {
+
+  public static final String PATH = "/api/v1/vendors";
+  public static final String FIELD_NAMES = "name, vendor_url";
+  public static final Set<String> FIELDS = Set.of("name", "vendor_url");
+
+  private static final String URL_FIELD = "vendor_url";
+
+  private final VendorMapper vendorMapper;
+
+  public VendorResource(final VendorMapper vendorMapper) {
+    this.vendorMapper = vendorMapper;
+  }
+
+  public Vendor toVendor(final VendorDTO vendorDTO) {
+    return vendorMapper.vendorDtoToVendor(vendorDTO);
+  }
+
+  public VendorDTO toDto(final Vendor vendor) {
+    VendorDTO vendorDTO = vendorMapper.vendorToVendorDto(vendor);
+    vendorDTO.setVendorUrl(url(vendor.getId()));
+    return vendorDTO;
+  }
+
+  /**
+   * The full representation for {@link FieldSelection#ALL}, otherwise one holding only the selected fields.
+   */
+  public VendorDTO toDto(final Vendor vendor, final FieldSelection fields) {
+    if (fields.isAll()) {
+      return toDto(vendor);
+    }
+    VendorDTO vendorDTO = new SparseVendorDTO();
+    if (fields.includes("name")) {
+      vendorDTO.setName(vendor.getName());
+    }
+    if (fields.includes(URL_FIELD)) {
+      vendorDTO.setVendorUrl(url(vendor.getId()));
+    }
+    return vendorDTO;
+  }
+
+  public BatchItemDTO toBatchItem(final BulkInsertResult result) {
+    return new BatchItemDTO(result.getIndex(), result.getId(), result.isInserted() ? url(result.getId()) : null,
+            result.getError());
+  }
+
+  public static String etag(final Vendor vendor, final FieldSelection fields) {
+    return ETags.of(vendor.getId(), vendor.getName(), fields);
+  }
+
+  private static String url(final String id) {
+    return PATH + "/" + id;
+  }
+
+  /**
+   * Leaves out the fields that were not selected instead of rendering them as null.
+   */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private static final class SparseVendorDTO extends VendorDTO {
+  }
+}
\ No newline at end of file
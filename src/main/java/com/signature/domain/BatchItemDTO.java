@@ -0,0 +1,21 @@
+package com.signature.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemDTO {
+
+  private int index;
+
+  private String id;
+
+  private String url;
+
+  private String error;
+}
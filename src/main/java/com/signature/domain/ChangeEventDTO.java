@@ -0,0 +1,21 @@
+package com.signature.domain;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeEventDTO<T> {
+
+  private String operation;
+
+  private String id;
+
+  private T data;
+}
\ No newline at end of file
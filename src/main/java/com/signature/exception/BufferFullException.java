@@ -0,0 +1,18 @@
+package com.signature.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A write was refused because the buffer it would have waited in is full or closed. Raised under overload, so no
+ * stack trace is captured.
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class BufferFullException extends Exception {
+
+  private static final long serialVersionUID = 5L;
+
+  public BufferFullException(String message) {
+    super(message, null, false, false);
+  }
+}
\ No newline at end of file
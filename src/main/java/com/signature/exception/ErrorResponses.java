@@ -0,0 +1,70 @@
+package com.signature.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes error bodies straight to the response, with the attributes and timestamp format of the default error
+ * attributes but without building an attribute map or going through the JSON encoder.
+ */
+public final class ErrorResponses {
+
+  private static final DateTimeFormatter TIMESTAMP =
+          DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSxxx").withZone(ZoneOffset.UTC);
+
+  private ErrorResponses() {
+  }
+
+  public static Mono<Void> write(final ServerWebExchange exchange, final HttpStatus status, final String message) {
+    final byte[] body = body(Instant.now(), exchange.getRequest().getPath().value(), status, message,
+            exchange.getRequest().getId());
+    final ServerHttpResponse response = exchange.getResponse();
+    response.setStatusCode(status);
+    response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+    response.getHeaders().setContentLength(body.length);
+    return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+  }
+
+  static byte[] body(final Instant timestamp, final String path, final HttpStatus status, final String message,
+                     final String requestId) {
+    final StringBuilder json = new StringBuilder(160 + path.length() + (message == null ? 0 : message.length()));
+    json.append("{\"timestamp\":\"");
+    TIMESTAMP.formatTo(timestamp, json);
+    json.append("\",\"path\":");
+    appendString(json, path);
+    json.append(",\"status\":").append(status.value()).append(",\"error\":");
+    appendString(json, status.getReasonPhrase());
+    json.append(",\"message\":");
+    appendString(json, message);
+    json.append(",\"requestId\":");
+    appendString(json, requestId);
+    return json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static void appendString(final StringBuilder json, final String value) {
+    if (value == null) {
+      json.append("null");
+      return;
+    }
+    json.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        json.append('\\').append(c);
+      } else if (c < 0x20) {
+        json.append(String.format("\\u%04x", (int) c));
+      } else {
+        json.append(c);
+      }
+    }
+    json.append('"');
+  }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.signature.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class InvalidRequestException extends Exception {
+
+  private static final long serialVersionUID = 3L;
+
+  public InvalidRequestException() {
+    super();
+  }
+
+  public InvalidRequestException(String message) {
+    super(message);
+  }
+
+  public InvalidRequestException(String message, Throwable cause) {
+    super(message, cause);
+  }
+
+  public InvalidRequestException(Throwable cause) {
+    super(cause);
+  }
+
+  public InvalidRequestException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+    super(message, cause, enableSuppression, writableStackTrace);
+  }
+}
@@ -8,23 +8,62 @@ public class ResourceNotFoundException extends Exception {
 
   private static final long serialVersionUID = 1L;
 
+  private final String resource;
+  private final String field;
+  private final String value;
+
   public ResourceNotFoundException() {
     super();
+    this.resource = null;
+    this.field = null;
+    this.value = null;
   }
 
   public ResourceNotFoundException(String message) {
     super(message);
+    this.resource = null;
+    this.field = null;
+    this.value = null;
   }
 
   public ResourceNotFoundException(String message, Throwable cause) {
     super(message, cause);
+    this.resource = null;
+    this.field = null;
+    this.value = null;
   }
 
   public ResourceNotFoundException(Throwable cause) {
     super(cause);
+    this.resource = null;
+    this.field = null;
+    this.value = null;
   }
 
   public ResourceNotFoundException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
     super(message, cause, enableSuppression, writableStackTrace);
+    this.resource = null;
+    this.field = null;
+    this.value = null;
+  }
+
+  private ResourceNotFoundException(final String resource, final String field, final String value) {
+    super(null, null, false, false);
+    this.resource = resource;
+    this.field = field;
+    this.value = value;
+  }
+
+  /**
+   * A miss on a lookup, e.g. {@code of("Customer", "id", id)}. Misses are an expected outcome rather than a fault, so
+   * no stack trace is captured and the message is only built when it is read.
+   */
+  public static ResourceNotFoundException of(final String resource, final String field, final String value) {
+    return new ResourceNotFoundException(resource, field, value);
+  }
+
+  @Override
+  public String getMessage() {
+    return resource == null ? super.getMessage() : resource + " with " + field + " " + value + " not found";
   }
 }
\ No newline at end of file
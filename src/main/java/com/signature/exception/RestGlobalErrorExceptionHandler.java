@@ -6,6 +6,7 @@ import org.springframework.boot.web.error.ErrorAttributeOptions;
 import org.springframework.boot.web.reactive.error.ErrorAttributes;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.ServerCodecConfigurer;
 import org.springframework.stereotype.Component;
@@ -15,6 +16,7 @@ import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.RouterFunctions;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.util.Map;
@@ -32,6 +34,18 @@ public class RestGlobalErrorExceptionHandler extends AbstractErrorWebExceptionHa
     super.setMessageReaders(serverCodecConfigurer.getReaders());
   }
 
+  /**
+   * Not found is the most frequent error response, so its body is written directly instead of being rendered from the
+   * error attributes.
+   */
+  @Override
+  public Mono<Void> handle(ServerWebExchange exchange, Throwable throwable) {
+    if (throwable instanceof ResourceNotFoundException && !exchange.getResponse().isCommitted()) {
+      return ErrorResponses.write(exchange, HttpStatus.NOT_FOUND, throwable.getMessage());
+    }
+    return super.handle(exchange, throwable);
+  }
+
   @Override
   protected RouterFunction<ServerResponse> getRoutingFunction(ErrorAttributes errorAttributes) {
     return RouterFunctions.route(RequestPredicates.all(), this::renderErrorResponse);
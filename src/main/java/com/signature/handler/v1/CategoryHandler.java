@@ -0,0 +1,61 @@
+package com.signature.handler.v1;
+
+import com.signature.controller.v1.CategoryController;
+import com.signature.controller.v1.CategoryResource;
+import com.signature.domain.CategoryDTO;
+import com.signature.mapper.CategoryMapper;
+import com.signature.model.Category;
+import com.signature.service.CategoryService;
+import com.signature.util.ETags;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Handler functions of the category routes in {@link V1Routes}, with the behaviour of {@link CategoryController}.
+ */
+@Component
+@Profile(V1Routes.PROFILE)
+public class CategoryHandler {
+
+  private static final ParameterizedTypeReference<List<CategoryDTO>> LIST_TYPE =
+          new ParameterizedTypeReference<>() {
+          };
+
+  private final CategoryResource categoryResource;
+  private final CategoryService categoryService;
+
+  public CategoryHandler(final CategoryMapper categoryMapper,
+                         final CategoryService categoryService) {
+    this.categoryResource = new CategoryResource(categoryMapper);
+    this.categoryService = categoryService;
+  }
+
+  public Mono<ServerResponse> getAllCategories(final ServerRequest request) {
+    return ETags.serve(request, categoryService.getAll().collectList(),
+            CategoryResource::etag,
+            categories -> categories.stream().map(categoryResource::toDto).collect(Collectors.toList()),
+            LIST_TYPE);
+  }
+
+  public Mono<ServerResponse> streamAllCategories(final ServerRequest request) {
+    return ServerResponse.ok()
+            .contentType(Streaming.mediaType(request))
+            .body(categoryService.getAll().map(categoryResource::toDto), CategoryDTO.class);
+  }
+
+  public Mono<ServerResponse> getCategoryByIdentifier(final ServerRequest request) {
+    final String identifier = request.pathVariable("identifier");
+    final Mono<Category> category = ObjectId.isValid(identifier)
+            ? categoryService.getById(identifier)
+            : categoryService.getByName(identifier);
+    return ServerResponse.ok().body(category.map(categoryResource::toDto), CategoryDTO.class);
+  }
+}
\ No newline at end of file
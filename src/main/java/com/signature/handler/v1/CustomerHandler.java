@@ -0,0 +1,172 @@
+package com.signature.handler.v1;
+
+import com.signature.config.AppProperties;
+import com.signature.controller.v1.CustomerController;
+import com.signature.controller.v1.CustomerResource;
+import com.signature.domain.BatchItemDTO;
+import com.signature.domain.CustomerDTO;
+import com.signature.exception.InvalidRequestException;
+import com.signature.mapper.CustomerMapper;
+import com.signature.model.Customer;
+import com.signature.service.CustomerService;
+import com.signature.util.ChangeFeed;
+import com.signature.util.ETags;
+import com.signature.util.FieldSelection;
+import com.signature.util.IdList;
+import com.signature.util.KeysetPage;
+import com.signature.util.SearchKeys;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Handler functions of the customer routes in {@link V1Routes}, with the behaviour of {@link CustomerController}.
+ */
+@Component
+@Profile(V1Routes.PROFILE)
+public class CustomerHandler {
+
+  private static final ParameterizedTypeReference<CustomerDTO> DTO_TYPE =
+          ParameterizedTypeReference.forType(CustomerDTO.class);
+
+  private final CustomerResource customerResource;
+  private final CustomerService customerService;
+  private final Duration heartbeat;
+  private final boolean writeBehind;
+  private final HttpStatus createdStatus;
+
+  public CustomerHandler(final CustomerMapper customerMapper,
+                         final CustomerService customerService,
+                         final AppProperties appProperties) {
+    this.customerResource = new CustomerResource(customerMapper);
+    this.customerService = customerService;
+    this.heartbeat = appProperties.getChangeFeed().getHeartbeat();
+    this.writeBehind = appProperties.getWriteBehind().isEnabled();
+    this.createdStatus = CustomerResource.createdStatus(appProperties.getWriteBehind());
+  }
+
+  public Mono<ServerResponse> createCustomer(final ServerRequest request) {
+    return ServerResponse.status(createdStatus)
+            .body(requestBody(request)
+                    .flatMap(writeBehind ? customerService::bufferCustomer : customerService::addCustomer)
+                    .map(customerResource::toDto), CustomerDTO.class);
+  }
+
+  public Mono<ServerResponse> createCustomers(final ServerRequest request) {
+    return ServerResponse.ok()
+            .body(customerService.addCustomers(request.bodyToFlux(CustomerDTO.class)
+                            .map(customerResource::toCustomer))
+                    .map(customerResource::toBatchItem), BatchItemDTO.class);
+  }
+
+  public Mono<ServerResponse> getCustomer(final ServerRequest request) {
+    final String id = request.pathVariable("id");
+    return FieldSelection.parse(request.queryParam("fields").orElse(null), CustomerResource.FIELDS)
+            .flatMap(selection -> ETags.serve(request, customerService.getCustomer(id, selection),
+                    customer -> CustomerResource.etag(customer, selection),
+                    customer -> customerResource.toDto(customer, selection), DTO_TYPE));
+  }
+
+  public Mono<ServerResponse> getAllCustomers(final ServerRequest request) {
+    final String after = request.queryParam("after").orElse(null);
+    final String ids = request.queryParam("ids").orElse(null);
+    final String fields = request.queryParam("fields").orElse(null);
+    final boolean count = request.queryParam("count").map(Boolean::parseBoolean).orElse(false);
+    final Integer limit;
+    try {
+      limit = request.queryParam("limit").map(Integer::valueOf).orElse(null);
+    } catch (NumberFormatException e) {
+      return Mono.error(new InvalidRequestException("Invalid limit " + request.queryParam("limit").orElse("")));
+    }
+
+    return FieldSelection.parse(fields, CustomerResource.FIELDS).flatMap(selection -> {
+      if (ids != null) {
+        return IdList.parse(ids, after, limit)
+                .flatMap(idSet -> ServerResponse.ok().body(customerService.getCustomers(idSet, selection)
+                        .map(customer -> customerResource.toDto(customer, selection)), CustomerDTO.class));
+      }
+      if (after == null && limit == null) {
+        return ServerResponse.ok().body(customerService.getAllCustomers(selection)
+                .map(customer -> customerResource.toDto(customer, selection)), CustomerDTO.class);
+      }
+
+      final Optional<String> afterId = after == null ? Optional.empty() : KeysetPage.decode(after);
+      if (after != null && afterId.isEmpty()) {
+        return Mono.error(new InvalidRequestException("Invalid cursor " + after));
+      }
+
+      final int pageSize = KeysetPage.pageSize(limit);
+      return KeysetPage.serve(customerService.getCustomerPage(afterId.orElse(null), pageSize + 1, selection),
+              count ? customerService.getEstimatedCustomerCount() : Mono.empty(),
+              pageSize, Customer::getId, customer -> customerResource.toDto(customer, selection), CustomerDTO.class);
+    });
+  }
+
+  public Mono<ServerResponse> searchCustomers(final ServerRequest request) {
+    final Optional<String> query = request.queryParam("q");
+    if (query.isEmpty()) {
+      return Mono.error(new InvalidRequestException("Query parameter q is required"));
+    }
+    final Integer limit;
+    try {
+      limit = request.queryParam("limit").map(Integer::valueOf).orElse(null);
+    } catch (NumberFormatException e) {
+      return Mono.error(new InvalidRequestException("Invalid limit " + request.queryParam("limit").orElse("")));
+    }
+    return ServerResponse.ok()
+            .contentType(MediaType.APPLICATION_NDJSON.equals(Streaming.mediaType(request))
+                    ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+            .body(customerService.searchCustomers(query.get(), SearchKeys.limit(limit))
+                    .map(customerResource::toDto), CustomerDTO.class);
+  }
+
+  public Mono<ServerResponse> streamAllCustomers(final ServerRequest request) {
+    return ServerResponse.ok()
+            .contentType(Streaming.mediaType(request))
+            .body(customerService.streamAllCustomers().map(customerResource::toDto), CustomerDTO.class);
+  }
+
+  public Mono<ServerResponse> streamCustomerChanges(final ServerRequest request) {
+    final String lastEventId = request.headers().firstHeader("Last-Event-ID");
+    final String resumeAfter = lastEventId != null ? lastEventId : request.queryParam("resumeAfter").orElse(null);
+    return ServerResponse.ok().body(BodyInserters.fromServerSentEvents(ChangeFeed.toServerSentEvents(
+            customerService.getCustomerChanges(resumeAfter), customerResource::toDto, heartbeat)));
+  }
+
+  public Mono<ServerResponse> updateCustomer(final ServerRequest request) {
+    final String id = request.pathVariable("id");
+    return ServerResponse.ok().body(requestBody(request)
+            .flatMap(customer -> {
+              customer.setId(id);
+              return customerService.updateCustomer(customer);
+            })
+            .map(customerResource::toDto), CustomerDTO.class);
+  }
+
+  public Mono<ServerResponse> patchCustomer(final ServerRequest request) {
+    final String id = request.pathVariable("id");
+    return ServerResponse.ok().body(requestBody(request)
+            .flatMap(customer -> {
+              customer.setId(id);
+              return customerService.patchCustomer(customer);
+            })
+            .map(customerResource::toDto), CustomerDTO.class);
+  }
+
+  public Mono<ServerResponse> deleteCustomer(final ServerRequest request) {
+    return ServerResponse.ok().build(customerService.deleteCustomer(request.pathVariable("id")));
+  }
+
+  private Mono<Customer> requestBody(final ServerRequest request) {
+    return Requests.body(request, CustomerDTO.class).map(customerResource::toCustomer);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.signature.handler.v1;
+
+import com.signature.exception.InvalidRequestException;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reads requests the way the annotated controllers bind them.
+ */
+final class Requests {
+
+  private Requests() {
+  }
+
+  /**
+   * The request body is required, as it is for {@code @RequestBody} parameters.
+   */
+  static <T> Mono<T> body(final ServerRequest request, final Class<T> type) {
+    return request.bodyToMono(type)
+            .switchIfEmpty(Mono.error(() -> new InvalidRequestException("Request body is missing")));
+  }
+}
\ No newline at end of file
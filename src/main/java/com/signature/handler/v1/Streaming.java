@@ -0,0 +1,38 @@
+package com.signature.handler.v1;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RequestPredicate;
+import org.springframework.web.reactive.function.server.ServerRequest;
+
+import java.util.List;
+
+/**
+ * Selects the streaming variant of a collection endpoint, as the {@code produces} condition of the annotated
+ * controllers does. Only concrete media types count, so a wildcard Accept header keeps getting the JSON array.
+ */
+final class Streaming {
+
+  static final RequestPredicate ACCEPTED = request -> mediaType(request) != null;
+
+  private static final List<MediaType> MEDIA_TYPES =
+          List.of(MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM);
+
+  private Streaming() {
+  }
+
+  /**
+   * The first streaming media type accepted by the request, or null when it accepts none.
+   */
+  static MediaType mediaType(final ServerRequest request) {
+    for (MediaType accepted : request.headers().accept()) {
+      if (accepted.isConcrete()) {
+        for (MediaType mediaType : MEDIA_TYPES) {
+          if (mediaType.isCompatibleWith(accepted)) {
+            return mediaType;
+          }
+        }
+      }
+    }
+    return null;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.signature.handler.v1;
+
+import com.signature.controller.v1.CategoryResource;
+import com.signature.controller.v1.CustomerResource;
+import com.signature.controller.v1.VendorResource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.contentType;
+
+/**
+ * The v1 API as router functions, served instead of the annotated controllers when the {@value #PROFILE} profile is
+ * active. Requests are matched by plain predicates and handlers write {@link ServerResponse}s, so there is no handler
+ * method argument resolution and no {@code ResponseEntity} adaptation per request.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile(V1Routes.PROFILE)
+public class V1Routes {
+
+  public static final String PROFILE = "functional";
+
+  @Bean
+  public RouterFunction<ServerResponse> v1Routes(final CustomerHandler customerHandler,
+                                                 final VendorHandler vendorHandler,
+                                                 final CategoryHandler categoryHandler) {
+    return customerRoutes(customerHandler)
+            .and(vendorRoutes(vendorHandler))
+            .and(categoryRoutes(categoryHandler));
+  }
+
+  static RouterFunction<ServerResponse> customerRoutes(final CustomerHandler customerHandler) {
+    return RouterFunctions.route()
+            .path(CustomerResource.PATH, builder -> builder
+                    .POST("/batch", contentType(MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON),
+                            customerHandler::createCustomers)
+                    .POST("", customerHandler::createCustomer)
+                    .GET("/changes", customerHandler::streamCustomerChanges)
+                    .GET("/search", customerHandler::searchCustomers)
+                    .GET("/{id}", customerHandler::getCustomer)
+                    .GET("", Streaming.ACCEPTED, customerHandler::streamAllCustomers)
+                    .GET("", customerHandler::getAllCustomers)
+                    .PUT("/{id}", customerHandler::updateCustomer)
+                    .PATCH("/{id}", customerHandler::patchCustomer)
+                    .DELETE("/{id}", customerHandler::deleteCustomer))
+            .build();
+  }
+
+  static RouterFunction<ServerResponse> vendorRoutes(final VendorHandler vendorHandler) {
+    return RouterFunctions.route()
+            .path(VendorResource.PATH, builder -> builder
+                    .POST("/batch", contentType(MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON),
+                            vendorHandler::createVendors)
+                    .POST("", vendorHandler::createVendor)
+                    .GET("/changes", vendorHandler::streamVendorChanges)
+                    .GET("/suggest", vendorHandler::suggestVendors)
+                    .GET("/{id}", vendorHandler::getVendor)
+                    .GET("", Streaming.ACCEPTED, vendorHandler::streamAllVendors)
+                    .GET("", vendorHandler::getAllVendors)
+                    .PUT("/{id}", vendorHandler::updateVendor)
+                    .PATCH("/{id}", vendorHandler::patchVendor)
+                    .DELETE("/{id}", vendorHandler::deleteVendor))
+            .build();
+  }
+
+  static RouterFunction<ServerResponse> categoryRoutes(final CategoryHandler categoryHandler) {
+    return RouterFunctions.route()
+            .path(CategoryResource.PATH, builder -> builder
+                    .GET("/{identifier}", categoryHandler::getCategoryByIdentifier)
+                    .GET("", Streaming.ACCEPTED, categoryHandler::streamAllCategories)
+                    .GET("", categoryHandler::getAllCategories))
+            .build();
+  }
+}
\ No newline at end of file
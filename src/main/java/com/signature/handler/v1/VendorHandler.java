@@ -0,0 +1,165 @@
+package com.signature.handler.v1;
+
+import com.signature.config.AppProperties;
+import com.signature.controller.v1.VendorController;
+import com.signature.controller.v1.VendorResource;
+import com.signature.domain.BatchItemDTO;
+import com.signature.domain.VendorDTO;
+import com.signature.exception.InvalidRequestException;
+import com.signature.mapper.VendorMapper;
+import com.signature.model.Vendor;
+import com.signature.service.VendorService;
+import com.signature.util.ChangeFeed;
+import com.signature.util.ETags;
+import com.signature.util.FieldSelection;
+import com.signature.util.IdList;
+import com.signature.util.KeysetPage;
+import com.signature.util.SearchKeys;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Handler functions of the vendor routes in {@link V1Routes}, with the behaviour of {@link VendorController}.
+ */
+@Component
+@Profile(V1Routes.PROFILE)
+public class VendorHandler {
+
+  private static final ParameterizedTypeReference<VendorDTO> DTO_TYPE =
+          ParameterizedTypeReference.forType(VendorDTO.class);
+
+  private final VendorResource vendorResource;
+  private final VendorService vendorService;
+  private final Duration heartbeat;
+
+  public VendorHandler(final VendorMapper vendorMapper,
+                       final VendorService vendorService,
+                       final AppProperties appProperties) {
+    this.vendorResource = new VendorResource(vendorMapper);
+    this.vendorService = vendorService;
+    this.heartbeat = appProperties.getChangeFeed().getHeartbeat();
+  }
+
+  public Mono<ServerResponse> createVendor(final ServerRequest request) {
+    return ServerResponse.status(HttpStatus.CREATED)
+            .body(requestBody(request)
+                    .flatMap(vendorService::addVendor)
+                    .map(vendorResource::toDto), VendorDTO.class);
+  }
+
+  public Mono<ServerResponse> createVendors(final ServerRequest request) {
+    return ServerResponse.ok()
+            .body(vendorService.addVendors(request.bodyToFlux(VendorDTO.class)
+                            .map(vendorResource::toVendor))
+                    .map(vendorResource::toBatchItem), BatchItemDTO.class);
+  }
+
+  public Mono<ServerResponse> getVendor(final ServerRequest request) {
+    final String id = request.pathVariable("id");
+    return FieldSelection.parse(request.queryParam("fields").orElse(null), VendorResource.FIELDS)
+            .flatMap(selection -> ETags.serve(request, vendorService.getVendor(id, selection),
+                    vendor -> VendorResource.etag(vendor, selection),
+                    vendor -> vendorResource.toDto(vendor, selection), DTO_TYPE));
+  }
+
+  public Mono<ServerResponse> getAllVendors(final ServerRequest request) {
+    final String after = request.queryParam("after").orElse(null);
+    final String ids = request.queryParam("ids").orElse(null);
+    final String fields = request.queryParam("fields").orElse(null);
+    final boolean count = request.queryParam("count").map(Boolean::parseBoolean).orElse(false);
+    final Integer limit;
+    try {
+      limit = request.queryParam("limit").map(Integer::valueOf).orElse(null);
+    } catch (NumberFormatException e) {
+      return Mono.error(new InvalidRequestException("Invalid limit " + request.queryParam("limit").orElse("")));
+    }
+
+    return FieldSelection.parse(fields, VendorResource.FIELDS).flatMap(selection -> {
+      if (ids != null) {
+        return IdList.parse(ids, after, limit)
+                .flatMap(idSet -> ServerResponse.ok().body(vendorService.getVendors(idSet, selection)
+                        .map(vendor -> vendorResource.toDto(vendor, selection)), VendorDTO.class));
+      }
+      if (after == null && limit == null) {
+        return ServerResponse.ok().body(vendorService.getAllVendors(selection)
+                .map(vendor -> vendorResource.toDto(vendor, selection)), VendorDTO.class);
+      }
+
+      final Optional<String> afterId = after == null ? Optional.empty() : KeysetPage.decode(after);
+      if (after != null && afterId.isEmpty()) {
+        return Mono.error(new InvalidRequestException("Invalid cursor " + after));
+      }
+
+      final int pageSize = KeysetPage.pageSize(limit);
+      return KeysetPage.serve(vendorService.getVendorPage(afterId.orElse(null), pageSize + 1, selection),
+              count ? vendorService.getEstimatedVendorCount() : Mono.empty(),
+              pageSize, Vendor::getId, vendor -> vendorResource.toDto(vendor, selection), VendorDTO.class);
+    });
+  }
+
+  public Mono<ServerResponse> suggestVendors(final ServerRequest request) {
+    final Optional<String> prefix = request.queryParam("prefix");
+    if (prefix.isEmpty()) {
+      return Mono.error(new InvalidRequestException("Query parameter prefix is required"));
+    }
+    final Integer limit;
+    try {
+      limit = request.queryParam("limit").map(Integer::valueOf).orElse(null);
+    } catch (NumberFormatException e) {
+      return Mono.error(new InvalidRequestException("Invalid limit " + request.queryParam("limit").orElse("")));
+    }
+    return ServerResponse.ok()
+            .body(vendorService.suggestVendors(prefix.get(), SearchKeys.limit(limit)).map(vendorResource::toDto),
+                    VendorDTO.class);
+  }
+
+  public Mono<ServerResponse> streamAllVendors(final ServerRequest request) {
+    return ServerResponse.ok()
+            .contentType(Streaming.mediaType(request))
+            .body(vendorService.streamAllVendors().map(vendorResource::toDto), VendorDTO.class);
+  }
+
+  public Mono<ServerResponse> streamVendorChanges(final ServerRequest request) {
+    final String lastEventId = request.headers().firstHeader("Last-Event-ID");
+    final String resumeAfter = lastEventId != null ? lastEventId : request.queryParam("resumeAfter").orElse(null);
+    return ServerResponse.ok().body(BodyInserters.fromServerSentEvents(ChangeFeed.toServerSentEvents(
+            vendorService.getVendorChanges(resumeAfter), vendorResource::toDto, heartbeat)));
+  }
+
+  public Mono<ServerResponse> updateVendor(final ServerRequest request) {
+    final String id = request.pathVariable("id");
+    return ServerResponse.ok().body(requestBody(request)
+            .flatMap(vendor -> {
+              vendor.setId(id);
+              return vendorService.updateVendor(vendor);
+            })
+            .map(vendorResource::toDto), VendorDTO.class);
+  }
+
+  public Mono<ServerResponse> patchVendor(final ServerRequest request) {
+    final String id = request.pathVariable("id");
+    return ServerResponse.ok().body(requestBody(request)
+            .flatMap(vendor -> {
+              vendor.setId(id);
+              return vendorService.patchVendor(vendor);
+            })
+            .map(vendorResource::toDto), VendorDTO.class);
+  }
+
+  public Mono<ServerResponse> deleteVendor(final ServerRequest request) {
+    return ServerResponse.ok().build(vendorService.deleteVendor(request.pathVariable("id")));
+  }
+
+  private Mono<Vendor> requestBody(final ServerRequest request) {
+    return Requests.body(request, VendorDTO.class).map(vendorResource::toVendor);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,295 @@
+package com.signature.idempotency;
+
+import com.signature.config.AppProperties;
+import com.signature.exception.ErrorResponses;
+import com.signature.model.IdempotencyRecord;
+import com.signature.repository.IdempotencyRecordRepository;
+import com.signature.util.ReadThroughCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Answers a create sent with an {@code Idempotency-Key} header once, and replays that answer when the request is
+ * retried with the same key, without running the create again.
+ * <p>
+ * The first request claims the key by inserting an {@link IdempotencyRecord} and, once its response is ready, stores
+ * the status, content type, location and body in it before writing it out. Only successful responses are stored; on
+ * any other outcome the claim is given up so the retry runs the create itself. A {@code 202 Accepted} is not stored,
+ * as the create may still fail, and neither is a response whose record could not be saved; in both cases the claim is
+ * kept until the lock timeout so a retry cannot run the create twice. A duplicate arriving while the first
+ * request is in progress waits for it, through the local cache when both run on this instance and by polling the
+ * record otherwise, and gets {@code 409 Conflict} once the wait timeout passes. A key reused with a different body gets
+ * {@code 422 Unprocessable Entity}. Keys are scoped to the path and to the client header, if sent.
+ * <p>
+ * Outcomes are counted in {@code app.idempotency.requests}, tagged with the {@code result}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.idempotency", name = "enabled", matchIfMissing = true)
+public class IdempotencyFilter implements WebFilter, Ordered {
+
+  static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 20;
+  static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+  private static final int MAX_KEY_LENGTH = 255;
+  private static final int MAX_BODY_SIZE = 256 * 1024;
+  private static final byte[] EMPTY = new byte[0];
+  private static final char SEPARATOR = '\u0000';
+
+  private final IdempotencyRecordRepository repository;
+  private final String header;
+  private final String clientHeader;
+  private final Set<String> paths;
+  private final Duration ttl;
+  private final Duration lockTimeout;
+  private final Duration waitTimeout;
+  private final Duration pollInterval;
+  private final ReadThroughCache<String, IdempotencyRecord> responses;
+
+  private final Counter executed;
+  private final Counter replayed;
+  private final Counter inProgress;
+  private final Counter mismatched;
+
+  public IdempotencyFilter(final IdempotencyRecordRepository repository,
+                           final AppProperties appProperties,
+                           final MeterRegistry registry) {
+    final AppProperties.Idempotency idempotency = appProperties.getIdempotency();
+    this.repository = repository;
+    this.header = idempotency.getHeader();
+    this.clientHeader = idempotency.getClientHeader();
+    this.paths = new HashSet<>(idempotency.getPaths());
+    this.ttl = idempotency.getTtl();
+    this.lockTimeout = idempotency.getLockTimeout();
+    this.waitTimeout = idempotency.getWaitTimeout();
+    this.pollInterval = idempotency.getPollInterval();
+    this.responses = new ReadThroughCache<>("idempotency", idempotency.getCacheSize(), ttl, registry);
+
+    this.executed = requests(registry, "executed");
+    this.replayed = requests(registry, "replayed");
+    this.inProgress = requests(registry, "in_progress");
+    this.mismatched = requests(registry, "mismatched");
+  }
+
+  private static Counter requests(final MeterRegistry registry, final String result) {
+    return Counter.builder("app.idempotency.requests")
+            .description("Requests carrying an idempotency key by outcome")
+            .tag("result", result)
+            .register(registry);
+  }
+
+  @Override
+  public int getOrder() {
+    return ORDER;
+  }
+
+  @Override
+  public Mono<Void> filter(final ServerWebExchange exchange, final WebFilterChain chain) {
+    final ServerHttpRequest request = exchange.getRequest();
+    final String key = request.getHeaders().getFirst(header);
+    if (key == null || request.getMethod() != HttpMethod.POST || !paths.contains(request.getPath().value())) {
+      return chain.filter(exchange);
+    }
+    if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+      return ErrorResponses.write(exchange, HttpStatus.BAD_REQUEST,
+              header + " must have between 1 and " + MAX_KEY_LENGTH + " characters");
+    }
+
+    final String id = scope(request, key);
+    return DataBufferUtils.join(request.getBody(), MAX_BODY_SIZE)
+            .map(IdempotencyFilter::bytesOf)
+            .defaultIfEmpty(EMPTY)
+            .flatMap(body -> respond(exchange.mutate().request(withBody(request, body)).build(), chain, id,
+                    DigestUtils.md5DigestAsHex(body), true))
+            .onErrorResume(DataBufferLimitException.class, e -> ErrorResponses.write(exchange,
+                    HttpStatus.PAYLOAD_TOO_LARGE, "Request body exceeds " + MAX_BODY_SIZE + " bytes"));
+  }
+
+  private String scope(final ServerHttpRequest request, final String key) {
+    final String client = request.getHeaders().getFirst(clientHeader);
+    final String scope = request.getPath().value() + SEPARATOR + (client == null ? "" : client) + SEPARATOR + key;
+    return DigestUtils.md5DigestAsHex(scope.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Runs the request if it claims the key, or else replays the response of the request holding it. When that request
+   * fails and gives up the key, this one is tried once more in its place.
+   */
+  private Mono<Void> respond(final ServerWebExchange exchange, final WebFilterChain chain, final String id,
+                             final String fingerprint, final boolean retry) {
+    final AtomicBoolean owner = new AtomicBoolean();
+    return responses.get(id, k -> claim(k, fingerprint)
+                    .flatMap(claimed -> claimed ? execute(exchange, chain, k, fingerprint, owner) : await(k)))
+            .materialize()
+            .flatMap(signal -> {
+              if (owner.get()) {
+                return signal.isOnError() ? Mono.error(signal.getThrowable()) : Mono.empty();
+              }
+              if (signal.hasValue()) {
+                return replay(exchange, signal.get(), fingerprint);
+              }
+              if (retry && !(signal.getThrowable() instanceof TimeoutException)) {
+                return respond(exchange, chain, id, fingerprint, false);
+              }
+              inProgress.increment();
+              return ErrorResponses.write(exchange, HttpStatus.CONFLICT,
+                      "A request with this " + header + " is still in progress");
+            });
+  }
+
+  private Mono<Boolean> claim(final String id, final String fingerprint) {
+    return repository.insert(new IdempotencyRecord(id, fingerprint, expiresIn(lockTimeout)))
+            .thenReturn(true)
+            .onErrorResume(DuplicateKeyException.class, e -> Mono.just(false));
+  }
+
+  private Mono<IdempotencyRecord> execute(final ServerWebExchange exchange, final WebFilterChain chain,
+                                          final String id, final String fingerprint, final AtomicBoolean owner) {
+    owner.set(true);
+    executed.increment();
+    final AtomicBoolean succeeded = new AtomicBoolean();
+    final AtomicReference<IdempotencyRecord> stored = new AtomicReference<>();
+    final ServerHttpResponse response = new ServerHttpResponseDecorator(exchange.getResponse()) {
+      @Override
+      public Mono<Void> writeWith(final Publisher<? extends DataBuffer> body) {
+        return DataBufferUtils.join(body)
+                .map(IdempotencyFilter::bytesOf)
+                .defaultIfEmpty(EMPTY)
+                .flatMap(bytes -> {
+                  final HttpStatus status = getDelegate().getStatusCode();
+                  succeeded.set(status != null && status.is2xxSuccessful());
+                  return store(id, fingerprint, getDelegate(), bytes)
+                          .doOnNext(stored::set)
+                          .then(super.writeWith(Mono.fromSupplier(() -> bufferFactory().wrap(bytes))));
+                });
+      }
+    };
+    return chain.filter(exchange.mutate().response(response).build())
+            .onErrorResume(e -> (succeeded.get() ? Mono.<Void>empty() : release(id)).then(Mono.error(e)))
+            .then(Mono.defer(() -> {
+              if (stored.get() != null) {
+                return Mono.just(stored.get());
+              }
+              return succeeded.get() ? Mono.empty() : release(id).then(Mono.empty());
+            }));
+  }
+
+  private Mono<IdempotencyRecord> store(final String id, final String fingerprint, final ServerHttpResponse response,
+                                        final byte[] body) {
+    final HttpStatus status = response.getStatusCode();
+    if (status == null || !status.is2xxSuccessful() || status == HttpStatus.ACCEPTED) {
+      return Mono.empty();
+    }
+    final IdempotencyRecord record = new IdempotencyRecord(id, fingerprint, expiresIn(ttl));
+    record.setStatus(status.value());
+    final MediaType contentType = response.getHeaders().getContentType();
+    record.setContentType(contentType == null ? null : contentType.toString());
+    record.setLocation(response.getHeaders().getFirst(HttpHeaders.LOCATION));
+    record.setBody(body);
+    return repository.save(record).onErrorResume(e -> {
+      log.warn("Could not store the response for idempotency key {}, keeping it claimed : {}", id, e.getMessage());
+      return Mono.empty();
+    });
+  }
+
+  private Mono<Void> release(final String id) {
+    return repository.deleteById(id).onErrorResume(e -> {
+      log.warn("Could not release idempotency key {} : {}", id, e.getMessage());
+      return Mono.empty();
+    });
+  }
+
+  /**
+   * The response once the request holding the key completes, empty if it gives up the key, or a timeout error if it
+   * is still in progress after the wait timeout.
+   */
+  private Mono<IdempotencyRecord> await(final String id) {
+    return Mono.defer(() -> repository.findById(id))
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .repeatWhen(polls -> polls.delayElements(pollInterval))
+            .filter(record -> record.map(IdempotencyRecord::isCompleted).orElse(true))
+            .next()
+            .flatMap(Mono::justOrEmpty)
+            .timeout(waitTimeout);
+  }
+
+  private Mono<Void> replay(final ServerWebExchange exchange, final IdempotencyRecord record,
+                            final String fingerprint) {
+    if (!record.getFingerprint().equals(fingerprint)) {
+      mismatched.increment();
+      return ErrorResponses.write(exchange, HttpStatus.UNPROCESSABLE_ENTITY,
+              header + " was already used with a different request body");
+    }
+    replayed.increment();
+    final ServerHttpResponse response = exchange.getResponse();
+    response.setRawStatusCode(record.getStatus());
+    final HttpHeaders headers = response.getHeaders();
+    if (record.getContentType() != null) {
+      headers.setContentType(MediaType.parseMediaType(record.getContentType()));
+    }
+    if (record.getLocation() != null) {
+      headers.set(HttpHeaders.LOCATION, record.getLocation());
+    }
+    headers.setContentLength(record.getBody().length);
+    headers.set(REPLAYED_HEADER, "true");
+    return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(record.getBody())));
+  }
+
+  private static Date expiresIn(final Duration duration) {
+    return new Date(System.currentTimeMillis() + duration.toMillis());
+  }
+
+  private static ServerHttpRequest withBody(final ServerHttpRequest request, final byte[] body) {
+    return new ServerHttpRequestDecorator(request) {
+      @Override
+      public Flux<DataBuffer> getBody() {
+        return Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)));
+      }
+    };
+  }
+
+  private static byte[] bytesOf(final DataBuffer buffer) {
+    try {
+      final byte[] bytes = new byte[buffer.readableByteCount()];
+      buffer.read(bytes);
+      return bytes;
+    } finally {
+      DataBufferUtils.release(buffer);
+    }
+  }
+}
\ No newline at end of file
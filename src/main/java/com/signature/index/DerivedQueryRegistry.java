@@ -0,0 +1,64 @@
+package com.signature.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.mongodb.repository.query.ReactivePartTreeMongoQuery;
+import org.springframework.data.repository.core.support.QueryCreationListener;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * Records the properties every derived repository query method filters on, so they can be checked against the
+ * indexes of their collection once the application starts.
+ */
+@Component
+public class DerivedQueryRegistry implements BeanPostProcessor, QueryCreationListener<ReactivePartTreeMongoQuery> {
+
+  private final List<DerivedQuery> queries = new CopyOnWriteArrayList<>();
+
+  @Override
+  public Object postProcessBeforeInitialization(final Object bean, final String beanName) {
+    if (bean instanceof RepositoryFactoryBeanSupport) {
+      ((RepositoryFactoryBeanSupport<?, ?, ?>) bean)
+              .addRepositoryFactoryCustomizer(factory -> factory.addQueryCreationListener(this));
+    }
+    return bean;
+  }
+
+  @Override
+  public void onCreation(final ReactivePartTreeMongoQuery query) {
+    final List<PropertyPath> properties = query.getTree().getParts().stream()
+            .map(Part::getProperty)
+            .collect(Collectors.toList());
+
+    if (!properties.isEmpty()) {
+      queries.add(new DerivedQuery(query.getQueryMethod().getEntityInformation().getJavaType(),
+              query.getQueryMethod().getName(), properties));
+    }
+  }
+
+  public List<DerivedQuery> getQueries() {
+    return List.copyOf(queries);
+  }
+
+  @Getter
+  @AllArgsConstructor
+  public static class DerivedQuery {
+
+    private final Class<?> domainType;
+    private final String methodName;
+    private final List<PropertyPath> properties;
+
+    @Override
+    public String toString() {
+      return domainType.getSimpleName() + "." + methodName;
+    }
+  }
+}
\ No newline at end of file
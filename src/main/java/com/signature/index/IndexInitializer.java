@@ -0,0 +1,130 @@
+package com.signature.index;
+
+import com.signature.config.AppProperties;
+import com.signature.index.DerivedQueryRegistry.DerivedQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver.IndexDefinitionHolder;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates the indexes declared on the {@link org.springframework.data.mongodb.core.mapping.Document} models before
+ * any other runner touches the database, then explains every derived repository query and reports the ones that
+ * would scan the whole collection.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class IndexInitializer implements ApplicationRunner {
+
+  private static final String COLLECTION_SCAN = "COLLSCAN";
+
+  private final ReactiveMongoTemplate mongoTemplate;
+  private final MongoMappingContext mappingContext;
+  private final DerivedQueryRegistry queryRegistry;
+  private final AppProperties.Indexes properties;
+
+  public IndexInitializer(final ReactiveMongoTemplate mongoTemplate,
+                          final MongoMappingContext mappingContext,
+                          final DerivedQueryRegistry queryRegistry,
+                          final AppProperties appProperties) {
+    this.mongoTemplate = mongoTemplate;
+    this.mappingContext = mappingContext;
+    this.queryRegistry = queryRegistry;
+    this.properties = appProperties.getIndexes();
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    final List<String> problems = new ArrayList<>();
+
+    ensureIndexes().onErrorResume(e -> {
+      problems.add(e.getMessage());
+      return Mono.empty();
+    }).block();
+
+    if (properties.isVerify()) {
+      problems.addAll(findUnindexedQueries().collectList().block());
+    }
+
+    if (!problems.isEmpty()) {
+      if (properties.isStrict()) {
+        throw new IllegalStateException("Index verification failed: " + String.join("; ", problems));
+      }
+      problems.forEach(problem -> log.warn("Index verification : {}", problem));
+    }
+  }
+
+  Mono<Void> ensureIndexes() {
+    final MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+
+    return Flux.fromIterable(mappingContext.getPersistentEntities())
+            .filter(entity -> entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class))
+            .concatMap(entity -> Flux.fromIterable(resolver.resolveIndexForEntity(entity))
+                    .concatMap(index -> ensureIndex(entity, index)))
+            .then();
+  }
+
+  private Mono<String> ensureIndex(final MongoPersistentEntity<?> entity, final IndexDefinitionHolder index) {
+    return mongoTemplate.indexOps(entity.getType()).ensureIndex(index.getIndexDefinition())
+            .doOnNext(name -> log.info("Index {} present on {}", name, index.getCollection()))
+            .onErrorMap(e -> new IllegalStateException("Could not create index " + index.getIndexKeys()
+                    + " on " + index.getCollection() + " : " + e.getMessage(), e));
+  }
+
+  Flux<String> findUnindexedQueries() {
+    return Flux.fromIterable(queryRegistry.getQueries())
+            .concatMap(query -> explain(query)
+                    .filter(IndexInitializer::isCollectionScan)
+                    .map(plan -> query + " filters on " + filterOf(query).keySet()
+                            + " but no index of " + mongoTemplate.getCollectionName(query.getDomainType())
+                            + " supports it"));
+  }
+
+  private Mono<Document> explain(final DerivedQuery query) {
+    return mongoTemplate.getCollection(mongoTemplate.getCollectionName(query.getDomainType()))
+            .flatMap(collection -> Mono.from(collection.find(filterOf(query)).explain()))
+            .map(explain -> explain.get("queryPlanner", Document.class).get("winningPlan", Document.class))
+            .onErrorResume(e -> {
+              log.warn("Could not explain {} : {}", query, e.getMessage());
+              return Mono.empty();
+            });
+  }
+
+  private Document filterOf(final DerivedQuery query) {
+    final Document filter = new Document();
+    query.getProperties().forEach(property -> filter.put(mappingContext.getPersistentPropertyPath(property)
+            .toDotPath(MongoPersistentProperty::getFieldName), null));
+    return filter;
+  }
+
+  /**
+   * Whether any stage of the given winning plan reads the whole collection.
+   */
+  static boolean isCollectionScan(final Object plan) {
+    if (plan instanceof Map) {
+      final Map<?, ?> stage = (Map<?, ?>) plan;
+      return COLLECTION_SCAN.equals(stage.get("stage"))
+              || stage.values().stream().anyMatch(IndexInitializer::isCollectionScan);
+    }
+    if (plan instanceof List) {
+      return ((List<?>) plan).stream().anyMatch(IndexInitializer::isCollectionScan);
+    }
+    return false;
+  }
+}
\ No newline at end of file
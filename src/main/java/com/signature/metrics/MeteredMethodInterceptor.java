@@ -0,0 +1,127 @@
+package com.signature.metrics;
+
+import com.signature.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Times every {@link Mono} and {@link Flux} returning method from subscription to termination.
+ * <p>
+ * Each call is recorded in the {@code <layer>} timer, tagged with the instrumented interface, the method and the
+ * outcome ({@code success}, {@code empty}, {@code not_found}, {@code error} or {@code cancelled}). Elements emitted by
+ * a Flux are added to {@code <layer>.elements} and {@link ResourceNotFoundException}s to {@code <layer>.not.found}.
+ */
+public class MeteredMethodInterceptor implements MethodInterceptor {
+
+  static final String SUCCESS = "success";
+  static final String EMPTY = "empty";
+  static final String NOT_FOUND = "not_found";
+  static final String ERROR = "error";
+  static final String CANCELLED = "cancelled";
+
+  private final String layer;
+  private final String type;
+  private final ObjectProvider<MeterRegistry> registryProvider;
+
+  private final Map<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+
+  public MeteredMethodInterceptor(final String layer, final Class<?> type,
+                                  final ObjectProvider<MeterRegistry> registryProvider) {
+    this.layer = layer;
+    this.type = type.getSimpleName();
+    this.registryProvider = registryProvider;
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    final Object result = invocation.proceed();
+
+    if (result instanceof Mono) {
+      return timed((Mono<?>) result, meters(invocation.getMethod()));
+    }
+    if (result instanceof Flux) {
+      return timed((Flux<?>) result, meters(invocation.getMethod()));
+    }
+    return result;
+  }
+
+  private MethodMeters meters(final Method method) {
+    return meters.computeIfAbsent(method, key -> new MethodMeters(registryProvider.getObject(), key.getName()));
+  }
+
+  private static <T> Mono<T> timed(final Mono<T> mono, final MethodMeters meters) {
+    return Mono.defer(() -> {
+      final long start = System.nanoTime();
+      return mono
+              .doOnSuccess(value -> meters.record(value == null ? EMPTY : SUCCESS, start))
+              .doOnError(e -> meters.record(outcomeOf(e), start))
+              .doOnCancel(() -> meters.record(CANCELLED, start));
+    });
+  }
+
+  private static <T> Flux<T> timed(final Flux<T> flux, final MethodMeters meters) {
+    return Flux.defer(() -> {
+      final long start = System.nanoTime();
+      final AtomicLong elements = new AtomicLong();
+      return flux
+              .doOnNext(value -> elements.incrementAndGet())
+              .doOnComplete(() -> meters.record(SUCCESS, start, elements.get()))
+              .doOnError(e -> meters.record(outcomeOf(e), start, elements.get()))
+              .doOnCancel(() -> meters.record(CANCELLED, start, elements.get()));
+    });
+  }
+
+  private static String outcomeOf(final Throwable e) {
+    return e instanceof ResourceNotFoundException ? NOT_FOUND : ERROR;
+  }
+
+  private class MethodMeters {
+
+    private final MeterRegistry registry;
+    private final String method;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Counter elements;
+    private final Counter notFound;
+
+    MethodMeters(final MeterRegistry registry, final String method) {
+      this.registry = registry;
+      this.method = method;
+      this.elements = Counter.builder(layer + ".elements")
+              .description("Elements emitted by Flux results")
+              .tags("class", type, "method", method)
+              .register(registry);
+      this.notFound = Counter.builder(layer + ".not.found")
+              .description("Calls that ended with a resource not found")
+              .tags("class", type, "method", method)
+              .register(registry);
+    }
+
+    void record(final String outcome, final long start) {
+      timers.computeIfAbsent(outcome, key -> Timer.builder(layer)
+                      .tags("class", type, "method", method, "outcome", key)
+                      .publishPercentileHistogram()
+                      .register(registry))
+              .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      if (NOT_FOUND.equals(outcome)) {
+        notFound.increment();
+      }
+    }
+
+    void record(final String outcome, final long start, final long count) {
+      record(outcome, start);
+      elements.increment(count);
+    }
+  }
+}
\ No newline at end of file
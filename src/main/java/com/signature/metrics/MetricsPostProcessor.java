@@ -0,0 +1,98 @@
+package com.signature.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * Wraps every {@link Service} bean and every Spring Data repository in a {@link MeteredMethodInterceptor}, recording
+ * into the {@code app.service} and {@code app.repository} meters respectively. Comparing the two with
+ * {@code http.server.requests} separates Mongo time from mapping and serialization time.
+ * <p>
+ * Services are proxied by subclassing, so the bean keeps its class and the annotations on its methods, such as
+ * {@code @EventListener}, stay visible. Only the reactive methods of the service interfaces are timed, tagged with the
+ * interface declaring them.
+ */
+@Component
+public class MetricsPostProcessor implements BeanPostProcessor {
+
+  static final String SERVICE = "app.service";
+  static final String REPOSITORY = "app.repository";
+
+  private final ObjectProvider<MeterRegistry> registryProvider;
+
+  public MetricsPostProcessor(final ObjectProvider<MeterRegistry> registryProvider) {
+    this.registryProvider = registryProvider;
+  }
+
+  @Override
+  public Object postProcessBeforeInitialization(final Object bean, final String beanName) {
+    if (bean instanceof RepositoryFactoryBeanSupport) {
+      ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(factory ->
+              factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                      proxyFactory.addAdvice(new MeteredMethodInterceptor(REPOSITORY,
+                              repositoryInformation.getRepositoryInterface(), registryProvider))));
+    }
+    return bean;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+    if (AnnotationUtils.findAnnotation(bean.getClass(), Service.class) == null) {
+      return bean;
+    }
+    final Class<?>[] interfaces = ClassUtils.getAllInterfaces(bean);
+    if (interfaces.length == 0) {
+      return bean;
+    }
+    final ProxyFactory proxyFactory = new ProxyFactory(bean);
+    proxyFactory.setProxyTargetClass(true);
+    for (int i = 0; i < interfaces.length; i++) {
+      proxyFactory.addAdvisor(new DefaultPointcutAdvisor(new InterfaceMethodPointcut(interfaces, i),
+              new MeteredMethodInterceptor(SERVICE, interfaces[i], registryProvider)));
+    }
+    return proxyFactory.getProxy(bean.getClass().getClassLoader());
+  }
+
+  /**
+   * Reactive methods declared by one of the interfaces and by none listed before it, so each method is timed once.
+   */
+  static final class InterfaceMethodPointcut extends StaticMethodMatcherPointcut {
+
+    private final Class<?>[] interfaces;
+    private final int index;
+
+    InterfaceMethodPointcut(final Class<?>[] interfaces, final int index) {
+      this.interfaces = interfaces;
+      this.index = index;
+    }
+
+    @Override
+    public boolean matches(final Method method, final Class<?> targetClass) {
+      if (!Publisher.class.isAssignableFrom(method.getReturnType()) || !declares(interfaces[index], method)) {
+        return false;
+      }
+      for (int i = 0; i < index; i++) {
+        if (declares(interfaces[i], method)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static boolean declares(final Class<?> type, final Method method) {
+      return ClassUtils.hasMethod(type, method.getName(), method.getParameterTypes());
+    }
+  }
+}
\ No newline at end of file
@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Getter
@@ -16,6 +17,7 @@ public class Category {
 
   @Id
   private String id;
+  @Indexed(unique = true)
   private String name;
 
   public Category(String name) {
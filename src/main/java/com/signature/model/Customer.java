@@ -1,17 +1,25 @@
 package com.signature.model;
 
-import lombok.AllArgsConstructor;
+import com.signature.util.SearchKeys;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Getter
 @Setter
 @Document
+@CompoundIndexes({
+    @CompoundIndex(name = "lastName_firstName", def = "{'lastName': 1, 'firstName': 1}"),
+    @CompoundIndex(name = "firstName_lastName", def = "{'firstName': 1, 'lastName': 1}"),
+    @CompoundIndex(name = "firstNameKey_lastNameKey", def = "{'firstNameKey': 1, 'lastNameKey': 1}"),
+    @CompoundIndex(name = "lastNameKey_firstNameKey", def = "{'lastNameKey': 1, 'firstNameKey': 1}")
+})
 @NoArgsConstructor
-@AllArgsConstructor
 public class Customer {
 
   @Id
@@ -19,8 +27,35 @@ public class Customer {
   private String firstName;
   private String lastName;
 
+  /**
+   * {@link SearchKeys#normalize Search keys} of the names, kept in step by the setters.
+   */
+  @Setter(AccessLevel.NONE)
+  private String firstNameKey;
+  @Setter(AccessLevel.NONE)
+  private String lastNameKey;
+
+  public Customer(String id, String firstName, String lastName) {
+    this.id = id;
+    setFirstName(firstName);
+    setLastName(lastName);
+  }
+
   public Customer(String firstName, String lastName) {
+    this(null, firstName, lastName);
+  }
+
+  public Customer copy() {
+    return new Customer(id, firstName, lastName);
+  }
+
+  public void setFirstName(String firstName) {
     this.firstName = firstName;
+    this.firstNameKey = SearchKeys.normalize(firstName);
+  }
+
+  public void setLastName(String lastName) {
     this.lastName = lastName;
+    this.lastNameKey = SearchKeys.normalize(lastName);
   }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.signature.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * The response to a request sent with an idempotency key, replayed when the request is retried. Stored without status
+ * while the original request is in progress. Removed by the TTL monitor once {@code expiresAt} has passed.
+ */
+@Getter
+@Setter
+@Document("idempotencyKeys")
+@NoArgsConstructor
+public class IdempotencyRecord {
+
+  @Id
+  private String id;
+  private String fingerprint;
+  private Integer status;
+  private String contentType;
+  private String location;
+  private byte[] body;
+  @Indexed(expireAfter = "0s")
+  private Date expiresAt;
+
+  public IdempotencyRecord(String id, String fingerprint, Date expiresAt) {
+    this.id = id;
+    this.fingerprint = fingerprint;
+    this.expiresAt = expiresAt;
+  }
+
+  public boolean isCompleted() {
+    return status != null;
+  }
+}
\ No newline at end of file
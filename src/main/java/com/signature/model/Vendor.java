@@ -21,4 +21,8 @@ public class Vendor {
   public Vendor(String name) {
     this.name = name;
   }
+
+  public Vendor copy() {
+    return new Vendor(id, name);
+  }
 }
\ No newline at end of file
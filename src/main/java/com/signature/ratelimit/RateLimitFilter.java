@@ -0,0 +1,232 @@
+package com.signature.ratelimit;
+
+import com.signature.config.AppProperties;
+import com.signature.exception.ErrorResponses;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Admits requests to {@code /api} through two token buckets: one per client and one per route, the method and path
+ * with ids replaced by {@code {id}}. The client bucket keeps a single integration from using up the capacity shared
+ * by all, the route bucket caps the load a route puts on the database whoever sends it. A rejected request gets
+ * {@code 429 Too Many Requests} with {@code Retry-After}.
+ * <p>
+ * A client is identified by its authenticated principal, or else by its address. The address is the remote address
+ * unless that is one of the trusted proxies, in which case it is the nearest untrusted hop of
+ * {@code X-Forwarded-For}. Without trusted proxies, every client behind a load balancer shares one bucket. Limits are
+ * best effort: a client rotating addresses gets a bucket per address, and once {@code max-buckets} are held new
+ * clients are admitted untracked, i.e. the limiter fails open rather than rejecting them.
+ * <p>
+ * Decisions are counted in {@code app.rate.limit.requests}, tagged with the {@code result}, and the buckets held in
+ * memory in {@code app.rate.limit.buckets}. The filter runs after the metrics filter, so rejections also show up in
+ * {@code http.server.requests}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "enabled")
+public class RateLimitFilter implements WebFilter, Ordered {
+
+  static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+  private static final String API_PATH = "/api/";
+  private static final int MAX_KEY_LENGTH = 128;
+  private static final int OBJECT_ID_LENGTH = 24;
+  private static final String ID_SEGMENT = "{id}";
+  private static final String FORWARDED_FOR = "X-Forwarded-For";
+  private static final String PRINCIPAL_PREFIX = "principal:";
+  private static final String UNKNOWN = "unknown";
+
+  private final LongSupplier nanoClock = System::nanoTime;
+  private final Set<String> trustedProxies;
+  private final TokenBuckets clients;
+  private final TokenBuckets routes;
+
+  private final Counter allowed;
+  private final Counter untracked;
+  private final Counter clientRejected;
+  private final Counter routeRejected;
+
+  public RateLimitFilter(final AppProperties appProperties, final MeterRegistry registry) {
+    final AppProperties.RateLimit rateLimit = appProperties.getRateLimit();
+    this.trustedProxies = Set.copyOf(rateLimit.getTrustedProxies());
+    this.clients = buckets(rateLimit, rateLimit.getClient());
+    this.routes = buckets(rateLimit, rateLimit.getRoute());
+
+    this.allowed = requests(registry, "allowed");
+    this.untracked = requests(registry, "untracked");
+    this.clientRejected = requests(registry, "client_rejected");
+    this.routeRejected = requests(registry, "route_rejected");
+    if (clients != null) {
+      Gauge.builder("app.rate.limit.buckets", clients, TokenBuckets::size)
+              .description("Token buckets held in memory")
+              .tag("limit", "client")
+              .register(registry);
+    }
+    if (routes != null) {
+      Gauge.builder("app.rate.limit.buckets", routes, TokenBuckets::size)
+              .description("Token buckets held in memory")
+              .tag("limit", "route")
+              .register(registry);
+    }
+  }
+
+  private TokenBuckets buckets(final AppProperties.RateLimit rateLimit, final AppProperties.Limit limit) {
+    if (limit.getRate() <= 0) {
+      return null;
+    }
+    return new TokenBuckets(limit.getRate(), limit.getBurst(), rateLimit.getMaxBuckets(),
+            rateLimit.getIdleTimeout(), nanoClock);
+  }
+
+  private static Counter requests(final MeterRegistry registry, final String result) {
+    return Counter.builder("app.rate.limit.requests")
+            .description("Requests to /api by admission decision")
+            .tag("result", result)
+            .register(registry);
+  }
+
+  @Override
+  public int getOrder() {
+    return ORDER;
+  }
+
+  @Override
+  public Mono<Void> filter(final ServerWebExchange exchange, final WebFilterChain chain) {
+    final ServerHttpRequest request = exchange.getRequest();
+    final String path = request.getPath().value();
+    if (!path.startsWith(API_PATH)) {
+      return chain.filter(exchange);
+    }
+    if (clients == null) {
+      return admit(exchange, chain, null);
+    }
+    return exchange.getPrincipal()
+            .map(principal -> PRINCIPAL_PREFIX + truncate(principal.getName()))
+            .defaultIfEmpty(addressKey(request))
+            .flatMap(client -> admit(exchange, chain, client));
+  }
+
+  private Mono<Void> admit(final ServerWebExchange exchange, final WebFilterChain chain, final String client) {
+    final ServerHttpRequest request = exchange.getRequest();
+    final long now = nanoClock.getAsLong();
+    long wait = client == null ? 0 : clients.tryAcquire(client, now);
+    if (wait > 0) {
+      clientRejected.increment();
+      return reject(exchange, wait, "Rate limit of the client exceeded");
+    }
+    boolean tracked = wait == 0;
+
+    if (routes != null) {
+      final String route = routeKey(request.getMethodValue(), request.getPath().value());
+      wait = routes.tryAcquire(route, now);
+      if (wait > 0) {
+        if (client != null && tracked) {
+          clients.release(client);
+        }
+        routeRejected.increment();
+        return reject(exchange, wait, "Rate limit of the route exceeded");
+      }
+      tracked &= wait == 0;
+    }
+
+    (tracked ? allowed : untracked).increment();
+    return chain.filter(exchange);
+  }
+
+  /**
+   * The remote address, or when that is a trusted proxy the nearest hop of {@code X-Forwarded-For} that is not. Hops
+   * are read right to left as each proxy appends the address it received the request from.
+   */
+  String addressKey(final ServerHttpRequest request) {
+    final InetSocketAddress remoteAddress = request.getRemoteAddress();
+    String address = remoteAddress == null || remoteAddress.getAddress() == null
+            ? UNKNOWN : remoteAddress.getAddress().getHostAddress();
+    if (!trustedProxies.contains(address)) {
+      return address;
+    }
+    final List<String> forwardedFor = request.getHeaders().get(FORWARDED_FOR);
+    if (forwardedFor == null) {
+      return address;
+    }
+    for (int i = forwardedFor.size() - 1; i >= 0; i--) {
+      final String[] hops = forwardedFor.get(i).split(",");
+      for (int j = hops.length - 1; j >= 0; j--) {
+        final String hop = hops[j].trim();
+        if (hop.isEmpty()) {
+          continue;
+        }
+        if (!trustedProxies.contains(hop)) {
+          return truncate(hop);
+        }
+        address = hop;
+      }
+    }
+    return address;
+  }
+
+  /**
+   * Method and path with every ObjectId segment replaced by {@code {id}}.
+   */
+  static String routeKey(final String method, final String path) {
+    final char[] route = new char[method.length() + 1 + path.length()];
+    method.getChars(0, method.length(), route, 0);
+    route[method.length()] = ' ';
+    int length = method.length() + 1;
+    int start = 0;
+    while (start < path.length()) {
+      int end = path.indexOf('/', start + 1);
+      if (end < 0) {
+        end = path.length();
+      }
+      if (isObjectId(path, start + 1, end)) {
+        route[length++] = '/';
+        ID_SEGMENT.getChars(0, ID_SEGMENT.length(), route, length);
+        length += ID_SEGMENT.length();
+      } else {
+        path.getChars(start, end, route, length);
+        length += end - start;
+      }
+      start = end;
+    }
+    return new String(route, 0, Math.min(length, MAX_KEY_LENGTH));
+  }
+
+  private static boolean isObjectId(final String path, final int start, final int end) {
+    if (end - start != OBJECT_ID_LENGTH) {
+      return false;
+    }
+    for (int i = start; i < end; i++) {
+      final char c = path.charAt(i);
+      if ((c < '0' || c > '9') && (c < 'a' || c > 'f') && (c < 'A' || c > 'F')) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String truncate(final String key) {
+    return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+  }
+
+  private static Mono<Void> reject(final ServerWebExchange exchange, final long waitNanos, final String message) {
+    final long seconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+    return ErrorResponses.write(exchange, HttpStatus.TOO_MANY_REQUESTS, message);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,144 @@
+package com.signature.ratelimit;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets by key, all with the same rate and burst.
+ * <p>
+ * A bucket is kept as its theoretical arrival time (GCRA), the instant at which it would be full again, so taking a
+ * token is one compare-and-set on a single long and a bucket is nothing but an {@link AtomicLong}. Buckets live in
+ * a fixed number of stripes, each holding at most its share of {@code maxBuckets}. A bucket whose arrival time has
+ * passed is full and can be dropped without changing any decision, so a stripe drops buckets that have been full for
+ * the idle timeout now and then, and all full ones when it runs out of room. When every bucket of a stripe is in use,
+ * a key without one is admitted untracked rather than evicting a bucket that is limiting someone.
+ */
+public class TokenBuckets {
+
+  /**
+   * Returned by {@link #tryAcquire} for requests admitted without a bucket.
+   */
+  public static final long UNTRACKED = -1;
+
+  private static final int STRIPES = 64;
+
+  private final long interval;
+  private final long tolerance;
+  private final int stripeCapacity;
+  private final long idleNanos;
+  private final Stripe[] stripes = new Stripe[STRIPES];
+
+  /**
+   * @param rate      tokens per second
+   * @param burst     tokens of a full bucket
+   * @param nanoClock the clock instants passed to {@link #tryAcquire} are read from
+   */
+  public TokenBuckets(final double rate, final int burst, final int maxBuckets, final Duration idleTimeout,
+                      final LongSupplier nanoClock) {
+    if (rate <= 0 || burst < 1) {
+      throw new IllegalArgumentException("rate and burst must be positive");
+    }
+    this.interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+    this.tolerance = interval * burst;
+    this.stripeCapacity = Math.max(1, maxBuckets / STRIPES);
+    this.idleNanos = idleTimeout.toNanos();
+    final long now = nanoClock.getAsLong();
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new Stripe(now);
+    }
+  }
+
+  /**
+   * Takes a token from the bucket of the key. The current instant is passed in, so one clock read serves several
+   * limits.
+   *
+   * @return 0 when a token was taken, {@link #UNTRACKED} when there was no room for a bucket, otherwise the
+   * nanoseconds until the next token is available
+   */
+  public long tryAcquire(final String key, final long now) {
+    final AtomicLong bucket = bucket(key, now);
+    if (bucket == null) {
+      return UNTRACKED;
+    }
+    while (true) {
+      final long arrival = bucket.get();
+      final long next = Math.max(arrival, now) + interval;
+      final long wait = next - now - tolerance;
+      if (wait > 0) {
+        return wait;
+      }
+      if (bucket.compareAndSet(arrival, next)) {
+        return 0;
+      }
+    }
+  }
+
+  /**
+   * Puts back a token taken by {@link #tryAcquire}, for a request that was rejected by another limit.
+   */
+  public void release(final String key) {
+    final AtomicLong bucket = stripe(key).buckets.get(key);
+    if (bucket != null) {
+      bucket.addAndGet(-interval);
+    }
+  }
+
+  public int size() {
+    int size = 0;
+    for (Stripe stripe : stripes) {
+      size += stripe.buckets.size();
+    }
+    return size;
+  }
+
+  private AtomicLong bucket(final String key, final long now) {
+    final Stripe stripe = stripe(key);
+    final AtomicLong bucket = stripe.buckets.get(key);
+    if (bucket != null) {
+      return bucket;
+    }
+
+    final long lastSweep = stripe.lastSweep.get();
+    if (now - lastSweep >= idleNanos && stripe.lastSweep.compareAndSet(lastSweep, now)) {
+      stripe.dropFullSince(now - idleNanos);
+    }
+    if (stripe.buckets.size() >= stripeCapacity) {
+      stripe.dropFullSince(now);
+      if (stripe.buckets.size() >= stripeCapacity) {
+        return null;
+      }
+    }
+    final AtomicLong created = new AtomicLong(now);
+    final AtomicLong winner = stripe.buckets.putIfAbsent(key, created);
+    return winner != null ? winner : created;
+  }
+
+  private Stripe stripe(final String key) {
+    final int hash = key.hashCode();
+    return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+  }
+
+  private static final class Stripe {
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep;
+
+    private Stripe(final long now) {
+      this.lastSweep = new AtomicLong(now);
+    }
+
+    private void dropFullSince(final long instant) {
+      final Iterator<AtomicLong> iterator = buckets.values().iterator();
+      while (iterator.hasNext()) {
+        if (iterator.next().get() - instant <= 0) {
+          iterator.remove();
+        }
+      }
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.signature.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BulkInsertResult {
+
+  public static final String DUPLICATE_ID = "Duplicate id";
+  public static final String INVALID_DOCUMENT = "Document failed validation";
+  public static final String WRITE_FAILED = "Write failed";
+
+  private final int index;
+  private final String id;
+  private final String error;
+
+  public boolean isInserted() {
+    return error == null;
+  }
+
+  public BulkInsertResult withOffset(final int offset) {
+    return new BulkInsertResult(offset + index, id, error);
+  }
+}
@@ -0,0 +1,71 @@
+package com.signature.repository;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.InsertManyOptions;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+final class BulkInserts {
+
+  private static final int DOCUMENT_VALIDATION_FAILURE = 121;
+
+  private BulkInserts() {
+  }
+
+  /**
+   * Writes all entities with one unordered {@code insertMany}. Ids are assigned before the write, so the result for
+   * every entity is known even when some of them are rejected by the server.
+   */
+  static <T> Flux<BulkInsertResult> insertUnordered(final ReactiveMongoTemplate mongoTemplate,
+                                                    final Class<T> entityClass,
+                                                    final List<T> entities,
+                                                    final Function<T, String> idGetter,
+                                                    final BiConsumer<T, String> idSetter) {
+    if (entities.isEmpty()) {
+      return Flux.empty();
+    }
+    return Mono.defer(() -> {
+      final List<Document> documents = new ArrayList<>(entities.size());
+      for (T entity : entities) {
+        if (idGetter.apply(entity) == null) {
+          idSetter.accept(entity, ObjectId.get().toHexString());
+        }
+        final Document document = new Document();
+        mongoTemplate.getConverter().write(entity, document);
+        documents.add(document);
+      }
+      return mongoTemplate.getCollection(mongoTemplate.getCollectionName(entityClass))
+              .flatMap(collection -> Mono.from(collection.insertMany(documents, new InsertManyOptions().ordered(false))))
+              .map(result -> Collections.<Integer, String>emptyMap())
+              .onErrorResume(MongoBulkWriteException.class, e -> Mono.just(e.getWriteErrors().stream()
+                      .collect(Collectors.toMap(BulkWriteError::getIndex, BulkInserts::describe))));
+    }).flatMapMany(errors -> Flux.range(0, entities.size()).map(index -> {
+      final String error = errors.get(index);
+      return new BulkInsertResult(index, error == null ? idGetter.apply(entities.get(index)) : null, error);
+    }));
+  }
+
+  /**
+   * A stable message for the error, since the server's message may quote the rejected document.
+   */
+  private static String describe(final BulkWriteError error) {
+    if (ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY) {
+      return BulkInsertResult.DUPLICATE_ID;
+    }
+    return error.getCode() == DOCUMENT_VALIDATION_FAILURE
+            ? BulkInsertResult.INVALID_DOCUMENT : BulkInsertResult.WRITE_FAILED;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.signature.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One change of a collection as reported by a change stream. The token resumes the stream right after this change.
+ */
+@Getter
+@AllArgsConstructor
+public class ChangeEvent<T> {
+
+  private final String token;
+  private final String operation;
+  private final String id;
+  private final T document;
+}
@@ -0,0 +1,62 @@
+package com.signature.repository;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+
+import java.util.Optional;
+
+final class ChangeStreams {
+
+  private static final String TOKEN_DATA = "_data";
+
+  private ChangeStreams() {
+  }
+
+  /**
+   * Opens a change stream on the collection of the given entity, right after {@code resumeAfter} if given. Updates
+   * carry the full document as it is after the change.
+   */
+  static <T> Flux<ChangeEvent<T>> open(final ReactiveMongoTemplate mongoTemplate,
+                                       final Class<T> entityClass,
+                                       final String resumeAfter) {
+    final ChangeStreamOptions.ChangeStreamOptionsBuilder options = ChangeStreamOptions.builder()
+            .returnFullDocumentOnUpdate();
+    if (resumeAfter != null) {
+      options.resumeAfter(new BsonDocument(TOKEN_DATA, new BsonString(resumeAfter)));
+    }
+    return mongoTemplate.changeStream(mongoTemplate.getCollectionName(entityClass), options.build(), entityClass)
+            .map(ChangeStreams::toChangeEvent);
+  }
+
+  private static <T> ChangeEvent<T> toChangeEvent(final ChangeStreamEvent<T> event) {
+    final OperationType operationType = event.getOperationType();
+    return new ChangeEvent<>(tokenOf(event.getResumeToken()),
+            operationType == null ? null : operationType.getValue(),
+            Optional.ofNullable(event.getRaw())
+                    .map(ChangeStreamDocument::getDocumentKey)
+                    .map(key -> key.get("_id"))
+                    .map(ChangeStreams::idOf)
+                    .orElse(null),
+            event.getBody());
+  }
+
+  private static String tokenOf(final BsonValue resumeToken) {
+    if (resumeToken == null || !resumeToken.isDocument()) {
+      return null;
+    }
+    final BsonValue data = resumeToken.asDocument().get(TOKEN_DATA);
+    return data != null && data.isString() ? data.asString().getValue() : null;
+  }
+
+  private static String idOf(final BsonValue id) {
+    return id instanceof BsonObjectId ? ((BsonObjectId) id).getValue().toHexString() : id.toString();
+  }
+}
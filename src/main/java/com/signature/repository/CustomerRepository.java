@@ -5,6 +5,6 @@ import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface CustomerRepository extends ReactiveMongoRepository<Customer, String> {
+public interface CustomerRepository extends ReactiveMongoRepository<Customer, String>, CustomerRepositoryCustom {
 
 }
\ No newline at end of file
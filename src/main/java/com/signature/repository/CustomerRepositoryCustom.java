@@ -0,0 +1,42 @@
+package com.signature.repository;
+
+import com.signature.model.Customer;
+import com.signature.util.FieldSelection;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CustomerRepositoryCustom {
+
+  Flux<Customer> findPageAfter(String afterId, int limit, FieldSelection fields);
+
+  Flux<Customer> findAllProjected(FieldSelection fields);
+
+  Mono<Customer> findByIdProjected(String id, FieldSelection fields);
+
+  Flux<Customer> findAllByIdProjected(Collection<String> ids, FieldSelection fields);
+
+  Flux<Customer> streamAll(int batchSize);
+
+  /**
+   * Customers whose first or last name starts with the given search key, or whose first and last name start with its
+   * two words in either order, without the search keys.
+   */
+  Flux<Customer> findByNamePrefix(String prefixKey, int limit);
+
+  /**
+   * Stores the search keys of customers written before they were introduced, returning the number updated.
+   */
+  Mono<Long> backfillSearchKeys(int batchSize);
+
+  Mono<Long> estimatedCount();
+
+  Mono<Customer> findAndUpdate(String id, Update update);
+
+  Flux<BulkInsertResult> insertUnordered(List<Customer> customers);
+
+  Flux<ChangeEvent<Customer>> changeStream(String resumeAfter);
+}
\ No newline at end of file
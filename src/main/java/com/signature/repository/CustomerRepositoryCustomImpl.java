@@ -0,0 +1,136 @@
+package com.signature.repository;
+
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.signature.model.Customer;
+import com.signature.util.FieldSelection;
+import com.signature.util.SearchKeys;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public class CustomerRepositoryCustomImpl implements CustomerRepositoryCustom {
+
+  private static final Set<String> STORED_FIELDS = Set.of("firstName", "lastName");
+  private static final String FIRST_NAME_KEY = "firstNameKey";
+  private static final String LAST_NAME_KEY = "lastNameKey";
+
+  private final ReactiveMongoTemplate mongoTemplate;
+
+  public CustomerRepositoryCustomImpl(final ReactiveMongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  @Override
+  public Flux<Customer> findPageAfter(final String afterId, final int limit, final FieldSelection fields) {
+    final Query query = new Query().with(Sort.by(Sort.Direction.ASC, "id")).limit(limit);
+    if (afterId != null) {
+      query.addCriteria(Criteria.where("id").gt(new ObjectId(afterId)));
+    }
+    return mongoTemplate.find(fields.applyTo(query, STORED_FIELDS), Customer.class);
+  }
+
+  @Override
+  public Flux<Customer> findAllProjected(final FieldSelection fields) {
+    return mongoTemplate.find(fields.applyTo(new Query(), STORED_FIELDS), Customer.class);
+  }
+
+  @Override
+  public Mono<Customer> findByIdProjected(final String id, final FieldSelection fields) {
+    return mongoTemplate.findOne(fields.applyTo(Query.query(Criteria.where("id").is(id)), STORED_FIELDS),
+            Customer.class);
+  }
+
+  @Override
+  public Flux<Customer> findAllByIdProjected(final Collection<String> ids, final FieldSelection fields) {
+    return mongoTemplate.find(fields.applyTo(Query.query(Criteria.where("id").in(ids)), STORED_FIELDS), Customer.class);
+  }
+
+  @Override
+  public Flux<Customer> streamAll(final int batchSize) {
+    return mongoTemplate.find(new Query().cursorBatchSize(batchSize), Customer.class);
+  }
+
+  @Override
+  public Flux<Customer> findByNamePrefix(final String prefixKey, final int limit) {
+    final List<Criteria> alternatives = new ArrayList<>(List.of(
+            Criteria.where(FIRST_NAME_KEY).regex(startsWith(prefixKey)),
+            Criteria.where(LAST_NAME_KEY).regex(startsWith(prefixKey))));
+    final int space = prefixKey.indexOf(' ');
+    if (space > 0) {
+      final Pattern first = startsWith(prefixKey.substring(0, space));
+      final Pattern second = startsWith(prefixKey.substring(space + 1));
+      alternatives.add(Criteria.where(FIRST_NAME_KEY).regex(first).and(LAST_NAME_KEY).regex(second));
+      alternatives.add(Criteria.where(LAST_NAME_KEY).regex(first).and(FIRST_NAME_KEY).regex(second));
+    }
+    final Query query = Query.query(new Criteria().orOperator(alternatives)).limit(limit);
+    query.fields().include("firstName", "lastName");
+    return mongoTemplate.find(query, Customer.class);
+  }
+
+  /**
+   * Anchored and case-sensitive, so the server scans only the index range of the prefix.
+   */
+  private static Pattern startsWith(final String prefix) {
+    return Pattern.compile("^" + Pattern.quote(prefix));
+  }
+
+  /**
+   * Each update is conditioned on the names that were read, so a rename made meanwhile keeps the keys it wrote.
+   */
+  @Override
+  public Mono<Long> backfillSearchKeys(final int batchSize) {
+    final Query missing = Query.query(new Criteria().orOperator(
+            Criteria.where(FIRST_NAME_KEY).exists(false), Criteria.where(LAST_NAME_KEY).exists(false)));
+    missing.fields().include("firstName", "lastName");
+    return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Customer.class))
+            .flatMap(collection -> mongoTemplate.find(missing.cursorBatchSize(batchSize), Customer.class)
+                    .map(customer -> new UpdateOneModel<Document>(
+                            Filters.and(
+                                    Filters.eq("_id", mongoTemplate.getConverter().convertId(customer.getId(),
+                                            ObjectId.class)),
+                                    Filters.eq("firstName", customer.getFirstName()),
+                                    Filters.eq("lastName", customer.getLastName())),
+                            Updates.combine(Updates.set(FIRST_NAME_KEY, SearchKeys.normalize(customer.getFirstName())),
+                                    Updates.set(LAST_NAME_KEY, SearchKeys.normalize(customer.getLastName())))))
+                    .buffer(batchSize)
+                    .concatMap(updates -> collection.bulkWrite(updates, new BulkWriteOptions().ordered(false)))
+                    .reduce(0L, (updated, result) -> updated + result.getModifiedCount()));
+  }
+
+  @Override
+  public Mono<Long> estimatedCount() {
+    return mongoTemplate.estimatedCount(Customer.class);
+  }
+
+  @Override
+  public Mono<Customer> findAndUpdate(final String id, final Update update) {
+    return mongoTemplate.findAndModify(Query.query(Criteria.where("id").is(id)), update,
+            FindAndModifyOptions.options().returnNew(true), Customer.class);
+  }
+
+  @Override
+  public Flux<BulkInsertResult> insertUnordered(final List<Customer> customers) {
+    return BulkInserts.insertUnordered(mongoTemplate, Customer.class, customers, Customer::getId, Customer::setId);
+  }
+
+  @Override
+  public Flux<ChangeEvent<Customer>> changeStream(final String resumeAfter) {
+    return ChangeStreams.open(mongoTemplate, Customer.class, resumeAfter);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.signature.repository;
+
+import com.signature.model.IdempotencyRecord;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IdempotencyRecordRepository extends ReactiveMongoRepository<IdempotencyRecord, String> {
+}
\ No newline at end of file
@@ -5,6 +5,6 @@ import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface VendorRepository extends ReactiveMongoRepository<Vendor, String> {
+public interface VendorRepository extends ReactiveMongoRepository<Vendor, String>, VendorRepositoryCustom {
 
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.signature.repository;
+
+import com.signature.model.Vendor;
+import com.signature.util.FieldSelection;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface VendorRepositoryCustom {
+
+  Flux<Vendor> findPageAfter(String afterId, int limit, FieldSelection fields);
+
+  Flux<Vendor> findAllProjected(FieldSelection fields);
+
+  Mono<Vendor> findByIdProjected(String id, FieldSelection fields);
+
+  Flux<Vendor> findAllByIdProjected(Collection<String> ids, FieldSelection fields);
+
+  Flux<Vendor> streamAll(int batchSize);
+
+  Mono<Long> estimatedCount();
+
+  Mono<Vendor> findAndUpdate(String id, Update update);
+
+  Flux<BulkInsertResult> insertUnordered(List<Vendor> vendors);
+
+  Flux<ChangeEvent<Vendor>> changeStream(String resumeAfter);
+}
\ No newline at end of file
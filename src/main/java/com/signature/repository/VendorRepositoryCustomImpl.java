@@ -0,0 +1,78 @@
+package com.signature.repository;
+
+import com.signature.model.Vendor;
+import com.signature.util.FieldSelection;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public class VendorRepositoryCustomImpl implements VendorRepositoryCustom {
+
+  private static final Set<String> STORED_FIELDS = Set.of("name");
+
+  private final ReactiveMongoTemplate mongoTemplate;
+
+  public VendorRepositoryCustomImpl(final ReactiveMongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  @Override
+  public Flux<Vendor> findPageAfter(final String afterId, final int limit, final FieldSelection fields) {
+    final Query query = new Query().with(Sort.by(Sort.Direction.ASC, "id")).limit(limit);
+    if (afterId != null) {
+      query.addCriteria(Criteria.where("id").gt(new ObjectId(afterId)));
+    }
+    return mongoTemplate.find(fields.applyTo(query, STORED_FIELDS), Vendor.class);
+  }
+
+  @Override
+  public Flux<Vendor> findAllProjected(final FieldSelection fields) {
+    return mongoTemplate.find(fields.applyTo(new Query(), STORED_FIELDS), Vendor.class);
+  }
+
+  @Override
+  public Mono<Vendor> findByIdProjected(final String id, final FieldSelection fields) {
+    return mongoTemplate.findOne(fields.applyTo(Query.query(Criteria.where("id").is(id)), STORED_FIELDS), Vendor.class);
+  }
+
+  @Override
+  public Flux<Vendor> findAllByIdProjected(final Collection<String> ids, final FieldSelection fields) {
+    return mongoTemplate.find(fields.applyTo(Query.query(Criteria.where("id").in(ids)), STORED_FIELDS), Vendor.class);
+  }
+
+  @Override
+  public Flux<Vendor> streamAll(final int batchSize) {
+    return mongoTemplate.find(new Query().cursorBatchSize(batchSize), Vendor.class);
+  }
+
+  @Override
+  public Mono<Long> estimatedCount() {
+    return mongoTemplate.estimatedCount(Vendor.class);
+  }
+
+  @Override
+  public Mono<Vendor> findAndUpdate(final String id, final Update update) {
+    return mongoTemplate.findAndModify(Query.query(Criteria.where("id").is(id)), update,
+            FindAndModifyOptions.options().returnNew(true), Vendor.class);
+  }
+
+  @Override
+  public Flux<BulkInsertResult> insertUnordered(final List<Vendor> vendors) {
+    return BulkInserts.insertUnordered(mongoTemplate, Vendor.class, vendors, Vendor::getId, Vendor::setId);
+  }
+
+  @Override
+  public Flux<ChangeEvent<Vendor>> changeStream(final String resumeAfter) {
+    return ChangeStreams.open(mongoTemplate, Vendor.class, resumeAfter);
+  }
+}
\ No newline at end of file
@@ -1,22 +1,54 @@
 package com.signature.service;
 
 import com.signature.model.Customer;
+import com.signature.repository.BulkInsertResult;
+import com.signature.repository.ChangeEvent;
+import com.signature.util.FieldSelection;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CustomerService {
 
   Mono<Customer> addCustomer(Customer customer);
 
+  /**
+   * Hands a copy of the customer with a new id to the write-behind buffer, completing once buffered or once written
+   * depending on the configured durability; it is cached only once written. Saved right away when write-behind is
+   * disabled.
+   */
+  Mono<Customer> bufferCustomer(Customer customer);
+
+  Flux<BulkInsertResult> addCustomers(Flux<Customer> customers);
+
   Mono<Customer> updateCustomer(Customer customer);
 
   Mono<Customer> patchCustomer(Customer customer);
 
   Mono<Customer> getCustomer(String customerId);
 
+  Mono<Customer> getCustomer(String customerId, FieldSelection fields);
+
+  Flux<Customer> getCustomers(Collection<String> customerIds, FieldSelection fields);
+
   Flux<Customer> getAllCustomers();
 
+  Flux<Customer> getAllCustomers(FieldSelection fields);
+
+  Flux<Customer> streamAllCustomers();
+
+  /**
+   * Customers whose first or last name, or both, start with the query, ignoring case and accents.
+   */
+  Flux<Customer> searchCustomers(String query, int limit);
+
+  Flux<Customer> getCustomerPage(String afterId, int limit, FieldSelection fields);
+
+  Mono<Long> getEstimatedCustomerCount();
+
   Mono<Void> deleteCustomer(String customerId);
-}
+
+  Flux<ChangeEvent<Customer>> getCustomerChanges(String resumeAfter);
+}
\ No newline at end of file
@@ -1,22 +1,48 @@
 package com.signature.service;
 
 import com.signature.model.Vendor;
+import com.signature.repository.BulkInsertResult;
+import com.signature.repository.ChangeEvent;
+import com.signature.util.FieldSelection;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface VendorService {
 
   Mono<Vendor> addVendor(Vendor vendor);
 
+  Flux<BulkInsertResult> addVendors(Flux<Vendor> vendors);
+
   Mono<Vendor> updateVendor(Vendor vendor);
 
   Mono<Vendor> patchVendor(Vendor vendor);
 
   Mono<Vendor> getVendor(String vendorId);
 
+  Mono<Vendor> getVendor(String vendorId, FieldSelection fields);
+
+  Flux<Vendor> getVendors(Collection<String> vendorIds, FieldSelection fields);
+
   Flux<Vendor> getAllVendors();
 
+  Flux<Vendor> getAllVendors(FieldSelection fields);
+
+  Flux<Vendor> streamAllVendors();
+
+  /**
+   * Vendors whose name starts with the prefix, ignoring case and accents, from the in-memory name index. Empty until
+   * the index has been loaded.
+   */
+  Flux<Vendor> suggestVendors(String prefix, int limit);
+
+  Flux<Vendor> getVendorPage(String afterId, int limit, FieldSelection fields);
+
+  Mono<Long> getEstimatedVendorCount();
+
   Mono<Void> deleteVendor(String vendorId);
+
+  Flux<ChangeEvent<Vendor>> getVendorChanges(String resumeAfter);
 }
\ No newline at end of file
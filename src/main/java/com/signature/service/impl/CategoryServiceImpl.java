@@ -1,8 +1,8 @@
 package com.signature.service.impl;
 
+import com.signature.catalog.CategoryCatalog;
 import com.signature.exception.ResourceNotFoundException;
 import com.signature.model.Category;
-import com.signature.repository.CategoryRepository;
 import com.signature.service.CategoryService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -13,26 +13,26 @@ import reactor.core.publisher.Mono;
 @Service
 public class CategoryServiceImpl implements CategoryService {
 
-  private final CategoryRepository categoryRepository;
+  private final CategoryCatalog categoryCatalog;
 
-  public CategoryServiceImpl(final CategoryRepository categoryRepository) {
-    this.categoryRepository = categoryRepository;
+  public CategoryServiceImpl(final CategoryCatalog categoryCatalog) {
+    this.categoryCatalog = categoryCatalog;
   }
 
   @Override
   public Mono<Category> getByName(String name) {
-    return categoryRepository.findByName(name)
-            .switchIfEmpty(Mono.error(new ResourceNotFoundException("Category with name " + name + " not found")));
+    return categoryCatalog.findByName(name)
+            .switchIfEmpty(Mono.error(() -> ResourceNotFoundException.of("Category", "name", name)));
   }
 
   @Override
   public Mono<Category> getById(String id) {
-    return categoryRepository.findById(id)
-            .switchIfEmpty(Mono.error(new ResourceNotFoundException("Category with id " + id + " not found")));
+    return categoryCatalog.findById(id)
+            .switchIfEmpty(Mono.error(() -> ResourceNotFoundException.of("Category", "id", id)));
   }
 
   @Override
   public Flux<Category> getAll() {
-    return categoryRepository.findAll();
+    return categoryCatalog.findAll();
   }
 }
\ No newline at end of file
@@ -1,55 +1,160 @@
 package com.signature.service.impl;
 
+import com.signature.config.AppProperties;
+import com.signature.exception.InvalidRequestException;
 import com.signature.exception.ResourceNotFoundException;
 import com.signature.model.Customer;
+import com.signature.repository.BulkInsertResult;
+import com.signature.repository.ChangeEvent;
 import com.signature.repository.CustomerRepository;
 import com.signature.service.CustomerService;
+import com.signature.util.BatchLoader;
+import com.signature.util.ChangeFeed;
+import com.signature.util.FieldSelection;
+import com.signature.util.IdList;
+import com.signature.util.ReadThroughCache;
+import com.signature.util.SearchKeys;
+import com.signature.util.SingleFlight;
+import com.signature.util.WriteBehindBuffer;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class CustomerServiceImpl implements CustomerService {
 
+  private static final int STREAM_BATCH_SIZE = 256;
+
   private final CustomerRepository customerRepository;
+  private final AppProperties.Batch batchProperties;
+  private final ChangeFeed<Customer> changeFeed;
+  private final Function<String, Mono<Customer>> findById;
+  private final ReadThroughCache<String, Customer> cache;
+  private final SingleFlight<String, Customer> lookups = new SingleFlight<>("customers", Metrics.globalRegistry);
+  private final WriteBehindBuffer<Customer> writeBehind;
+  private final Duration drainTimeout;
 
-  public CustomerServiceImpl(CustomerRepository customerRepository) {
+  public CustomerServiceImpl(CustomerRepository customerRepository,
+                             AppProperties appProperties) {
     this.customerRepository = customerRepository;
+    this.batchProperties = appProperties.getBatch();
+    this.changeFeed = new ChangeFeed<>(customerRepository::changeStream,
+            appProperties.getChangeFeed().getHistorySize(), appProperties.getChangeFeed().getGracePeriod());
+    this.cache = new ReadThroughCache<>("customers", appProperties.getCache().getMaximumSize(),
+            appProperties.getCache().getExpireAfterWrite(), Customer::copy, Metrics.globalRegistry);
+
+    final AppProperties.BatchLoader batchLoader = appProperties.getBatchLoader();
+    if (batchLoader.getWindow().isZero()) {
+      this.findById = customerRepository::findById;
+    } else {
+      this.findById = new BatchLoader<>(customerRepository::findAllById, Customer::getId,
+              batchLoader.getWindow(), batchLoader.getMaxBatchSize(), Schedulers.parallel())::load;
+    }
+
+    final AppProperties.WriteBehind writeBehind = appProperties.getWriteBehind();
+    this.drainTimeout = writeBehind.getDrainTimeout();
+    if (writeBehind.isEnabled()) {
+      this.writeBehind = new WriteBehindBuffer<>("customers", writeBehind.getCapacity(),
+              writeBehind.getMaxBatchSize(), writeBehind.getFlushInterval(),
+              writeBehind.getDurability() == AppProperties.WriteBehind.Durability.WRITTEN,
+              customerRepository::insertUnordered, this::refreshCache, customer -> { },
+              Schedulers.parallel(), Metrics.globalRegistry);
+    } else {
+      this.writeBehind = null;
+    }
+  }
+
+  @PreDestroy
+  public void drainWriteBehind() {
+    if (writeBehind != null) {
+      writeBehind.close(drainTimeout);
+    }
   }
 
   @Override
   public Mono<Customer> addCustomer(Customer customer) {
-    return customerRepository.save(customer);
+    return customerRepository.save(customer).doOnNext(this::refreshCache);
+  }
+
+  @Override
+  public Mono<Customer> bufferCustomer(Customer customer) {
+    if (writeBehind == null) {
+      return addCustomer(customer);
+    }
+    return writeBehind.add(new Customer(ObjectId.get().toHexString(), customer.getFirstName(), customer.getLastName()));
+  }
+
+  @Override
+  public Flux<BulkInsertResult> addCustomers(Flux<Customer> customers) {
+    final int chunkSize = batchProperties.getChunkSize();
+    return customers.buffer(chunkSize)
+            .index()
+            .flatMapSequential(chunk -> customerRepository.insertUnordered(chunk.getT2())
+                            .map(result -> result.withOffset(Math.toIntExact(chunk.getT1() * chunkSize))),
+                    batchProperties.getConcurrency());
   }
 
   @Override
   public Mono<Customer> updateCustomer(Customer customer) {
-    return customerRepository.save(customer);
+    return customerRepository.save(customer).doOnNext(this::refreshCache);
   }
 
   @Override
   public Mono<Customer> patchCustomer(Customer customer) {
-    return getCustomer(customer.getId())
-            .switchIfEmpty(Mono.error(new ResourceNotFoundException("Customer with id " + customer.getId() + " not found")))
-            .flatMap((Function<Customer, Mono<Customer>>) existingCustomer -> {
-              if (customer.getFirstName() != null) {
-                existingCustomer.setFirstName(customer.getFirstName());
-              }
-              if (customer.getLastName() != null) {
-                existingCustomer.setLastName(customer.getLastName());
-              }
-              return customerRepository.save(existingCustomer);
-            });
+    final Update update = new Update();
+    if (customer.getFirstName() != null) {
+      update.set("firstName", customer.getFirstName()).set("firstNameKey", customer.getFirstNameKey());
+    }
+    if (customer.getLastName() != null) {
+      update.set("lastName", customer.getLastName()).set("lastNameKey", customer.getLastNameKey());
+    }
+
+    if (update.getUpdateObject().isEmpty()) {
+      return getCustomer(customer.getId());
+    }
+    return customerRepository.findAndUpdate(customer.getId(), update)
+            .switchIfEmpty(Mono.error(() -> ResourceNotFoundException.of("Customer", "id", customer.getId())))
+            .doOnNext(this::refreshCache);
   }
 
   @Override
   public Mono<Customer> getCustomer(String customerId) {
-    return customerRepository.findById(customerId)
-            .switchIfEmpty(Mono.error(new ResourceNotFoundException("Customer with id " + customerId + " not found")));
+    return cache.get(IdList.normalize(customerId), id -> lookups.execute(id, findById))
+            .switchIfEmpty(Mono.error(() -> ResourceNotFoundException.of("Customer", "id", customerId)));
+  }
+
+  @Override
+  public Mono<Customer> getCustomer(String customerId, FieldSelection fields) {
+    if (fields.isAll()) {
+      return getCustomer(customerId);
+    }
+    return customerRepository.findByIdProjected(IdList.normalize(customerId), fields)
+            .switchIfEmpty(Mono.error(() -> ResourceNotFoundException.of("Customer", "id", customerId)));
+  }
+
+  @Override
+  public Flux<Customer> getCustomers(Collection<String> customerIds, FieldSelection fields) {
+    final List<String> ids = customerIds.stream().map(IdList::normalize).collect(Collectors.toList());
+    return customerRepository.findAllByIdProjected(ids, fields)
+            .collectMap(Customer::getId)
+            .flatMapIterable(found -> ids.stream()
+                    .map(found::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList()));
   }
 
   @Override
@@ -57,8 +162,47 @@ public class CustomerServiceImpl implements CustomerService {
     return customerRepository.findAll();
   }
 
+  @Override
+  public Flux<Customer> getAllCustomers(FieldSelection fields) {
+    return fields.isAll() ? getAllCustomers() : customerRepository.findAllProjected(fields);
+  }
+
+  @Override
+  public Flux<Customer> streamAllCustomers() {
+    return customerRepository.streamAll(STREAM_BATCH_SIZE).limitRate(STREAM_BATCH_SIZE);
+  }
+
+  @Override
+  public Flux<Customer> searchCustomers(String query, int limit) {
+    final String prefixKey = SearchKeys.normalize(query);
+    if (prefixKey == null || prefixKey.isEmpty()) {
+      return Flux.error(new InvalidRequestException("A search query is required"));
+    }
+    return customerRepository.findByNamePrefix(prefixKey, limit);
+  }
+
+  @Override
+  public Flux<Customer> getCustomerPage(String afterId, int limit, FieldSelection fields) {
+    return customerRepository.findPageAfter(afterId, limit, fields);
+  }
+
+  @Override
+  public Mono<Long> getEstimatedCustomerCount() {
+    return customerRepository.estimatedCount();
+  }
+
   @Override
   public Mono<Void> deleteCustomer(String customerId) {
-    return customerRepository.deleteById(customerId);
+    final String id = IdList.normalize(customerId);
+    return customerRepository.deleteById(id).doFinally(signal -> cache.invalidate(id));
+  }
+
+  @Override
+  public Flux<ChangeEvent<Customer>> getCustomerChanges(String resumeAfter) {
+    return changeFeed.changes(resumeAfter);
+  }
+
+  private void refreshCache(Customer customer) {
+    cache.put(IdList.normalize(customer.getId()), customer);
   }
 }
\ No newline at end of file
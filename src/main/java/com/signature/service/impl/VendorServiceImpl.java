@@ -1,49 +1,128 @@
 package com.signature.service.impl;
 
+import com.signature.catalog.VendorNameIndex;
+import com.signature.config.AppProperties;
+import com.signature.exception.InvalidRequestException;
 import com.signature.exception.ResourceNotFoundException;
 import com.signature.model.Vendor;
+import com.signature.repository.BulkInsertResult;
+import com.signature.repository.ChangeEvent;
 import com.signature.repository.VendorRepository;
 import com.signature.service.VendorService;
+import com.signature.util.BatchLoader;
+import com.signature.util.ChangeFeed;
+import com.signature.util.FieldSelection;
+import com.signature.util.IdList;
+import com.signature.util.PrefixIndex;
+import com.signature.util.ReadThroughCache;
+import com.signature.util.SearchKeys;
+import com.signature.util.SingleFlight;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class VendorServiceImpl implements VendorService {
 
+  private static final int STREAM_BATCH_SIZE = 256;
+
   private final VendorRepository vendorRepository;
+  private final AppProperties.Batch batchProperties;
+  private final ChangeFeed<Vendor> changeFeed;
+  private final Function<String, Mono<Vendor>> findById;
+  private final ReadThroughCache<String, Vendor> cache;
+  private final SingleFlight<String, Vendor> lookups = new SingleFlight<>("vendors", Metrics.globalRegistry);
+  private final VendorNameIndex nameIndex;
 
-  public VendorServiceImpl(VendorRepository vendorRepository) {
+  public VendorServiceImpl(VendorRepository vendorRepository,
+                           VendorNameIndex nameIndex,
+                           AppProperties appProperties) {
     this.vendorRepository = vendorRepository;
+    this.nameIndex = nameIndex;
+    this.batchProperties = appProperties.getBatch();
+    this.changeFeed = new ChangeFeed<>(vendorRepository::changeStream,
+            appProperties.getChangeFeed().getHistorySize(), appProperties.getChangeFeed().getGracePeriod());
+    this.cache = new ReadThroughCache<>("vendors", appProperties.getCache().getMaximumSize(),
+            appProperties.getCache().getExpireAfterWrite(), Vendor::copy, Metrics.globalRegistry);
+
+    final AppProperties.BatchLoader batchLoader = appProperties.getBatchLoader();
+    if (batchLoader.getWindow().isZero()) {
+      this.findById = vendorRepository::findById;
+    } else {
+      this.findById = new BatchLoader<>(vendorRepository::findAllById, Vendor::getId,
+              batchLoader.getWindow(), batchLoader.getMaxBatchSize(), Schedulers.parallel())::load;
+    }
   }
 
   @Override
   public Mono<Vendor> addVendor(Vendor vendor) {
-    return vendorRepository.save(vendor);
+    return vendorRepository.save(vendor).doOnNext(this::refreshCaches);
+  }
+
+  @Override
+  public Flux<BulkInsertResult> addVendors(Flux<Vendor> vendors) {
+    final int chunkSize = batchProperties.getChunkSize();
+    return vendors.buffer(chunkSize)
+            .index()
+            .flatMapSequential(chunk -> vendorRepository.insertUnordered(chunk.getT2())
+                            .collectList()
+                            .doOnNext(results -> indexNames(chunk.getT2(), results))
+                            .flatMapIterable(results -> results)
+                            .map(result -> result.withOffset(Math.toIntExact(chunk.getT1() * chunkSize))),
+                    batchProperties.getConcurrency());
   }
 
   @Override
   public Mono<Vendor> updateVendor(Vendor vendor) {
-    return vendorRepository.save(vendor);
+    return vendorRepository.save(vendor).doOnNext(this::refreshCaches);
   }
 
   @Override
   public Mono<Vendor> patchVendor(Vendor vendor) {
-    return getVendor(vendor.getId())
-            .switchIfEmpty(Mono.error(new ResourceNotFoundException("Vendor with id " + vendor.getId() + " not found")))
-            .flatMap(existingVendor -> {
-              if (vendor.getName() != null)
-                existingVendor.setName(vendor.getName());
-              return vendorRepository.save(existingVendor);
-            });
+    if (vendor.getName() == null) {
+      return getVendor(vendor.getId());
+    }
+    return vendorRepository.findAndUpdate(vendor.getId(), new Update().set("name", vendor.getName()))
+            .switchIfEmpty(Mono.error(() -> ResourceNotFoundException.of("Vendor", "id", vendor.getId())))
+            .doOnNext(this::refreshCaches);
   }
 
   @Override
   public Mono<Vendor> getVendor(String vendorId) {
-    return vendorRepository.findById(vendorId)
-            .switchIfEmpty(Mono.error(new ResourceNotFoundException("Vendor with id " + vendorId + " not found")));
+    return cache.get(IdList.normalize(vendorId), id -> lookups.execute(id, findById))
+            .switchIfEmpty(Mono.error(() -> ResourceNotFoundException.of("Vendor", "id", vendorId)));
+  }
+
+  @Override
+  public Mono<Vendor> getVendor(String vendorId, FieldSelection fields) {
+    if (fields.isAll()) {
+      return getVendor(vendorId);
+    }
+    return vendorRepository.findByIdProjected(IdList.normalize(vendorId), fields)
+            .switchIfEmpty(Mono.error(() -> ResourceNotFoundException.of("Vendor", "id", vendorId)));
+  }
+
+  @Override
+  public Flux<Vendor> getVendors(Collection<String> vendorIds, FieldSelection fields) {
+    final List<String> ids = vendorIds.stream().map(IdList::normalize).collect(Collectors.toList());
+    return vendorRepository.findAllByIdProjected(ids, fields)
+            .collectMap(Vendor::getId)
+            .flatMapIterable(found -> ids.stream()
+                    .map(found::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList()));
   }
 
   @Override
@@ -51,8 +130,62 @@ public class VendorServiceImpl implements VendorService {
     return vendorRepository.findAll();
   }
 
+  @Override
+  public Flux<Vendor> getAllVendors(FieldSelection fields) {
+    return fields.isAll() ? getAllVendors() : vendorRepository.findAllProjected(fields);
+  }
+
+  @Override
+  public Flux<Vendor> streamAllVendors() {
+    return vendorRepository.streamAll(STREAM_BATCH_SIZE).limitRate(STREAM_BATCH_SIZE);
+  }
+
+  @Override
+  public Flux<Vendor> suggestVendors(String prefix, int limit) {
+    final String prefixKey = SearchKeys.normalize(prefix);
+    if (prefixKey == null || prefixKey.isEmpty()) {
+      return Flux.error(new InvalidRequestException("A prefix is required"));
+    }
+    return Flux.defer(() -> Flux.fromIterable(nameIndex.find(prefixKey, limit)))
+            .map(entry -> new Vendor(entry.getId(), entry.getLabel()));
+  }
+
+  @Override
+  public Flux<Vendor> getVendorPage(String afterId, int limit, FieldSelection fields) {
+    return vendorRepository.findPageAfter(afterId, limit, fields);
+  }
+
+  @Override
+  public Mono<Long> getEstimatedVendorCount() {
+    return vendorRepository.estimatedCount();
+  }
+
   @Override
   public Mono<Void> deleteVendor(String vendorId) {
-    return vendorRepository.deleteById(vendorId);
+    final String id = IdList.normalize(vendorId);
+    return vendorRepository.deleteById(id)
+            .doOnSuccess(deleted -> nameIndex.remove(id))
+            .doFinally(signal -> cache.invalidate(id));
+  }
+
+  @Override
+  public Flux<ChangeEvent<Vendor>> getVendorChanges(String resumeAfter) {
+    return changeFeed.changes(resumeAfter);
+  }
+
+  private void refreshCaches(Vendor vendor) {
+    final String id = IdList.normalize(vendor.getId());
+    cache.put(id, vendor);
+    nameIndex.put(id, vendor.getName());
+  }
+
+  private void indexNames(List<Vendor> vendors, List<BulkInsertResult> results) {
+    final List<PrefixIndex.Entry> entries = new ArrayList<>(results.size());
+    for (BulkInsertResult result : results) {
+      if (result.isInserted()) {
+        entries.add(new PrefixIndex.Entry(result.getId(), vendors.get(result.getIndex()).getName()));
+      }
+    }
+    nameIndex.putAll(entries);
   }
 }
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.signature.util;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Batches point lookups in the style of DataLoader.
+ * <p>
+ * Keys requested within {@code window} of the first key of a batch are resolved together with one call of the batch
+ * lookup, which happens earlier once {@code maxBatchSize} distinct keys are waiting. Each result is handed to the
+ * callers of its key; keys without a result complete empty and a failed batch fails all of its callers. A key whose
+ * callers have all cancelled is left out of the lookup, and a lookup is not made, or is cancelled, once no key is left.
+ */
+public class BatchLoader<K, V> {
+
+  private final Function<Collection<K>, Flux<V>> batchLookup;
+  private final Function<V, K> keyOf;
+  private final Duration window;
+  private final int maxBatchSize;
+  private final Scheduler scheduler;
+
+  private Batch current;
+
+  public BatchLoader(final Function<Collection<K>, Flux<V>> batchLookup,
+                     final Function<V, K> keyOf,
+                     final Duration window,
+                     final int maxBatchSize,
+                     final Scheduler scheduler) {
+    this.batchLookup = batchLookup;
+    this.keyOf = keyOf;
+    this.window = window;
+    this.maxBatchSize = maxBatchSize;
+    this.scheduler = scheduler;
+  }
+
+  public Mono<V> load(final K key) {
+    return Mono.defer(() -> {
+      final Batch batch;
+      final Waiting waiting;
+      Batch full = null;
+      synchronized (this) {
+        if (current == null) {
+          final Batch created = new Batch();
+          current = created;
+          scheduler.schedule(() -> dispatchIfCurrent(created), window.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        batch = current;
+        waiting = batch.waiting.computeIfAbsent(key, k -> new Waiting());
+        waiting.callers++;
+        if (batch.waiting.size() >= maxBatchSize) {
+          full = batch;
+          current = null;
+        }
+      }
+      if (full != null) {
+        full.dispatch();
+      }
+      return waiting.sink.asMono().doOnCancel(() -> batch.cancel(key, waiting));
+    });
+  }
+
+  private void dispatchIfCurrent(final Batch batch) {
+    synchronized (this) {
+      if (current != batch) {
+        return;
+      }
+      current = null;
+    }
+    batch.dispatch();
+  }
+
+  private final class Waiting {
+
+    private final Sinks.One<V> sink = Sinks.one();
+    private int callers;
+  }
+
+  /**
+   * Keys waiting to be looked up together. Guarded by the loader, as callers leave it when they cancel.
+   */
+  private final class Batch {
+
+    private final Map<K, Waiting> waiting = new LinkedHashMap<>();
+    private Disposable lookup;
+
+    void dispatch() {
+      final List<K> keys;
+      synchronized (BatchLoader.this) {
+        keys = new ArrayList<>(waiting.keySet());
+      }
+      if (keys.isEmpty()) {
+        return;
+      }
+      final Disposable subscription = batchLookup.apply(keys)
+              .subscribe(value -> {
+                        final Waiting found;
+                        synchronized (BatchLoader.this) {
+                          found = waiting.get(keyOf.apply(value));
+                        }
+                        if (found != null) {
+                          found.sink.tryEmitValue(value);
+                        }
+                      },
+                      e -> remaining().forEach(left -> left.sink.tryEmitError(e)),
+                      () -> remaining().forEach(left -> left.sink.tryEmitEmpty()));
+      synchronized (BatchLoader.this) {
+        if (!waiting.isEmpty()) {
+          lookup = subscription;
+          return;
+        }
+      }
+      subscription.dispose();
+    }
+
+    /**
+     * Leaves the batch once every caller of the key has cancelled, and cancels the lookup once no key is left.
+     */
+    void cancel(final K key, final Waiting left) {
+      final Disposable cancelled;
+      synchronized (BatchLoader.this) {
+        if (--left.callers > 0 || waiting.get(key) != left) {
+          return;
+        }
+        waiting.remove(key);
+        if (!waiting.isEmpty() || lookup == null) {
+          return;
+        }
+        cancelled = lookup;
+      }
+      cancelled.dispose();
+    }
+
+    private List<Waiting> remaining() {
+      synchronized (BatchLoader.this) {
+        return new ArrayList<>(waiting.values());
+      }
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.signature.util;
+
+import com.signature.domain.ChangeEventDTO;
+import com.signature.exception.InvalidRequestException;
+import com.signature.repository.ChangeEvent;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Fans one change stream out to any number of subscribers.
+ * <p>
+ * The underlying stream is opened with the first subscriber and closed once the last one has been gone for the grace
+ * period. While it is open the most recent changes are kept, so a subscriber resuming from a token of one of them is
+ * served from memory and then continues on the shared stream. They are dropped when it closes, as changes made while
+ * it was closed are missing from them. Other tokens get a stream of their own, resumed by the server.
+ */
+public class ChangeFeed<T> {
+
+  private static final Pattern TOKEN = Pattern.compile("[0-9A-Fa-f]+");
+  private static final String HEARTBEAT_COMMENT = "heartbeat";
+
+  private final Function<String, Flux<ChangeEvent<T>>> changeStream;
+  private final int historySize;
+
+  private final AtomicLong sequence = new AtomicLong();
+  private final Deque<Sequenced<T>> history = new ConcurrentLinkedDeque<>();
+  private final AtomicInteger historyLength = new AtomicInteger();
+  private final Flux<Sequenced<T>> shared;
+
+  /**
+   * @param changeStream opens a change stream, resumed after the given token or starting now when it is null
+   */
+  public ChangeFeed(final Function<String, Flux<ChangeEvent<T>>> changeStream,
+                    final int historySize,
+                    final Duration gracePeriod) {
+    this.changeStream = changeStream;
+    this.historySize = historySize;
+    this.shared = Flux.defer(() -> changeStream.apply(null))
+            .doOnSubscribe(subscription -> clearHistory())
+            .map(event -> new Sequenced<>(sequence.incrementAndGet(), event))
+            .doOnNext(this::remember)
+            .doFinally(signal -> clearHistory())
+            .replay(historySize)
+            .refCount(1, gracePeriod);
+  }
+
+  /**
+   * Changes after the given token, or from now on when it is null.
+   */
+  public Flux<ChangeEvent<T>> changes(final String resumeAfter) {
+    return Flux.defer(() -> {
+      if (resumeAfter == null) {
+        return after(sequence.get());
+      }
+      if (!TOKEN.matcher(resumeAfter).matches()) {
+        return Flux.error(new InvalidRequestException("Invalid resume token " + resumeAfter));
+      }
+      final Iterator<Sequenced<T>> newestFirst = history.descendingIterator();
+      while (newestFirst.hasNext()) {
+        final Sequenced<T> sequenced = newestFirst.next();
+        if (resumeAfter.equals(sequenced.event.getToken())) {
+          return after(sequenced.sequence);
+        }
+      }
+      return changeStream.apply(resumeAfter);
+    });
+  }
+
+  /**
+   * Server-sent events of the given changes, identified by their resume token so a reconnecting EventSource resumes
+   * through {@code Last-Event-ID}. Comments are interleaved every heartbeat to keep idle connections open.
+   */
+  public static <T, D> Flux<ServerSentEvent<ChangeEventDTO<D>>> toServerSentEvents(final Flux<ChangeEvent<T>> changes,
+                                                                                   final Function<T, D> mapper,
+                                                                                   final Duration heartbeat) {
+    return changes.publish(events -> Flux.merge(
+            events.map(event -> ServerSentEvent.builder(new ChangeEventDTO<>(event.getOperation(), event.getId(),
+                            event.getDocument() == null ? null : mapper.apply(event.getDocument())))
+                    .id(event.getToken())
+                    .event(event.getOperation())
+                    .build()),
+            Flux.interval(heartbeat)
+                    .map(tick -> ServerSentEvent.<ChangeEventDTO<D>>builder().comment(HEARTBEAT_COMMENT).build())
+                    .takeUntilOther(events.ignoreElements())));
+  }
+
+  private Flux<ChangeEvent<T>> after(final long sequence) {
+    return shared.filter(sequenced -> sequenced.sequence > sequence).map(sequenced -> sequenced.event);
+  }
+
+  private void remember(final Sequenced<T> sequenced) {
+    history.addLast(sequenced);
+    if (historyLength.incrementAndGet() > historySize) {
+      history.pollFirst();
+      historyLength.decrementAndGet();
+    }
+  }
+
+  private void clearHistory() {
+    history.clear();
+    historyLength.set(0);
+  }
+
+  private static final class Sequenced<T> {
+
+    private final long sequence;
+    private final ChangeEvent<T> event;
+
+    private Sequenced(final long sequence, final ChangeEvent<T> event) {
+      this.sequence = sequence;
+      this.event = event;
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.signature.util;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Strong entity tags derived from the persisted content of a resource, and conditional GET handling on top of them.
+ * <p>
+ * One resource has a representation per media type (JSON, CBOR, Smile, protobuf) and a strong tag must differ between
+ * them, so the tags of conditional GETs also cover the Accept header the media type is negotiated from, and responses
+ * carry {@code Vary: Accept}.
+ */
+public final class ETags {
+
+  private static final char SEPARATOR = '\u0000';
+
+  private ETags() {
+  }
+
+  /**
+   * Quoted MD5 of the given parts, so equal content always yields the same tag across instances and restarts.
+   */
+  public static String of(final Object... parts) {
+    final StringBuilder content = new StringBuilder();
+    for (Object part : parts) {
+      content.append(part).append(SEPARATOR);
+    }
+    return "\"" + DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+  }
+
+  /**
+   * Answers {@code 304 Not Modified} when the request's {@code If-None-Match} matches the tag of the loaded resource,
+   * before the resource is mapped to its representation; otherwise the mapped body is returned with its tag.
+   */
+  public static <T, D> Mono<ResponseEntity<D>> respond(final ServerWebExchange exchange,
+                                                       final Mono<T> resource,
+                                                       final Function<T, String> tag,
+                                                       final Function<T, D> mapper) {
+    return resource.map(value -> {
+      final String etag = of(tag.apply(value), accepted(exchange.getRequest().getHeaders()));
+      if (exchange.checkNotModified(etag)) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+      }
+      return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(mapper.apply(value));
+    });
+  }
+
+  /**
+   * {@link #respond} for functional endpoints. The body type is passed on so that encoders selecting on the element
+   * type of a collection can write it.
+   */
+  public static <T, D> Mono<ServerResponse> serve(final ServerRequest request,
+                                                  final Mono<T> resource,
+                                                  final Function<T, String> tag,
+                                                  final Function<T, D> mapper,
+                                                  final ParameterizedTypeReference<D> bodyType) {
+    return resource.flatMap(value -> {
+      final String etag = of(tag.apply(value), accepted(request.exchange().getRequest().getHeaders()));
+      if (request.exchange().checkNotModified(etag)) {
+        return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+      }
+      return ServerResponse.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(Mono.just(mapper.apply(value)), bodyType);
+    });
+  }
+
+  /**
+   * The accepted media types in order of preference, which decide the media type of the response; requests accepting
+   * anything, or sending no Accept header, get the same default representation.
+   */
+  private static String accepted(final HttpHeaders headers) {
+    final List<MediaType> accepted = new ArrayList<>(headers.getAccept());
+    MediaType.sortBySpecificityAndQuality(accepted);
+    if (accepted.isEmpty() || accepted.size() == 1 && MediaType.ALL.equalsTypeAndSubtype(accepted.get(0))) {
+      return MediaType.ALL_VALUE;
+    }
+    return MediaType.toString(accepted);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.signature.util;
+
+import com.signature.exception.InvalidRequestException;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Properties requested through a {@code fields} query parameter, applied as a Mongo projection so unselected
+ * fields are neither read from the database nor serialized.
+ */
+public final class FieldSelection {
+
+  public static final FieldSelection ALL = new FieldSelection(Collections.emptySet());
+
+  private final Set<String> fields;
+
+  private FieldSelection(final Set<String> fields) {
+    this.fields = fields;
+  }
+
+  public static FieldSelection parse(final String fields) {
+    if (fields == null || fields.isBlank()) {
+      return ALL;
+    }
+    return new FieldSelection(Arrays.stream(fields.split(","))
+            .map(String::trim)
+            .filter(field -> !field.isEmpty())
+            .collect(Collectors.toCollection(LinkedHashSet::new)));
+  }
+
+  /**
+   * Parses the selection and rejects it with an {@link InvalidRequestException} if it names unknown fields.
+   */
+  public static Mono<FieldSelection> parse(final String fields, final Set<String> knownFields) {
+    final FieldSelection selection = parse(fields);
+    return selection.findUnknown(knownFields)
+            .<Mono<FieldSelection>>map(unknown -> Mono.error(new InvalidRequestException("Unknown field " + unknown)))
+            .orElseGet(() -> Mono.just(selection));
+  }
+
+  public static FieldSelection of(final String... fields) {
+    return new FieldSelection(new LinkedHashSet<>(Arrays.asList(fields)));
+  }
+
+  public boolean isAll() {
+    return fields.isEmpty();
+  }
+
+  public boolean includes(final String field) {
+    return isAll() || fields.contains(field);
+  }
+
+  public Set<String> getFields() {
+    return Collections.unmodifiableSet(fields);
+  }
+
+  public Optional<String> findUnknown(final Set<String> knownFields) {
+    return fields.stream().filter(field -> !knownFields.contains(field)).findFirst();
+  }
+
+  /**
+   * Restricts the query to the selected fields among the stored ones, leaving out those rendered from others such as
+   * the resource URL. The id is always read, since the resource URL is built from it.
+   */
+  public Query applyTo(final Query query, final Set<String> storedFields) {
+    if (!isAll()) {
+      query.fields().include("id");
+      fields.stream().filter(storedFields::contains).forEach(query.fields()::include);
+    }
+    return query;
+  }
+
+  /**
+   * The selected field names in a stable order, empty for {@link #ALL}.
+   */
+  @Override
+  public String toString() {
+    return String.join(",", new TreeSet<>(fields));
+  }
+}
\ No newline at end of file
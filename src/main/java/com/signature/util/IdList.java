@@ -0,0 +1,42 @@
+package com.signature.util;
+
+import com.signature.exception.InvalidRequestException;
+import org.bson.types.ObjectId;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The {@code ids} query parameter of the collection endpoints: comma separated ids, in request order without blanks
+ * or duplicates, at most {@link KeysetPage#MAX_LIMIT} of them and not combined with paging.
+ */
+public final class IdList {
+
+  private IdList() {
+  }
+
+  public static Mono<Set<String>> parse(final String ids, final String after, final Integer limit) {
+    if (after != null || limit != null) {
+      return Mono.error(new InvalidRequestException("ids cannot be combined with after or limit"));
+    }
+    final Set<String> idSet = Arrays.stream(ids.split(","))
+            .map(String::trim)
+            .filter(id -> !id.isEmpty())
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    if (idSet.isEmpty() || idSet.size() > KeysetPage.MAX_LIMIT) {
+      return Mono.error(new InvalidRequestException("Between 1 and " + KeysetPage.MAX_LIMIT + " ids are required"));
+    }
+    return Mono.just(idSet);
+  }
+
+  /**
+   * The lower case hex spelling of a valid ObjectId, the one read back from Mongo, so that every spelling of an id
+   * shares cache entries and batched lookups. Other ids are returned as given.
+   */
+  public static String normalize(final String id) {
+    return id != null && ObjectId.isValid(id) ? new ObjectId(id).toHexString() : id;
+  }
+}
\ No newline at end of file
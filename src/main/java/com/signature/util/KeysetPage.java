@@ -0,0 +1,110 @@
+package com.signature.util;
+
+import org.bson.types.ObjectId;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Helpers for keyset (cursor) pagination over the {@code _id} index.
+ * <p>
+ * A cursor is the base64url encoded {@link ObjectId} of the last element of a page, so clients can treat it as
+ * opaque while the server resumes with a single {@code _id > cursor} range scan, independent of the page number.
+ */
+public final class KeysetPage {
+
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+  public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+  public static final int DEFAULT_LIMIT = 50;
+  public static final int MAX_LIMIT = 1000;
+
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private KeysetPage() {
+  }
+
+  public static int pageSize(final Integer limit) {
+    if (limit == null) {
+      return DEFAULT_LIMIT;
+    }
+    return Math.max(1, Math.min(limit, MAX_LIMIT));
+  }
+
+  public static String encode(final String id) {
+    return ENCODER.encodeToString(new ObjectId(id).toByteArray());
+  }
+
+  /**
+   * Accepts either a cursor returned in {@value #NEXT_CURSOR_HEADER} or a plain ObjectId hex string.
+   *
+   * @return the ObjectId hex string to resume after, or empty if the cursor is malformed
+   */
+  public static Optional<String> decode(final String cursor) {
+    if (ObjectId.isValid(cursor)) {
+      return Optional.of(cursor);
+    }
+    try {
+      final byte[] bytes = DECODER.decode(cursor);
+      return bytes.length == 12 ? Optional.of(new ObjectId(bytes).toHexString()) : Optional.empty();
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Builds the response for a page that was fetched with {@code pageSize + 1} rows; the extra row only signals
+   * that a next page exists and is not returned.
+   */
+  public static <T, D> Mono<ResponseEntity<Flux<D>>> respond(final Flux<T> rows,
+                                                             final Mono<Long> estimatedTotal,
+                                                             final int pageSize,
+                                                             final Function<T, String> idExtractor,
+                                                             final Function<T, D> mapper) {
+    return fetch(rows, estimatedTotal)
+            .map(tuple -> {
+              List<T> page = tuple.getT1();
+              final ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+              if (page.size() > pageSize) {
+                page = page.subList(0, pageSize);
+                response.header(NEXT_CURSOR_HEADER, encode(idExtractor.apply(page.get(pageSize - 1))));
+              }
+              tuple.getT2().ifPresent(total -> response.header(TOTAL_COUNT_HEADER, String.valueOf(total)));
+              return response.body(Flux.fromIterable(page).map(mapper));
+            });
+  }
+
+  /**
+   * {@link #respond} for functional endpoints.
+   */
+  public static <T, D> Mono<ServerResponse> serve(final Flux<T> rows,
+                                                  final Mono<Long> estimatedTotal,
+                                                  final int pageSize,
+                                                  final Function<T, String> idExtractor,
+                                                  final Function<T, D> mapper,
+                                                  final Class<D> dtoClass) {
+    return fetch(rows, estimatedTotal)
+            .flatMap(tuple -> {
+              List<T> page = tuple.getT1();
+              final ServerResponse.BodyBuilder response = ServerResponse.ok();
+              if (page.size() > pageSize) {
+                page = page.subList(0, pageSize);
+                response.header(NEXT_CURSOR_HEADER, encode(idExtractor.apply(page.get(pageSize - 1))));
+              }
+              tuple.getT2().ifPresent(total -> response.header(TOTAL_COUNT_HEADER, String.valueOf(total)));
+              return response.body(Flux.fromIterable(page).map(mapper), dtoClass);
+            });
+  }
+
+  private static <T> Mono<Tuple2<List<T>, Optional<Long>>> fetch(final Flux<T> rows, final Mono<Long> estimatedTotal) {
+    return Mono.zip(rows.collectList(), estimatedTotal.map(Optional::of).defaultIfEmpty(Optional.empty()));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,436 @@
+package com.signature.util;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.bson.types.ObjectId;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * In-process index of labels by the prefixes of their {@link SearchKeys search keys}, for autocompletion without a
+ * database round trip per keystroke.
+ * <p>
+ * Entries live in immutable snapshots of a few primitive arrays sorted by key: the UTF-8 keys and labels each
+ * concatenated into one byte array with an offset array, and the ObjectIds as 12 bytes apiece. A lookup is a binary
+ * search for the first key not below the prefix followed by a scan while keys start with it, without locking.
+ * <p>
+ * Writes go to a small delta snapshot, and the ids they replace or remove are hidden from the large base snapshot.
+ * Once the delta grows past a fraction of the base, both are merged into a new base, so the cost of a write stays
+ * proportional to the delta, amortized. Changes made while a {@link #load} is in progress are applied again on top of
+ * the loaded entries. Entries whose id is not an ObjectId are left out.
+ * <p>
+ * The size of the arrays is reported in {@code app.prefix.index.memory}.
+ */
+public class PrefixIndex {
+
+  private static final int ID_LENGTH = 12;
+  private static final long ARRAY_HEADER = 16;
+  private static final long REFERENCE = 4;
+  private static final int MIN_COMPACTION_THRESHOLD = 1024;
+  private static final int COMPACTION_RATIO = 64;
+
+  private volatile State state = State.EMPTY;
+  private volatile boolean loaded;
+
+  private List<Entry> journal;
+
+  public PrefixIndex(final String name, final MeterRegistry registry) {
+    Gauge.builder("app.prefix.index.memory", this, PrefixIndex::memory)
+            .description("Bytes held by the arrays of the prefix index")
+            .baseUnit("bytes")
+            .tag("name", name)
+            .register(registry);
+  }
+
+  public boolean isLoaded() {
+    return loaded;
+  }
+
+  /**
+   * Number of entries, counted with a scan of the base.
+   */
+  public int size() {
+    final State current = state;
+    int size = current.delta.size;
+    for (int index = 0; index < current.base.size; index++) {
+      if (!current.base.isHidden(index, current.hidden)) {
+        size++;
+      }
+    }
+    return size;
+  }
+
+  public long memory() {
+    final State current = state;
+    return current.base.memory() + current.delta.memory()
+            + ARRAY_HEADER + current.hidden.length * (REFERENCE + ARRAY_HEADER + ID_LENGTH);
+  }
+
+  /**
+   * Entries whose key starts with the search key of the prefix, in key order.
+   */
+  public List<Entry> find(final String prefix, final int limit) {
+    final State current = state;
+    final Snapshot base = current.base;
+    final Snapshot delta = current.delta;
+    final byte[] key = SearchKeys.normalize(prefix).getBytes(StandardCharsets.UTF_8);
+    final List<Entry> found = new ArrayList<>(Math.min(limit, SearchKeys.MAX_LIMIT));
+
+    int inBase = base.lowerBound(key);
+    int inDelta = delta.lowerBound(key);
+    while (found.size() < limit) {
+      while (inBase < base.size && base.startsWith(inBase, key) && base.isHidden(inBase, current.hidden)) {
+        inBase++;
+      }
+      final boolean fromBase = inBase < base.size && base.startsWith(inBase, key);
+      final boolean fromDelta = inDelta < delta.size && delta.startsWith(inDelta, key);
+      if (fromBase && (!fromDelta || base.compare(inBase, delta, inDelta) < 0)) {
+        found.add(base.entry(inBase++));
+      } else if (fromDelta) {
+        found.add(delta.entry(inDelta++));
+      } else {
+        break;
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Marks the start of a load; changes from now on are kept until {@link #load} replaces the entries. Loads must not
+   * overlap.
+   */
+  public synchronized void beginLoad() {
+    journal = new ArrayList<>();
+  }
+
+  /**
+   * Replaces all entries, then applies the changes made since {@link #beginLoad}.
+   */
+  public synchronized void load(final Collection<Entry> entries) {
+    state = new State(Snapshot.EMPTY.merge(encode(entries), new byte[0][]), Snapshot.EMPTY, new byte[0][]);
+    if (journal != null) {
+      final List<Entry> changes = journal;
+      journal = null;
+      changes.forEach(change -> apply(change.label == null ? List.of() : List.of(change), List.of(change.id)));
+    }
+    loaded = true;
+  }
+
+  public synchronized void cancelLoad() {
+    journal = null;
+  }
+
+  /**
+   * Adds the entries, replacing those with the same ids.
+   */
+  public synchronized void putAll(final Collection<Entry> entries) {
+    if (entries.isEmpty()) {
+      return;
+    }
+    if (journal != null) {
+      journal.addAll(entries);
+    }
+    final List<String> ids = new ArrayList<>(entries.size());
+    entries.forEach(entry -> ids.add(entry.id));
+    apply(entries, ids);
+  }
+
+  public void put(final String id, final String label) {
+    putAll(List.of(new Entry(id, label)));
+  }
+
+  public synchronized void remove(final String id) {
+    if (journal != null) {
+      journal.add(new Entry(id, null));
+    }
+    apply(List.of(), List.of(id));
+  }
+
+  private void apply(final Collection<Entry> additions, final Collection<String> removedIds) {
+    final State current = state;
+    final byte[][] removed = toSortedIds(removedIds);
+    final State next = new State(current.base, current.delta.merge(encode(additions), removed),
+            union(current.hidden, removed));
+    final int threshold = Math.max(MIN_COMPACTION_THRESHOLD, next.base.size / COMPACTION_RATIO);
+    state = next.delta.size + next.hidden.length > threshold ? next.compact() : next;
+  }
+
+  private static byte[][] toSortedIds(final Collection<String> ids) {
+    return ids.stream()
+            .filter(id -> id != null && ObjectId.isValid(id))
+            .map(id -> new ObjectId(id).toByteArray())
+            .sorted(Arrays::compareUnsigned)
+            .toArray(byte[][]::new);
+  }
+
+  /**
+   * Both sorted id arrays merged, without duplicates.
+   */
+  private static byte[][] union(final byte[][] first, final byte[][] second) {
+    final byte[][] union = new byte[first.length + second.length][];
+    int size = 0;
+    int i = 0;
+    int j = 0;
+    while (i < first.length || j < second.length) {
+      final byte[] next = j == second.length || i < first.length && Arrays.compareUnsigned(first[i], second[j]) <= 0
+              ? first[i++]
+              : second[j++];
+      if (size == 0 || !Arrays.equals(union[size - 1], next)) {
+        union[size++] = next;
+      }
+    }
+    return size == union.length ? union : Arrays.copyOf(union, size);
+  }
+
+  private static List<Encoded> encode(final Collection<Entry> entries) {
+    final List<Encoded> encoded = new ArrayList<>(entries.size());
+    for (Entry entry : entries) {
+      if (entry.label != null && entry.id != null && ObjectId.isValid(entry.id)) {
+        encoded.add(new Encoded(SearchKeys.normalize(entry.label).getBytes(StandardCharsets.UTF_8),
+                entry.label.getBytes(StandardCharsets.UTF_8), new ObjectId(entry.id).toByteArray()));
+      }
+    }
+    encoded.sort(Encoded.ORDER);
+    return encoded;
+  }
+
+  /**
+   * The base, the writes since it was built, and the ids of its entries that those writes replaced or removed.
+   */
+  private static final class State {
+
+    private static final State EMPTY = new State(Snapshot.EMPTY, Snapshot.EMPTY, new byte[0][]);
+
+    private final Snapshot base;
+    private final Snapshot delta;
+    private final byte[][] hidden;
+
+    private State(final Snapshot base, final Snapshot delta, final byte[][] hidden) {
+      this.base = base;
+      this.delta = delta;
+      this.hidden = hidden;
+    }
+
+    private State compact() {
+      final Snapshot merged = base.merge(List.of(), hidden).merge(delta);
+      return new State(merged, Snapshot.EMPTY, new byte[0][]);
+    }
+  }
+
+  @Getter
+  @AllArgsConstructor
+  public static final class Entry {
+
+    private final String id;
+    private final String label;
+  }
+
+  private static final class Encoded {
+
+    private static final Comparator<Encoded> ORDER = (first, second) -> {
+      final int byKey = Arrays.compareUnsigned(first.key, second.key);
+      return byKey != 0 ? byKey : Arrays.compareUnsigned(first.id, second.id);
+    };
+
+    private final byte[] key;
+    private final byte[] label;
+    private final byte[] id;
+
+    private Encoded(final byte[] key, final byte[] label, final byte[] id) {
+      this.key = key;
+      this.label = label;
+      this.id = id;
+    }
+  }
+
+  private static final class Snapshot {
+
+    private static final Snapshot EMPTY = new Snapshot(new byte[0], new int[1], new byte[0], new int[1], new byte[0]);
+
+    private final byte[] keys;
+    private final int[] keyOffsets;
+    private final byte[] labels;
+    private final int[] labelOffsets;
+    private final byte[] ids;
+    private final int size;
+
+    private Snapshot(final byte[] keys, final int[] keyOffsets, final byte[] labels, final int[] labelOffsets,
+                     final byte[] ids) {
+      this.keys = keys;
+      this.keyOffsets = keyOffsets;
+      this.labels = labels;
+      this.labelOffsets = labelOffsets;
+      this.ids = ids;
+      this.size = keyOffsets.length - 1;
+    }
+
+    private long memory() {
+      return 5 * ARRAY_HEADER + keys.length + labels.length + ids.length
+              + (long) Integer.BYTES * (keyOffsets.length + labelOffsets.length);
+    }
+
+    private int lowerBound(final byte[] key) {
+      int low = 0;
+      int high = size;
+      while (low < high) {
+        final int mid = (low + high) >>> 1;
+        if (Arrays.compareUnsigned(keys, keyOffsets[mid], keyOffsets[mid + 1], key, 0, key.length) < 0) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    private boolean startsWith(final int index, final byte[] prefix) {
+      final int from = keyOffsets[index];
+      return keyOffsets[index + 1] - from >= prefix.length
+              && Arrays.equals(keys, from, from + prefix.length, prefix, 0, prefix.length);
+    }
+
+    private Entry entry(final int index) {
+      return new Entry(new ObjectId(Arrays.copyOfRange(ids, index * ID_LENGTH, (index + 1) * ID_LENGTH)).toHexString(),
+              new String(labels, labelOffsets[index], labelOffsets[index + 1] - labelOffsets[index],
+                      StandardCharsets.UTF_8));
+    }
+
+    private int compare(final int index, final Encoded encoded) {
+      final int byKey = Arrays.compareUnsigned(keys, keyOffsets[index], keyOffsets[index + 1],
+              encoded.key, 0, encoded.key.length);
+      return byKey != 0 ? byKey : Arrays.compareUnsigned(ids, index * ID_LENGTH, (index + 1) * ID_LENGTH,
+              encoded.id, 0, ID_LENGTH);
+    }
+
+    private int compare(final int index, final Snapshot other, final int otherIndex) {
+      final int byKey = Arrays.compareUnsigned(keys, keyOffsets[index], keyOffsets[index + 1],
+              other.keys, other.keyOffsets[otherIndex], other.keyOffsets[otherIndex + 1]);
+      return byKey != 0 ? byKey : Arrays.compareUnsigned(ids, index * ID_LENGTH, (index + 1) * ID_LENGTH,
+              other.ids, otherIndex * ID_LENGTH, (otherIndex + 1) * ID_LENGTH);
+    }
+
+    /**
+     * The entries of this snapshot without the given ids, merged with the sorted additions.
+     */
+    private Snapshot merge(final List<Encoded> additions, final byte[][] removed) {
+      final Builder builder = new Builder(keys.length, labels.length, size, additions);
+      int next = 0;
+      for (int index = 0; index < size; index++) {
+        if (isHidden(index, removed)) {
+          continue;
+        }
+        while (next < additions.size() && compare(index, additions.get(next)) > 0) {
+          builder.add(additions.get(next++));
+        }
+        builder.add(this, index);
+      }
+      while (next < additions.size()) {
+        builder.add(additions.get(next++));
+      }
+      return builder.build();
+    }
+
+    /**
+     * The entries of both snapshots, which share no ids.
+     */
+    private Snapshot merge(final Snapshot other) {
+      final Builder builder = new Builder(keys.length + other.keys.length, labels.length + other.labels.length,
+              size + other.size, List.of());
+      int index = 0;
+      int otherIndex = 0;
+      while (index < size || otherIndex < other.size) {
+        if (otherIndex == other.size || index < size && compare(index, other, otherIndex) < 0) {
+          builder.add(this, index++);
+        } else {
+          builder.add(other, otherIndex++);
+        }
+      }
+      return builder.build();
+    }
+
+    private boolean isHidden(final int index, final byte[][] hidden) {
+      int low = 0;
+      int high = hidden.length - 1;
+      while (low <= high) {
+        final int mid = (low + high) >>> 1;
+        final int order = Arrays.compareUnsigned(ids, index * ID_LENGTH, (index + 1) * ID_LENGTH,
+                hidden[mid], 0, ID_LENGTH);
+        if (order == 0) {
+          return true;
+        }
+        if (order < 0) {
+          high = mid - 1;
+        } else {
+          low = mid + 1;
+        }
+      }
+      return false;
+    }
+  }
+
+  private static final class Builder {
+
+    private final byte[] keys;
+    private final int[] keyOffsets;
+    private final byte[] labels;
+    private final int[] labelOffsets;
+    private final byte[] ids;
+    private int size;
+
+    private Builder(final int baseKeyBytes, final int baseLabelBytes, final int baseSize,
+                    final List<Encoded> additions) {
+      int keyBytes = baseKeyBytes;
+      int labelBytes = baseLabelBytes;
+      for (Encoded addition : additions) {
+        keyBytes += addition.key.length;
+        labelBytes += addition.label.length;
+      }
+      final int capacity = baseSize + additions.size();
+      this.keys = new byte[keyBytes];
+      this.keyOffsets = new int[capacity + 1];
+      this.labels = new byte[labelBytes];
+      this.labelOffsets = new int[capacity + 1];
+      this.ids = new byte[capacity * ID_LENGTH];
+    }
+
+    private void add(final Snapshot source, final int index) {
+      append(source.keys, source.keyOffsets[index], source.keyOffsets[index + 1] - source.keyOffsets[index],
+              source.labels, source.labelOffsets[index], source.labelOffsets[index + 1] - source.labelOffsets[index],
+              source.ids, index * ID_LENGTH);
+    }
+
+    private void add(final Encoded encoded) {
+      append(encoded.key, 0, encoded.key.length, encoded.label, 0, encoded.label.length, encoded.id, 0);
+    }
+
+    private void append(final byte[] key, final int keyFrom, final int keyLength,
+                        final byte[] label, final int labelFrom, final int labelLength,
+                        final byte[] id, final int idFrom) {
+      System.arraycopy(key, keyFrom, keys, keyOffsets[size], keyLength);
+      keyOffsets[size + 1] = keyOffsets[size] + keyLength;
+      System.arraycopy(label, labelFrom, labels, labelOffsets[size], labelLength);
+      labelOffsets[size + 1] = labelOffsets[size] + labelLength;
+      System.arraycopy(id, idFrom, ids, size * ID_LENGTH, ID_LENGTH);
+      size++;
+    }
+
+    /**
+     * The arrays are sized as if nothing was removed, and trimmed when something was.
+     */
+    private Snapshot build() {
+      if (size == keyOffsets.length - 1) {
+        return new Snapshot(keys, keyOffsets, labels, labelOffsets, ids);
+      }
+      return new Snapshot(Arrays.copyOf(keys, keyOffsets[size]), Arrays.copyOf(keyOffsets, size + 1),
+              Arrays.copyOf(labels, labelOffsets[size]), Arrays.copyOf(labelOffsets, size + 1),
+              Arrays.copyOf(ids, size * ID_LENGTH));
+    }
+  }
+}
\ No newline at end of file
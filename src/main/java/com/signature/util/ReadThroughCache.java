@@ -0,0 +1,81 @@
+package com.signature.util;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded, expiring cache of loaded entities in front of a reactive lookup.
+ * <p>
+ * Backed by a Caffeine {@link AsyncCache}: eviction is size based with W-TinyLFU admission, entries expire a fixed time
+ * after they were written, and concurrent misses for one key share a single load. Empty results are not cached.
+ * Hits, misses and evictions are published as the {@code cache.*} meters tagged with the cache name. A maximum size
+ * of zero disables caching and every lookup goes straight to the loader.
+ * <p>
+ * Mutable values are kept as copies made with the given copy function, both when loaded or put and when handed out, so
+ * no caller can change the cached value or one seen by another caller.
+ */
+public class ReadThroughCache<K, V> {
+
+  private final AsyncCache<K, V> cache;
+  private final UnaryOperator<V> copy;
+
+  /**
+   * A cache of values that are not changed once loaded, which are handed out as they are.
+   */
+  public ReadThroughCache(final String name,
+                          final long maximumSize,
+                          final Duration expireAfterWrite,
+                          final MeterRegistry registry) {
+    this(name, maximumSize, expireAfterWrite, UnaryOperator.identity(), registry);
+  }
+
+  public ReadThroughCache(final String name,
+                          final long maximumSize,
+                          final Duration expireAfterWrite,
+                          final UnaryOperator<V> copy,
+                          final MeterRegistry registry) {
+    this.copy = copy;
+    if (maximumSize <= 0) {
+      this.cache = null;
+    } else {
+      this.cache = CaffeineCacheMetrics.monitor(registry, Caffeine.newBuilder()
+              .maximumSize(maximumSize)
+              .expireAfterWrite(expireAfterWrite)
+              .recordStats()
+              .<K, V>buildAsync(), name);
+    }
+  }
+
+  public Mono<V> get(final K key, final Function<K, Mono<V>> loader) {
+    if (cache == null) {
+      return loader.apply(key);
+    }
+    // a copy of the shared future, so one cancelled caller does not cancel the load for everyone waiting on it
+    return Mono.defer(() -> Mono.fromFuture(cache.get(key, (k, executor) -> loader.apply(k).map(copy).toFuture())
+            .thenApply(this::copyOf)));
+  }
+
+  public void put(final K key, final V value) {
+    if (cache != null) {
+      cache.put(key, CompletableFuture.completedFuture(copy.apply(value)));
+    }
+  }
+
+  private V copyOf(final V value) {
+    return value == null ? null : copy.apply(value);
+  }
+
+  public void invalidate(final K key) {
+    if (cache != null) {
+      cache.synchronous().invalidate(key);
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.signature.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Search keys of names: lower case without accents and with single spaces, so that a prefix of the key of a query
+ * matches names regardless of case and diacritics. Keys are stored next to the names they derive from and compared
+ * with index range scans.
+ */
+public final class SearchKeys {
+
+  public static final int DEFAULT_LIMIT = 10;
+  public static final int MAX_LIMIT = 50;
+
+  private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private SearchKeys() {
+  }
+
+  public static String normalize(final String value) {
+    if (value == null) {
+      return null;
+    }
+    String key = value;
+    if (!isAscii(key)) {
+      key = COMBINING_MARKS.matcher(Normalizer.normalize(key, Normalizer.Form.NFKD)).replaceAll("");
+    }
+    return WHITESPACE.matcher(key.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+  }
+
+  public static int limit(final Integer limit) {
+    if (limit == null) {
+      return DEFAULT_LIMIT;
+    }
+    return Math.max(1, Math.min(limit, MAX_LIMIT));
+  }
+
+  private static boolean isAscii(final String value) {
+    for (int i = 0; i < value.length(); i++) {
+      if (value.charAt(i) > 0x7F) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
\ No newline at end of file
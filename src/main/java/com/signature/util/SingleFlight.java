@@ -0,0 +1,71 @@
+package com.signature.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent lookups of the same key into one in-flight {@link Mono}.
+ * <p>
+ * The first caller for a key starts the lookup and every caller arriving before it completes subscribes to the same
+ * shared result, error included. The entry is removed as soon as the lookup terminates or all of its subscribers have
+ * cancelled, so nothing is cached beyond the flight itself. Calls are counted in {@code app.single.flight.calls},
+ * tagged {@code result=executed} or {@code result=coalesced}.
+ */
+public class SingleFlight<K, V> {
+
+  private final Map<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+  private final Counter executed;
+  private final Counter coalesced;
+
+  public SingleFlight(final String name, final MeterRegistry registry) {
+    this.executed = Counter.builder("app.single.flight.calls")
+            .description("Lookups by whether they started a call or joined one in flight")
+            .tags("name", name, "result", "executed")
+            .register(registry);
+    this.coalesced = Counter.builder("app.single.flight.calls")
+            .description("Lookups by whether they started a call or joined one in flight")
+            .tags("name", name, "result", "coalesced")
+            .register(registry);
+    Gauge.builder("app.single.flight.in.flight", inFlight, Map::size)
+            .description("Keys with a lookup in flight")
+            .tag("name", name)
+            .register(registry);
+  }
+
+  public Mono<V> execute(final K key, final Function<K, Mono<V>> lookup) {
+    return Mono.defer(() -> {
+      final Mono<V> current = inFlight.get(key);
+      if (current != null) {
+        coalesced.increment();
+        return current;
+      }
+
+      final Flight<V> flight = new Flight<>();
+      flight.mono = lookup.apply(key)
+              .doFinally(signal -> inFlight.remove(key, flight.mono))
+              .share();
+      final Mono<V> winner = inFlight.putIfAbsent(key, flight.mono);
+      if (winner != null) {
+        coalesced.increment();
+        return winner;
+      }
+      executed.increment();
+      return flight.mono;
+    });
+  }
+
+  int inFlight() {
+    return inFlight.size();
+  }
+
+  private static final class Flight<V> {
+
+    private Mono<V> mono;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,220 @@
+package com.signature.util;
+
+import com.signature.exception.BufferFullException;
+import com.signature.repository.BulkInsertResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Buffers entities in a bounded queue and writes them in bulk, once {@code maxBatchSize} are waiting or every
+ * {@code flushInterval}, whichever comes first. One batch is written at a time; a batch that fails as a whole is
+ * retried with backoff, and as ids are assigned before buffering, entities a failed attempt did write are reported as
+ * duplicates on retry and counted as written.
+ * <p>
+ * {@link #add} completes once the entity is buffered, or with {@code awaitWrite} once its batch has been written.
+ * Written entities are handed to {@code onWritten}, those that could not be written to {@code onFailure}; retries back
+ * off on the given scheduler. {@link #close} stops accepting and writes what
+ * is left. Buffered entities are counted in {@code app.write.behind.queue.depth}, batch writes timed in
+ * {@code app.write.behind.flush} and entities counted by outcome in {@code app.write.behind.documents}.
+ */
+@Slf4j
+public class WriteBehindBuffer<T> {
+
+  private static final int MAX_RETRIES = 3;
+  private static final Duration RETRY_BACKOFF = Duration.ofMillis(100);
+  private static final long DRAIN_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private final String name;
+  private final BlockingQueue<Pending<T>> queue;
+  private final int maxBatchSize;
+  private final boolean awaitWrite;
+  private final Function<List<T>, Flux<BulkInsertResult>> writer;
+  private final Consumer<T> onWritten;
+  private final Consumer<T> onFailure;
+  private final Scheduler scheduler;
+  private final Disposable ticker;
+
+  private final AtomicBoolean flushing = new AtomicBoolean();
+  private volatile boolean accepting = true;
+
+  private final Timer flushTimer;
+  private final Counter written;
+  private final Counter failed;
+  private final Counter rejected;
+
+  public WriteBehindBuffer(final String name,
+                           final int capacity,
+                           final int maxBatchSize,
+                           final Duration flushInterval,
+                           final boolean awaitWrite,
+                           final Function<List<T>, Flux<BulkInsertResult>> writer,
+                           final Consumer<T> onWritten,
+                           final Consumer<T> onFailure,
+                           final Scheduler scheduler,
+                           final MeterRegistry registry) {
+    this.name = name;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.maxBatchSize = maxBatchSize;
+    this.awaitWrite = awaitWrite;
+    this.writer = writer;
+    this.onWritten = onWritten;
+    this.onFailure = onFailure;
+    this.scheduler = scheduler;
+
+    Gauge.builder("app.write.behind.queue.depth", queue, BlockingQueue::size)
+            .description("Entities buffered and not yet written")
+            .tag("name", name)
+            .register(registry);
+    this.flushTimer = Timer.builder("app.write.behind.flush")
+            .description("Bulk writes of buffered entities, retries included")
+            .tag("name", name)
+            .publishPercentileHistogram()
+            .register(registry);
+    this.written = documents(registry, name, "written");
+    this.failed = documents(registry, name, "failed");
+    this.rejected = documents(registry, name, "rejected");
+
+    this.ticker = Flux.interval(flushInterval, scheduler).subscribe(tick -> flush());
+  }
+
+  private static Counter documents(final MeterRegistry registry, final String name, final String result) {
+    return Counter.builder("app.write.behind.documents")
+            .description("Entities given to the write-behind buffer by outcome")
+            .tags("name", name, "result", result)
+            .register(registry);
+  }
+
+  public Mono<T> add(final T entity) {
+    return Mono.defer(() -> {
+      final Pending<T> pending = new Pending<>(entity, awaitWrite ? Sinks.one() : null);
+      if (!accepting || !queue.offer(pending)) {
+        rejected.increment();
+        return Mono.error(new BufferFullException("The " + name + " write buffer is "
+                + (accepting ? "full" : "closed")));
+      }
+      if (queue.size() >= maxBatchSize) {
+        flush();
+      }
+      return pending.written == null ? Mono.just(entity) : pending.written.asMono();
+    });
+  }
+
+  public int size() {
+    return queue.size();
+  }
+
+  /**
+   * Writes the next batch unless one is being written already.
+   */
+  void flush() {
+    if (!flushing.compareAndSet(false, true)) {
+      return;
+    }
+    final List<Pending<T>> batch = new ArrayList<>(Math.min(queue.size(), maxBatchSize));
+    queue.drainTo(batch, maxBatchSize);
+    if (batch.isEmpty()) {
+      flushing.set(false);
+      return;
+    }
+
+    final List<T> entities = batch.stream().map(pending -> pending.entity).collect(Collectors.toList());
+    final AtomicInteger attempts = new AtomicInteger();
+    final long start = System.nanoTime();
+    Flux.defer(() -> {
+              attempts.incrementAndGet();
+              return writer.apply(entities);
+            })
+            .collectList()
+            .retryWhen(Retry.backoff(MAX_RETRIES, RETRY_BACKOFF).scheduler(scheduler))
+            .doFinally(signal -> {
+              flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+              flushing.set(false);
+              if (queue.size() >= maxBatchSize || !accepting) {
+                flush();
+              }
+            })
+            .subscribe(results -> complete(batch, results, attempts.get() > 1), error -> fail(batch, error));
+  }
+
+  private void complete(final List<Pending<T>> batch, final List<BulkInsertResult> results, final boolean retried) {
+    for (BulkInsertResult result : results) {
+      final Pending<T> pending = batch.get(result.getIndex());
+      final String error = result.getError();
+      if (error == null || retried && BulkInsertResult.DUPLICATE_ID.equals(error)) {
+        written.increment();
+        onWritten.accept(pending.entity);
+        if (pending.written != null) {
+          pending.written.tryEmitValue(pending.entity);
+        }
+      } else {
+        log.warn("Buffered {} {} was not written: {}", name, result.getIndex(), error);
+        failed(pending, new IllegalStateException("Write failed: " + error));
+      }
+    }
+  }
+
+  private void fail(final List<Pending<T>> batch, final Throwable error) {
+    log.error("Lost {} buffered {} after {} retries", batch.size(), name, MAX_RETRIES, error);
+    batch.forEach(pending -> failed(pending, error));
+  }
+
+  private void failed(final Pending<T> pending, final Throwable error) {
+    failed.increment();
+    onFailure.accept(pending.entity);
+    if (pending.written != null) {
+      pending.written.tryEmitError(error);
+    }
+  }
+
+  /**
+   * Stops accepting entities and waits up to the timeout for the buffer to be written.
+   */
+  public void close(final Duration timeout) {
+    accepting = false;
+    ticker.dispose();
+    final long deadline = System.nanoTime() + timeout.toNanos();
+    while ((!queue.isEmpty() || flushing.get()) && System.nanoTime() - deadline < 0) {
+      flush();
+      LockSupport.parkNanos(DRAIN_POLL_NANOS);
+    }
+    final List<Pending<T>> left = new ArrayList<>();
+    queue.drainTo(left);
+    if (!left.isEmpty()) {
+      log.error("Lost {} buffered {} not written within {}", left.size(), name, timeout);
+      left.forEach(pending -> failed(pending, new BufferFullException("The " + name + " write buffer is closed")));
+    }
+  }
+
+  private static final class Pending<T> {
+
+    private final T entity;
+    private final Sinks.One<T> written;
+
+    private Pending(final T entity, final Sinks.One<T> written) {
+      this.entity = entity;
+      this.written = written;
+    }
+  }
+}
\ No newline at end of file
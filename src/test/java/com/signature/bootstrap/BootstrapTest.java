@@ -0,0 +1,123 @@
+package com.signature.bootstrap;
+
+import com.signature.model.Category;
+import com.signature.model.Customer;
+import com.signature.repository.CategoryRepository;
+import com.signature.repository.CustomerRepository;
+import com.signature.repository.VendorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BootstrapTest {
+
+  @Mock
+  public CategoryRepository categoryRepository;
+
+  @Mock
+  public CustomerRepository customerRepository;
+
+  @Mock
+  public VendorRepository vendorRepository;
+
+  private final List<Object> events = new ArrayList<>();
+  private Bootstrap bootstrap;
+
+  @BeforeEach
+  void setUp() {
+    bootstrap = new Bootstrap(categoryRepository, customerRepository, vendorRepository, events::add);
+  }
+
+  @Test
+  void seedEmptyCollections() {
+    //given
+    when(categoryRepository.count()).thenReturn(Mono.just(0L));
+    when(customerRepository.count()).thenReturn(Mono.just(0L));
+    when(vendorRepository.count()).thenReturn(Mono.just(2L));
+
+    //when
+    when(categoryRepository.insert(anyList()))
+            .thenAnswer(invocation -> Flux.fromIterable(invocation.<List<Category>>getArgument(0)));
+    when(customerRepository.insert(anyList()))
+            .thenAnswer(invocation -> Flux.fromIterable(invocation.<List<Customer>>getArgument(0)));
+
+    //then
+    StepVerifier.create(bootstrap.seed())
+            .assertNext(event -> {
+              assertEquals(3, event.getCollections().size());
+              assertEquals(5, inserted(event, "categories"));
+              assertEquals(7, inserted(event, "customers"));
+              assertEquals(0, inserted(event, "vendors"));
+            })
+            .verifyComplete();
+    verify(vendorRepository, never()).insert(anyList());
+    assertTrue(bootstrap.isCompleted());
+    assertEquals(1, events.size());
+  }
+
+  @Test
+  void countInParallel() {
+    //given
+    final Sinks.One<Long> categories = Sinks.one();
+
+    //when
+    when(categoryRepository.count()).thenReturn(categories.asMono());
+    when(customerRepository.count()).thenReturn(Mono.just(1L));
+    when(vendorRepository.count()).thenReturn(Mono.just(1L));
+
+    //then
+    StepVerifier.create(bootstrap.seed())
+            .then(() -> {
+              verify(customerRepository).count();
+              verify(vendorRepository).count();
+              assertFalse(bootstrap.isCompleted());
+              categories.tryEmitValue(1L);
+            })
+            .expectNextCount(1)
+            .verifyComplete();
+    assertTrue(bootstrap.isCompleted());
+  }
+
+  @Test
+  void seedFailure() {
+    //given
+    when(categoryRepository.count()).thenReturn(Mono.error(new IllegalStateException("unreachable")));
+    when(customerRepository.count()).thenReturn(Mono.just(1L));
+    when(vendorRepository.count()).thenReturn(Mono.just(1L));
+
+    //when
+    bootstrap.run();
+
+    //then
+    assertFalse(bootstrap.isCompleted());
+    assertNotNull(bootstrap.getFailure());
+    assertTrue(events.isEmpty());
+  }
+
+  private static long inserted(final BootstrapCompletedEvent event, final String collection) {
+    return event.getCollections().stream()
+            .filter(seed -> seed.getCollection().equals(collection))
+            .findFirst()
+            .orElseThrow()
+            .getInserted();
+  }
+}
\ No newline at end of file
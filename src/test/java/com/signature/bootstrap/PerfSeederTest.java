@@ -0,0 +1,46 @@
+package com.signature.bootstrap;
+
+import com.signature.config.AppProperties;
+import com.signature.repository.BulkInsertResult;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PerfSeederTest {
+
+  @Test
+  void seedInBatches() {
+    //given
+    final AppProperties appProperties = new AppProperties();
+    appProperties.getPerfSeed().setBatchSize(100);
+    appProperties.getPerfSeed().setConcurrency(4);
+    final PerfSeeder perfSeeder = new PerfSeeder(null, null, appProperties, null);
+
+    final List<Integer> batchSizes = new ArrayList<>();
+    final AtomicInteger generated = new AtomicInteger();
+
+    //when
+    final PerfSeeder.SeedResult result = perfSeeder.seed("numbers", 1050, generated::incrementAndGet,
+            batch -> {
+              synchronized (batchSizes) {
+                batchSizes.add(batch.size());
+              }
+              // every batch rejects its first document
+              return Flux.range(0, batch.size())
+                      .map(index -> new BulkInsertResult(index, index == 0 ? null : "id", index == 0 ? "E11000" : null));
+            });
+
+    //then
+    assertEquals(1050, generated.get());
+    assertEquals(11, batchSizes.size());
+    assertTrue(batchSizes.contains(50));
+    assertEquals(1039, result.inserted);
+    assertEquals(11, result.failed);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.signature.bootstrap;
+
+import com.signature.model.Customer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SyntheticDataTest {
+
+  @Test
+  void sameSeedSameData() {
+    final SyntheticData first = new SyntheticData(7);
+    final SyntheticData second = new SyntheticData(7);
+
+    for (int i = 0; i < 100; i++) {
+      final Customer customer = first.customer();
+      final Customer other = second.customer();
+      assertEquals(customer.getFirstName(), other.getFirstName());
+      assertEquals(customer.getLastName(), other.getLastName());
+      assertEquals(first.vendor().getName(), second.vendor().getName());
+    }
+  }
+
+  @Test
+  void generatesNewDocuments() {
+    final Customer customer = new SyntheticData(7).customer();
+
+    assertNull(customer.getId());
+    assertNotNull(customer.getFirstName());
+    assertNotNull(customer.getLastName());
+  }
+
+  @Test
+  void namesFollowRank() {
+    //given
+    final SyntheticData.Names names = new SyntheticData.Names(List.of("first", "second", "third", "fourth"), 1.0);
+    final SplittableRandom random = new SplittableRandom(1);
+
+    //when
+    final Map<String, Long> counts = IntStream.range(0, 100_000)
+            .mapToObj(i -> names.sample(random))
+            .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+    //then
+    assertEquals(4, counts.size());
+    assertTrue(counts.get("first") > counts.get("second"));
+    assertTrue(counts.get("second") > counts.get("third"));
+    assertTrue(counts.get("third") > counts.get("fourth"));
+    // 1 / (1 + 1/2 + 1/3 + 1/4) = 48%
+    assertEquals(0.48, counts.get("first") / 100_000.0, 0.01);
+  }
+}
\ No newline at end of file
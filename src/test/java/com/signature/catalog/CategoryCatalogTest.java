@@ -0,0 +1,79 @@
+package com.signature.catalog;
+
+import com.signature.config.AppProperties;
+import com.signature.model.Category;
+import com.signature.repository.CategoryRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryCatalogTest {
+
+  @Mock
+  public CategoryRepository categoryRepository;
+
+  @Mock
+  public ReactiveMongoTemplate mongoTemplate;
+
+  private CategoryCatalog categoryCatalog;
+
+  @BeforeEach
+  void setUp() {
+    categoryCatalog = new CategoryCatalog(categoryRepository, mongoTemplate, new AppProperties());
+  }
+
+  @Test
+  void findByNameBeforeLoad() {
+    //given
+    Category category = new Category(ObjectId.get().toString(), "Fruits");
+
+    when(categoryRepository.findByName("Fruits")).thenReturn(Mono.just(category));
+
+    //when
+    Category found = categoryCatalog.findByName("Fruits").block();
+
+    //then
+    assertFalse(categoryCatalog.isLoaded());
+    assertEquals(category.getId(), found.getId());
+    verify(categoryRepository, times(1)).findByName("Fruits");
+  }
+
+  @Test
+  void refreshReplacesSnapshot() {
+    //given
+    Category fruits = new Category(ObjectId.get().toString(), "Fruits");
+    Category nuts = new Category(ObjectId.get().toString(), "Nuts");
+
+    when(categoryRepository.findAll()).thenReturn(Flux.just(fruits), Flux.just(nuts));
+
+    //when
+    categoryCatalog.refresh().block();
+
+    //then
+    assertTrue(categoryCatalog.isLoaded());
+    assertEquals(fruits.getId(), categoryCatalog.findByName("Fruits").block().getId());
+
+    //when
+    categoryCatalog.refresh().block();
+
+    //then
+    assertNull(categoryCatalog.findByName("Fruits").block());
+    assertEquals("Nuts", categoryCatalog.findById(nuts.getId()).block().getName());
+    assertEquals(1, categoryCatalog.findAll().count().block());
+  }
+}
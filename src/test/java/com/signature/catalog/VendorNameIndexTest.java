@@ -0,0 +1,70 @@
+package com.signature.catalog;
+
+import com.signature.config.AppProperties;
+import com.signature.metrics.MetricsPostProcessor;
+import com.signature.model.Vendor;
+import com.signature.repository.VendorRepository;
+import com.signature.service.VendorService;
+import com.signature.service.impl.VendorServiceImpl;
+import com.signature.util.FieldSelection;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VendorNameIndexTest {
+
+  private final VendorRepository vendorRepository = mock(VendorRepository.class);
+
+  private AnnotationConfigApplicationContext context;
+
+  @BeforeEach
+  void setUp() {
+    context = new AnnotationConfigApplicationContext();
+    context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+    context.registerBean(AppProperties.class, AppProperties::new);
+    context.registerBean(VendorRepository.class, () -> vendorRepository);
+    context.register(MetricsPostProcessor.class, VendorNameIndex.class, VendorServiceImpl.class);
+    context.refresh();
+  }
+
+  @AfterEach
+  void tearDown() {
+    context.close();
+  }
+
+  @Test
+  void loadOnApplicationReady() {
+    //given
+    final String appleId = ObjectId.get().toString();
+    when(vendorRepository.findAllProjected(any(FieldSelection.class)))
+            .thenReturn(Flux.just(new Vendor(appleId, "Apple Technologies Ltd.")));
+    final VendorService vendorService = context.getBean(VendorService.class);
+
+    //when
+    final boolean emptyBeforeReady = vendorService.suggestVendors("apple", 10).hasElements().block() == Boolean.FALSE;
+    context.publishEvent(new ApplicationReadyEvent(new SpringApplication(), new String[0], context, Duration.ZERO));
+
+    //then
+    assertTrue(emptyBeforeReady);
+    final Vendor suggested = Mono.defer(() -> vendorService.suggestVendors("apple", 10).next())
+            .repeatWhenEmpty(attempts -> attempts.delayElements(Duration.ofMillis(10)))
+            .block(Duration.ofSeconds(5));
+    assertEquals(appleId, suggested.getId());
+  }
+}
\ No newline at end of file
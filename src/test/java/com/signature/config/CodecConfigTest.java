@@ -0,0 +1,167 @@
+package com.signature.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.signature.codec.ProtobufDtoEncoder;
+import com.signature.controller.v1.CustomerController;
+import com.signature.domain.CustomerDTO;
+import com.signature.domain.proto.CustomerMessage;
+import com.signature.mapper.CustomerMapper;
+import com.signature.model.Customer;
+import com.signature.service.CustomerService;
+import com.signature.util.FieldSelection;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+class CodecConfigTest {
+
+  private WebTestClient webTestClient;
+
+  @MockBean
+  public CustomerService customerService;
+
+  @BeforeEach
+  void setUp() {
+    final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    beanFactory.registerSingleton("objectMapperBuilder", new Jackson2ObjectMapperBuilder());
+
+    webTestClient = WebTestClient
+            .bindToController(new CustomerController(CustomerMapper.INSTANCE, customerService, new AppProperties()))
+            .httpMessageCodecs(new CodecConfig()
+                    .binaryCodecCustomizer(beanFactory.getBeanProvider(Jackson2ObjectMapperBuilder.class))::customize)
+            .build();
+  }
+
+  @Test
+  void getCustomerAsCbor() throws Exception {
+    //given
+    Customer customer = new Customer(ObjectId.get().toString(), "Atul", "Singh");
+
+    //when
+    when(customerService.getCustomer(anyString(), any(FieldSelection.class))).thenReturn(Mono.just(customer));
+
+    //then
+    final byte[] body = webTestClient.get().uri("/api/v1/customers/" + customer.getId())
+            .accept(MediaType.APPLICATION_CBOR)
+            .exchange().expectStatus().isOk()
+            .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+            .expectBody(byte[].class).returnResult().getResponseBody();
+
+    final CustomerDTO customerDTO = new ObjectMapper(new CBORFactory()).readValue(body, CustomerDTO.class);
+    assertEquals("Atul", customerDTO.getFirstName());
+    assertEquals("/api/v1/customers/" + customer.getId(), customerDTO.getCustomerUrl());
+  }
+
+  @Test
+  void getAllCustomersAsCbor() throws Exception {
+    //given
+    Customer customer1 = new Customer(ObjectId.get().toString(), "Rishu", "Singh");
+    Customer customer2 = new Customer(ObjectId.get().toString(), "Atul", "Singh");
+
+    //when
+    when(customerService.getAllCustomers(any(FieldSelection.class))).thenReturn(Flux.just(customer1, customer2));
+
+    //then
+    final byte[] body = webTestClient.get().uri("/api/v1/customers")
+            .accept(MediaType.APPLICATION_CBOR)
+            .exchange().expectStatus().isOk()
+            .expectBody(byte[].class).returnResult().getResponseBody();
+
+    final List<CustomerDTO> customerDTOs = new ObjectMapper(new CBORFactory())
+            .readValue(body, new TypeReference<List<CustomerDTO>>() {
+            });
+    assertEquals(2, customerDTOs.size());
+    assertEquals("Atul", customerDTOs.get(1).getFirstName());
+  }
+
+  @Test
+  void getAllCustomersAsSmile() throws Exception {
+    //given
+    Customer customer1 = new Customer(ObjectId.get().toString(), "Rishu", "Singh");
+    Customer customer2 = new Customer(ObjectId.get().toString(), "Atul", "Singh");
+
+    //when
+    when(customerService.getAllCustomers(any(FieldSelection.class))).thenReturn(Flux.just(customer1, customer2));
+
+    //then
+    final byte[] body = webTestClient.get().uri("/api/v1/customers")
+            .accept(MediaType.valueOf("application/x-jackson-smile"))
+            .exchange().expectStatus().isOk()
+            .expectBody(byte[].class).returnResult().getResponseBody();
+
+    final List<CustomerDTO> customerDTOs = new ObjectMapper(new SmileFactory())
+            .readValue(body, new TypeReference<List<CustomerDTO>>() {
+            });
+    assertEquals(2, customerDTOs.size());
+    assertEquals("Rishu", customerDTOs.get(0).getFirstName());
+  }
+
+  @Test
+  void getAllCustomersAsProtobuf() throws Exception {
+    //given
+    Customer customer1 = new Customer(ObjectId.get().toString(), "Rishu", "Singh");
+    Customer customer2 = new Customer(ObjectId.get().toString(), "Atul", "Singh");
+
+    //when
+    when(customerService.getAllCustomers(any(FieldSelection.class))).thenReturn(Flux.just(customer1, customer2));
+
+    //then
+    final byte[] body = webTestClient.get().uri("/api/v1/customers?fields=firstName")
+            .accept(ProtobufDtoEncoder.APPLICATION_PROTOBUF)
+            .exchange().expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(ProtobufDtoEncoder.APPLICATION_PROTOBUF)
+            .expectBody(byte[].class).returnResult().getResponseBody();
+
+    final List<CustomerMessage> messages = new ArrayList<>();
+    final ByteArrayInputStream input = new ByteArrayInputStream(body);
+    CustomerMessage message;
+    while ((message = CustomerMessage.parseDelimitedFrom(input)) != null) {
+      messages.add(message);
+    }
+    assertEquals(2, messages.size());
+    assertEquals("Atul", messages.get(1).getFirstName());
+    assertFalse(messages.get(1).hasCustomerUrl());
+  }
+
+  @Test
+  void getCustomerAsProtobuf() throws Exception {
+    //given
+    Customer customer = new Customer(ObjectId.get().toString(), "Atul", "Singh");
+
+    //when
+    when(customerService.getCustomer(anyString(), any(FieldSelection.class))).thenReturn(Mono.just(customer));
+
+    //then
+    final byte[] body = webTestClient.get().uri("/api/v1/customers/" + customer.getId())
+            .accept(ProtobufDtoEncoder.APPLICATION_PROTOBUF)
+            .exchange().expectStatus().isOk()
+            .expectBody(byte[].class).returnResult().getResponseBody();
+
+    final CustomerMessage message = CustomerMessage.parseFrom(body);
+    assertEquals("Singh", message.getLastName());
+    assertEquals("/api/v1/customers/" + customer.getId(), message.getCustomerUrl());
+  }
+}
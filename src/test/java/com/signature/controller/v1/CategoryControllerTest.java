@@ -63,4 +63,50 @@ class CategoryControllerTest {
             .exchange().expectStatus().isOk()
             .expectBody(CategoryDTO.class);
   }
+
+  @Test
+  @Order(3)
+  void streamAllCategories() {
+    Category category1 = new Category(ObjectId.get().toString(), "Fruits");
+    Category category2 = new Category(ObjectId.get().toString(), "Nuts");
+
+    when(categoryService.getAll()).thenReturn(Flux.just(category1, category2));
+
+    webTestClient.get().uri("/api/v1/categories")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange().expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .expectBodyList(CategoryDTO.class)
+            .hasSize(2);
+  }
+
+  @Test
+  @Order(4)
+  void getAllCategoriesNotModified() {
+    Category category1 = new Category(ObjectId.get().toString(), "Fruits");
+    Category category2 = new Category(ObjectId.get().toString(), "Nuts");
+
+    when(categoryService.getAll()).thenReturn(Flux.just(category1, category2));
+
+    final String etag = webTestClient.get().uri("/api/v1/categories")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange().expectStatus().isOk()
+            .returnResult(CategoryDTO.class)
+            .getResponseHeaders().getETag();
+
+    webTestClient.get().uri("/api/v1/categories")
+            .accept(MediaType.APPLICATION_JSON)
+            .ifNoneMatch(etag)
+            .exchange().expectStatus().isNotModified()
+            .expectBody().isEmpty();
+
+    when(categoryService.getAll()).thenReturn(Flux.just(category1));
+
+    webTestClient.get().uri("/api/v1/categories")
+            .accept(MediaType.APPLICATION_JSON)
+            .ifNoneMatch(etag)
+            .exchange().expectStatus().isOk()
+            .expectBodyList(CategoryDTO.class)
+            .hasSize(1);
+  }
 }
\ No newline at end of file
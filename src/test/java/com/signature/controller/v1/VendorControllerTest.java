@@ -1,9 +1,19 @@
 package com.signature.controller.v1;
 
+import com.signature.config.AppProperties;
+import com.signature.domain.BatchItemDTO;
 import com.signature.domain.VendorDTO;
+import com.signature.idempotency.IdempotencyFilter;
 import com.signature.mapper.VendorMapper;
+import com.signature.model.IdempotencyRecord;
 import com.signature.model.Vendor;
+import com.signature.repository.BulkInsertResult;
+import com.signature.repository.ChangeEvent;
+import com.signature.repository.IdempotencyRecordRepository;
 import com.signature.service.VendorService;
+import com.signature.util.FieldSelection;
+import com.signature.util.KeysetPage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
@@ -18,9 +28,17 @@ import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Set;
+
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(SpringExtension.class)
@@ -32,9 +50,13 @@ class VendorControllerTest {
   @MockBean
   public VendorService vendorService;
 
+  @MockBean
+  public IdempotencyRecordRepository idempotencyRecordRepository;
+
   @BeforeEach
   void setUp() {
-    webTestClient = WebTestClient.bindToController(new VendorController(VendorMapper.INSTANCE, vendorService)).build();
+    webTestClient = WebTestClient.bindToController(
+            new VendorController(VendorMapper.INSTANCE, vendorService, new AppProperties())).build();
   }
 
   @Test
@@ -63,7 +85,7 @@ class VendorControllerTest {
     Vendor vendor = new Vendor(ObjectId.get().toString(), "Signature Technologies");
 
     //when
-    when(vendorService.getVendor(anyString())).thenReturn(Mono.just(vendor));
+    when(vendorService.getVendor(anyString(), any(FieldSelection.class))).thenReturn(Mono.just(vendor));
 
     //then
     webTestClient.get().uri("/api/v1/vendors/" + vendor.getId())
@@ -82,7 +104,7 @@ class VendorControllerTest {
     Vendor vendor3 = new Vendor(ObjectId.get().toString(), "Amazon Technologies");
 
     //when
-    when(vendorService.getAllVendors()).thenReturn(Flux.just(vendor1, vendor2, vendor3));
+    when(vendorService.getAllVendors(any(FieldSelection.class))).thenReturn(Flux.just(vendor1, vendor2, vendor3));
 
     //then
     webTestClient.get().uri("/api/v1/vendors")
@@ -151,4 +173,203 @@ class VendorControllerTest {
     webTestClient.delete().uri("/api/v1/vendors/" + vendor.getId())
             .exchange().expectStatus().isOk();
   }
+
+  @Test
+  @Order(7)
+  void getVendorPage() {
+    //given
+    Vendor vendor1 = new Vendor(ObjectId.get().toString(), "Signature Technologies");
+    Vendor vendor2 = new Vendor(ObjectId.get().toString(), "Microsoft Technologies");
+
+    //when
+    when(vendorService.getVendorPage(isNull(), eq(2), any(FieldSelection.class))).thenReturn(Flux.just(vendor1, vendor2));
+
+    //then
+    webTestClient.get().uri("/api/v1/vendors?limit=1")
+            .exchange().expectStatus().isOk()
+            .expectHeader().valueEquals(KeysetPage.NEXT_CURSOR_HEADER, KeysetPage.encode(vendor1.getId()))
+            .expectBodyList(VendorDTO.class)
+            .hasSize(1);
+  }
+
+  @Test
+  @Order(8)
+  void streamAllVendors() {
+    //given
+    Vendor vendor1 = new Vendor(ObjectId.get().toString(), "Signature Technologies");
+    Vendor vendor2 = new Vendor(ObjectId.get().toString(), "Microsoft Technologies");
+
+    //when
+    when(vendorService.streamAllVendors()).thenReturn(Flux.just(vendor1, vendor2));
+
+    //then
+    webTestClient.get().uri("/api/v1/vendors")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .exchange().expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+            .expectBodyList(VendorDTO.class)
+            .hasSize(2);
+  }
+
+  @Test
+  @Order(9)
+  void createVendors() {
+    //given
+    final String vendorId = ObjectId.get().toString();
+
+    //when
+    when(vendorService.addVendors(any())).thenReturn(Flux.just(new BulkInsertResult(0, vendorId, null)));
+
+    //then
+    webTestClient.post().uri("/api/v1/vendors/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Flux.just(new VendorDTO("Signature Technologies")), VendorDTO.class)
+            .exchange().expectStatus().isOk()
+            .expectBodyList(BatchItemDTO.class)
+            .hasSize(1)
+            .value(items -> assertEquals("/api/v1/vendors/" + vendorId, items.get(0).getUrl()));
+  }
+
+  @Test
+  @Order(10)
+  void getAllVendorsWithFields() {
+    //given
+    Vendor vendor = new Vendor(ObjectId.get().toString(), null);
+
+    //when
+    when(vendorService.getAllVendors(any(FieldSelection.class))).thenReturn(Flux.just(vendor));
+
+    //then
+    webTestClient.get().uri("/api/v1/vendors?fields=vendor_url")
+            .exchange().expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$[0].vendor_url").isEqualTo("/api/v1/vendors/" + vendor.getId())
+            .jsonPath("$[0].name").doesNotExist();
+  }
+
+  @Test
+  @Order(11)
+  void getVendorNotModified() {
+    //given
+    Vendor vendor = new Vendor(ObjectId.get().toString(), "Signature Technologies");
+
+    //when
+    when(vendorService.getVendor(anyString(), any(FieldSelection.class))).thenReturn(Mono.just(vendor));
+
+    //then
+    final String etag = webTestClient.get().uri("/api/v1/vendors/" + vendor.getId())
+            .exchange().expectStatus().isOk()
+            .returnResult(VendorDTO.class)
+            .getResponseHeaders().getETag();
+
+    webTestClient.get().uri("/api/v1/vendors/" + vendor.getId())
+            .ifNoneMatch(etag)
+            .exchange().expectStatus().isNotModified()
+            .expectBody().isEmpty();
+
+    webTestClient.get().uri("/api/v1/vendors/" + vendor.getId() + "?fields=name")
+            .ifNoneMatch(etag)
+            .exchange().expectStatus().isOk();
+  }
+
+  @Test
+  @Order(12)
+  void streamVendorChanges() {
+    //given
+    Vendor vendor = new Vendor(ObjectId.get().toString(), "Signature Technologies Ltd.");
+
+    //when
+    when(vendorService.getVendorChanges("0a")).thenReturn(Flux.just(
+            new ChangeEvent<>("0b", "insert", vendor.getId(), vendor)));
+
+    //then
+    webTestClient.get()
+            .uri("/api/v1/vendors/changes?resumeAfter=0a")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .exchange().expectStatus().isOk()
+            .expectBody(String.class)
+            .value(containsString("id:0b\nevent:insert\n"))
+            .value(containsString("\"vendor_url\":\"/api/v1/vendors/" + vendor.getId() + "\""));
+  }
+
+  @Test
+  @Order(13)
+  void getVendorsByIds() {
+    //given
+    Vendor vendor1 = new Vendor(ObjectId.get().toString(), "Signature Technologies Ltd.");
+    Vendor vendor2 = new Vendor(ObjectId.get().toString(), "Signature Technologies Ltd.");
+
+    //when
+    when(vendorService.getVendors(eq(Set.of(vendor1.getId(), vendor2.getId())), any(FieldSelection.class)))
+            .thenReturn(Flux.just(vendor1, vendor2));
+
+    //then
+    webTestClient.get()
+            .uri("/api/v1/vendors?ids={first}, {second},", vendor1.getId(), vendor2.getId())
+            .exchange().expectStatus().isOk()
+            .expectBodyList(VendorDTO.class)
+            .hasSize(2);
+
+    webTestClient.get()
+            .uri("/api/v1/vendors?ids={id}&limit=2", vendor1.getId())
+            .exchange().expectStatus().isBadRequest();
+
+    webTestClient.get()
+            .uri("/api/v1/vendors?ids=,")
+            .exchange().expectStatus().isBadRequest();
+  }
+
+  @Test
+  @Order(14)
+  void suggestVendors() {
+    //given
+    Vendor vendor = new Vendor(ObjectId.get().toString(), "Apple Technologies Ltd.");
+
+    //when
+    when(vendorService.suggestVendors("app", 10)).thenReturn(Flux.just(vendor));
+
+    //then
+    webTestClient.get()
+            .uri("/api/v1/vendors/suggest?prefix=app")
+            .exchange().expectStatus().isOk()
+            .expectBodyList(VendorDTO.class)
+            .hasSize(1)
+            .value(vendors -> vendors.get(0).getVendorUrl(), equalTo("/api/v1/vendors/" + vendor.getId()));
+
+    webTestClient.get()
+            .uri("/api/v1/vendors/suggest")
+            .exchange().expectStatus().isBadRequest();
+  }
+
+  @Test
+  @Order(15)
+  void createVendorIdempotent() {
+    //given
+    Vendor vendor = new Vendor(ObjectId.get().toString(), "Signature Technologies");
+    final AppProperties appProperties = new AppProperties();
+    final WebTestClient idempotentClient = WebTestClient.bindToController(
+                    new VendorController(VendorMapper.INSTANCE, vendorService, appProperties))
+            .webFilter(new IdempotencyFilter(idempotencyRecordRepository, appProperties, new SimpleMeterRegistry()))
+            .build();
+
+    //when
+    when(vendorService.addVendor(any(Vendor.class))).thenReturn(Mono.just(vendor));
+    when(idempotencyRecordRepository.insert(any(IdempotencyRecord.class)))
+            .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    when(idempotencyRecordRepository.save(any(IdempotencyRecord.class)))
+            .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+    //then
+    for (int attempt = 0; attempt < 2; attempt++) {
+      idempotentClient.post().uri("/api/v1/vendors")
+              .header("Idempotency-Key", "create-signature")
+              .contentType(MediaType.APPLICATION_JSON)
+              .body(Mono.just(new VendorDTO("Signature Technologies")), VendorDTO.class)
+              .exchange().expectStatus().isCreated()
+              .expectBody(VendorDTO.class)
+              .value(VendorDTO::getVendorUrl, equalTo("/api/v1/vendors/" + vendor.getId()));
+    }
+
+    verify(vendorService, times(1)).addVendor(any(Vendor.class));
+  }
 }
\ No newline at end of file
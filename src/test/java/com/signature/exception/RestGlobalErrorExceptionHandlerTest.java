@@ -0,0 +1,82 @@
+package com.signature.exception;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.reactive.error.DefaultErrorAttributes;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RestGlobalErrorExceptionHandlerTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private RestGlobalErrorExceptionHandler handler;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    handler = new RestGlobalErrorExceptionHandler(new DefaultErrorAttributes(), new StaticApplicationContext(),
+            ServerCodecConfigurer.create());
+    handler.afterPropertiesSet();
+  }
+
+  @Test
+  void notFoundIsStackless() {
+    final ResourceNotFoundException exception = ResourceNotFoundException.of("Customer", "id", "42");
+
+    assertEquals(0, exception.getStackTrace().length);
+    assertEquals("Customer with id 42 not found", exception.getMessage());
+    assertTrue(new ResourceNotFoundException("Not found").getStackTrace().length > 0);
+  }
+
+  @Test
+  void writeNotFoundDirectly() throws Exception {
+    //given
+    final MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/customers/42"));
+
+    //when
+    handler.handle(exchange, ResourceNotFoundException.of("Customer", "id", "42")).block();
+
+    //then
+    assertEquals(HttpStatus.NOT_FOUND, exchange.getResponse().getStatusCode());
+    assertEquals(MediaType.APPLICATION_JSON, exchange.getResponse().getHeaders().getContentType());
+    final JsonNode body = objectMapper.readTree(exchange.getResponse().getBodyAsString().block());
+    assertEquals("/api/v1/customers/42", body.get("path").asText());
+    assertEquals(404, body.get("status").asInt());
+    assertEquals("Not Found", body.get("error").asText());
+    assertEquals("Customer with id 42 not found", body.get("message").asText());
+    assertEquals(exchange.getRequest().getId(), body.get("requestId").asText());
+    assertTrue(body.has("timestamp"));
+  }
+
+  @Test
+  void renderOtherErrorsFromAttributes() throws Exception {
+    final MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/customers"));
+
+    handler.handle(exchange, new InvalidRequestException("Invalid input")).block();
+
+    assertEquals(HttpStatus.BAD_REQUEST, exchange.getResponse().getStatusCode());
+    final JsonNode body = objectMapper.readTree(exchange.getResponse().getBodyAsString().block());
+    assertEquals("Invalid input", body.get("message").asText());
+  }
+
+  @Test
+  void escapeBody() throws Exception {
+    final byte[] body = ErrorResponses.body(Instant.parse("2022-09-20T10:15:30.123Z"), "/a\"b",
+            HttpStatus.NOT_FOUND, "line\nbreak \\ done", "1");
+
+    final JsonNode json = objectMapper.readTree(body);
+    assertEquals("2022-09-20T10:15:30.123+00:00", json.get("timestamp").asText());
+    assertEquals("/a\"b", json.get("path").asText());
+    assertEquals("line\nbreak \\ done", json.get("message").asText());
+  }
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.signature.handler.v1;
+
+import com.signature.domain.CategoryDTO;
+import com.signature.mapper.CategoryMapper;
+import com.signature.model.Category;
+import com.signature.service.CategoryService;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+@TestMethodOrder(OrderAnnotation.class)
+class CategoryHandlerTest {
+
+  private WebTestClient webTestClient;
+
+  @MockBean
+  public CategoryService categoryService;
+
+  @BeforeEach
+  void setUp() {
+    webTestClient = WebTestClient.bindToRouterFunction(
+            V1Routes.categoryRoutes(new CategoryHandler(CategoryMapper.INSTANCE, categoryService))).build();
+  }
+
+  @Test
+  @Order(1)
+  void getAllCategories() {
+    Category category2 = new Category(ObjectId.get().toString(), "Dried");
+    Category category1 = new Category(ObjectId.get().toString(), "Fruits");
+
+    when(categoryService.getAll()).thenReturn(Flux.just(category1, category2));
+
+    webTestClient.get().uri("/api/v1/categories")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange().expectStatus().isOk()
+            .expectBodyList(CategoryDTO.class)
+            .hasSize(2);
+  }
+
+  @Test
+  @Order(2)
+  void getCategoryByName() {
+    Category category = new Category(ObjectId.get().toString(), "Fruits");
+
+    when(categoryService.getByName(anyString())).thenReturn(Mono.just(category));
+
+    webTestClient.get().uri("/api/v1/categories/Fruits")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange().expectStatus().isOk()
+            .expectBody(CategoryDTO.class);
+  }
+
+  @Test
+  @Order(3)
+  void streamAllCategories() {
+    Category category1 = new Category(ObjectId.get().toString(), "Fruits");
+    Category category2 = new Category(ObjectId.get().toString(), "Nuts");
+
+    when(categoryService.getAll()).thenReturn(Flux.just(category1, category2));
+
+    webTestClient.get().uri("/api/v1/categories")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange().expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .expectBodyList(CategoryDTO.class)
+            .hasSize(2);
+  }
+
+  @Test
+  @Order(4)
+  void getAllCategoriesNotModified() {
+    Category category1 = new Category(ObjectId.get().toString(), "Fruits");
+    Category category2 = new Category(ObjectId.get().toString(), "Nuts");
+
+    when(categoryService.getAll()).thenReturn(Flux.just(category1, category2));
+
+    final String etag = webTestClient.get().uri("/api/v1/categories")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange().expectStatus().isOk()
+            .returnResult(CategoryDTO.class)
+            .getResponseHeaders().getETag();
+
+    webTestClient.get().uri("/api/v1/categories")
+            .accept(MediaType.APPLICATION_JSON)
+            .ifNoneMatch(etag)
+            .exchange().expectStatus().isNotModified()
+            .expectBody().isEmpty();
+
+    when(categoryService.getAll()).thenReturn(Flux.just(category1));
+
+    webTestClient.get().uri("/api/v1/categories")
+            .accept(MediaType.APPLICATION_JSON)
+            .ifNoneMatch(etag)
+            .exchange().expectStatus().isOk()
+            .expectBodyList(CategoryDTO.class)
+            .hasSize(1);
+  }
+
+  @Test
+  @Order(5)
+  void getCategoryById() {
+    Category category = new Category(ObjectId.get().toString(), "Fruits");
+
+    when(categoryService.getById(category.getId())).thenReturn(Mono.just(category));
+
+    webTestClient.get().uri("/api/v1/categories/" + category.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange().expectStatus().isOk()
+            .expectBody(CategoryDTO.class)
+            .value(CategoryDTO::getCategoryUrl, equalTo("/api/v1/categories/" + category.getId()));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,530 @@
+package com.signature.handler.v1;
+
+import com.signature.config.AppProperties;
+import com.signature.domain.CustomerDTO;
+import com.signature.exception.BufferFullException;
+import com.signature.idempotency.IdempotencyFilter;
+import com.signature.mapper.CustomerMapper;
+import com.signature.model.Customer;
+import com.signature.model.IdempotencyRecord;
+import com.signature.repository.BulkInsertResult;
+import com.signature.repository.ChangeEvent;
+import com.signature.repository.IdempotencyRecordRepository;
+import com.signature.service.CustomerService;
+import com.signature.util.FieldSelection;
+import com.signature.util.KeysetPage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+@TestMethodOrder(OrderAnnotation.class)
+class CustomerHandlerTest {
+
+  private WebTestClient webTestClient;
+
+  @MockBean
+  public CustomerService customerService;
+
+  @MockBean
+  public IdempotencyRecordRepository idempotencyRecordRepository;
+
+  @BeforeEach
+  void setUp() {
+    webTestClient = WebTestClient.bindToRouterFunction(V1Routes.customerRoutes(
+            new CustomerHandler(CustomerMapper.INSTANCE, customerService, new AppProperties()))).build();
+  }
+
+  @Test
+  @Order(1)
+  void createCustomer() {
+    //given
+    Customer customer = new Customer(ObjectId.get().toString(), "Atul", "Singh");
+
+    //when
+    when(customerService.addCustomer(any(Customer.class))).thenReturn(Mono.just(customer));
+
+    //then
+    webTestClient.post()
+            .uri("/api/v1/customers")
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Mono.just(new CustomerDTO("Atul", "Singh")), CustomerDTO.class)
+            .exchange().expectStatus().isCreated()
+            .expectBody(CustomerDTO.class)
+            .value(CustomerDTO::getFirstName, equalTo("Atul"))
+            .value(CustomerDTO::getLastName, equalTo("Singh"))
+            .value(CustomerDTO::getCustomerUrl, equalTo("/api/v1/customers/" + customer.getId()));
+  }
+
+  @Test
+  @Order(2)
+  void getCustomer() {
+    //given
+    Customer customer = new Customer(ObjectId.get().toString(), "Atul", "Singh");
+
+    //when
+    when(customerService.getCustomer(anyString(), any(FieldSelection.class))).thenReturn(Mono.just(customer));
+
+    //then
+    webTestClient.get()
+            .uri("/api/v1/customers/" + customer.getId())
+            .exchange().expectStatus().isOk()
+            .expectBody(CustomerDTO.class)
+            .value(CustomerDTO::getFirstName, equalTo("Atul"))
+            .value(CustomerDTO::getLastName, equalTo("Singh"))
+            .value(CustomerDTO::getCustomerUrl, equalTo("/api/v1/customers/" + customer.getId()));
+  }
+
+  @Test
+  @Order(3)
+  void getAllCustomers() {
+    //given
+    Customer customer1 = new Customer(ObjectId.get().toString(), "Rishu", "Singh");
+    Customer customer2 = new Customer(ObjectId.get().toString(), "Atul", "Singh");
+    Customer customer3 = new Customer(ObjectId.get().toString(), "Chotu", "Singh");
+
+    //when
+    when(customerService.getAllCustomers(any(FieldSelection.class))).thenReturn(Flux.just(customer1, customer2, customer3));
+
+    //then
+    webTestClient.get()
+            .uri("/api/v1/customers")
+            .exchange().expectStatus().isOk()
+            .expectBodyList(CustomerDTO.class)
+            .hasSize(3);
+  }
+
+  @Test
+  @Order(4)
+  void updateCustomer() {
+    //given
+    final String customerId = ObjectId.get().toString();
+    Customer current = new Customer(customerId, "Atul", "Singh");
+    Customer updated = new Customer(customerId, "Rishu", "Singh");
+
+    //when
+    when(customerService.getCustomer(anyString())).thenReturn(Mono.just(current));
+    when(customerService.updateCustomer(any(Customer.class))).thenReturn(Mono.just(updated));
+
+    //then
+    webTestClient.put()
+            .uri("/api/v1/customers/" + customerId)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Mono.just(new CustomerDTO("Rishu", "Singh")), CustomerDTO.class)
+            .exchange().expectStatus().isOk()
+            .expectBody(CustomerDTO.class)
+            .value(CustomerDTO::getFirstName, equalTo("Rishu"))
+            .value(CustomerDTO::getLastName, equalTo("Singh"))
+            .value(CustomerDTO::getCustomerUrl, equalTo("/api/v1/customers/" + customerId));
+  }
+
+  @Test
+  @Order(5)
+  void patchCustomer() {
+    //given
+    final String customerId = ObjectId.get().toString();
+    Customer current = new Customer(customerId, "Rishu", "Singh");
+    Customer updated = new Customer(customerId, "Atul", "Singh");
+
+    //when
+    when(customerService.getCustomer(anyString())).thenReturn(Mono.just(current));
+    when(customerService.patchCustomer(any(Customer.class))).thenReturn(Mono.just(updated));
+
+    //then
+    final CustomerDTO customerDTO = new CustomerDTO();
+    customerDTO.setFirstName("Atul");
+
+    webTestClient.patch().uri("/api/v1/customers/" + customerId)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Mono.just(customerDTO), CustomerDTO.class)
+            .exchange().expectStatus().isOk()
+            .expectBody(CustomerDTO.class)
+            .value(CustomerDTO::getFirstName, equalTo("Atul"))
+            .value(CustomerDTO::getLastName, equalTo("Singh"))
+            .value(CustomerDTO::getCustomerUrl, equalTo("/api/v1/customers/" + customerId));
+  }
+
+  @Test
+  @Order(6)
+  void deleteCustomer() {
+    //given
+    Customer customer = new Customer(ObjectId.get().toString(), "Atul", "Singh");
+
+    //when
+    when(customerService.deleteCustomer(anyString())).thenReturn(Mono.empty());
+
+    //then
+    webTestClient.delete()
+            .uri("/api/v1/customers/" + customer.getId())
+            .exchange().expectStatus().isOk();
+  }
+
+  @Test
+  @Order(7)
+  void getCustomerPage() {
+    //given
+    Customer customer1 = new Customer(ObjectId.get().toString(), "Rishu", "Singh");
+    Customer customer2 = new Customer(ObjectId.get().toString(), "Atul", "Singh");
+    Customer customer3 = new Customer(ObjectId.get().toString(), "Chotu", "Singh");
+
+    //when
+    when(customerService.getCustomerPage(eq(customer1.getId()), eq(3), any(FieldSelection.class))).thenReturn(Flux.just(customer1, customer2, customer3));
+    when(customerService.getEstimatedCustomerCount()).thenReturn(Mono.just(7L));
+
+    //then
+    webTestClient.get()
+            .uri("/api/v1/customers?after={after}&limit=2&count=true", customer1.getId())
+            .exchange().expectStatus().isOk()
+            .expectHeader().valueEquals(KeysetPage.NEXT_CURSOR_HEADER, KeysetPage.encode(customer2.getId()))
+            .expectHeader().valueEquals(KeysetPage.TOTAL_COUNT_HEADER, "7")
+            .expectBodyList(CustomerDTO.class)
+            .hasSize(2);
+  }
+
+  @Test
+  @Order(8)
+  void getLastCustomerPage() {
+    //given
+    Customer customer = new Customer(ObjectId.get().toString(), "Rishu", "Singh");
+
+    //when
+    when(customerService.getCustomerPage(eq(customer.getId()), eq(3), any(FieldSelection.class))).thenReturn(Flux.just(customer));
+
+    //then
+    webTestClient.get()
+            .uri("/api/v1/customers?after={after}&limit=2", KeysetPage.encode(customer.getId()))
+            .exchange().expectStatus().isOk()
+            .expectHeader().doesNotExist(KeysetPage.NEXT_CURSOR_HEADER)
+            .expectHeader().doesNotExist(KeysetPage.TOTAL_COUNT_HEADER)
+            .expectBodyList(CustomerDTO.class)
+            .hasSize(1);
+  }
+
+  @Test
+  @Order(9)
+  void getCustomerPageWithInvalidCursor() {
+    webTestClient.get()
+            .uri("/api/v1/customers?after=not-a-cursor")
+            .exchange().expectStatus().isBadRequest();
+  }
+
+  @Test
+  @Order(10)
+  void streamAllCustomers() {
+    //given
+    Customer customer1 = new Customer(ObjectId.get().toString(), "Rishu", "Singh");
+    Customer customer2 = new Customer(ObjectId.get().toString(), "Atul", "Singh");
+
+    //when
+    when(customerService.streamAllCustomers()).thenReturn(Flux.just(customer1, customer2));
+
+    //then
+    webTestClient.get()
+            .uri("/api/v1/customers")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange().expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .expectBodyList(CustomerDTO.class)
+            .hasSize(2);
+  }
+
+  @Test
+  @Order(11)
+  void createCustomers() {
+    //given
+    final String customerId = ObjectId.get().toString();
+
+    //when
+    when(customerService.addCustomers(any())).thenReturn(Flux.just(
+            new BulkInsertResult(0, customerId, null),
+            new BulkInsertResult(1, null, BulkInsertResult.DUPLICATE_ID)));
+
+    //then
+    webTestClient.post()
+            .uri("/api/v1/customers/batch")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .bodyValue("{\"firstName\":\"Atul\",\"lastName\":\"Singh\"}\n{\"firstName\":\"Rishu\",\"lastName\":\"Singh\"}\n")
+            .exchange().expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.length()").isEqualTo(2)
+            .jsonPath("$[0].id").isEqualTo(customerId)
+            .jsonPath("$[0].url").isEqualTo("/api/v1/customers/" + customerId)
+            .jsonPath("$[1].index").isEqualTo(1)
+            .jsonPath("$[1].error").isEqualTo(BulkInsertResult.DUPLICATE_ID)
+            .jsonPath("$[1].url").doesNotExist();
+  }
+
+  @Test
+  @Order(12)
+  void getCustomerWithFields() {
+    //given
+    Customer customer = new Customer(ObjectId.get().toString(), "Atul", null);
+
+    //when
+    when(customerService.getCustomer(anyString(), any(FieldSelection.class))).thenReturn(Mono.just(customer));
+
+    //then
+    webTestClient.get()
+            .uri("/api/v1/customers/" + customer.getId() + "?fields=firstName")
+            .exchange().expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.firstName").isEqualTo("Atul")
+            .jsonPath("$.lastName").doesNotExist()
+            .jsonPath("$.customer_url").doesNotExist();
+
+    verify(customerService).getCustomer(eq(customer.getId()),
+            argThat(fields -> fields.getFields().equals(Set.of("firstName"))));
+  }
+
+  @Test
+  @Order(13)
+  void getAllCustomersWithUnknownField() {
+    webTestClient.get()
+            .uri("/api/v1/customers?fields=firstName,password")
+            .exchange().expectStatus().isBadRequest();
+  }
+
+  @Test
+  @Order(14)
+  void getCustomerNotModified() {
+    //given
+    Customer customer = new Customer(ObjectId.get().toString(), "Atul", "Singh");
+
+    //when
+    when(customerService.getCustomer(anyString(), any(FieldSelection.class))).thenReturn(Mono.just(customer));
+
+    //then
+    final String etag = webTestClient.get()
+            .uri("/api/v1/customers/" + customer.getId())
+            .exchange().expectStatus().isOk()
+            .expectHeader().exists(HttpHeaders.ETAG)
+            .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+            .returnResult(CustomerDTO.class)
+            .getResponseHeaders().getETag();
+
+    webTestClient.get()
+            .uri("/api/v1/customers/" + customer.getId())
+            .ifNoneMatch(etag)
+            .exchange().expectStatus().isNotModified()
+            .expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+            .expectBody().isEmpty();
+
+    webTestClient.get()
+            .uri("/api/v1/customers/" + customer.getId())
+            .accept(MediaType.valueOf("application/x-jackson-smile"))
+            .ifNoneMatch(etag)
+            .exchange().expectStatus().isOk()
+            .expectHeader().value(HttpHeaders.ETAG, not(equalTo(etag)));
+
+    customer.setLastName("Verma");
+
+    webTestClient.get()
+            .uri("/api/v1/customers/" + customer.getId())
+            .ifNoneMatch(etag)
+            .exchange().expectStatus().isOk()
+            .expectBody(CustomerDTO.class)
+            .value(CustomerDTO::getLastName, equalTo("Verma"));
+  }
+
+  @Test
+  @Order(15)
+  void streamCustomerChanges() {
+    //given
+    Customer customer = new Customer(ObjectId.get().toString(), "Atul", "Singh");
+
+    //when
+    when(customerService.getCustomerChanges("0a")).thenReturn(Flux.just(
+            new ChangeEvent<>("0b", "update", customer.getId(), customer),
+            new ChangeEvent<>("0c", "delete", customer.getId(), null)));
+
+    //then
+    webTestClient.get()
+            .uri("/api/v1/customers/changes")
+            .header("Last-Event-ID", "0a")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .exchange().expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+            .expectBody(String.class)
+            .value(containsString("id:0b\nevent:update\ndata:{\"operation\":\"update\",\"id\":\"" + customer.getId()
+                    + "\",\"data\":{\"firstName\":\"Atul\",\"lastName\":\"Singh\",\"customer_url\":\"/api/v1/customers/"
+                    + customer.getId() + "\"}}"))
+            .value(containsString("id:0c\nevent:delete\ndata:{\"operation\":\"delete\",\"id\":\"" + customer.getId() + "\"}"));
+  }
+
+  @Test
+  @Order(16)
+  void getCustomersByIds() {
+    //given
+    Customer customer1 = new Customer(ObjectId.get().toString(), "Atul", "Singh");
+    Customer customer2 = new Customer(ObjectId.get().toString(), "Atul", "Singh");
+
+    //when
+    when(customerService.getCustomers(eq(Set.of(customer1.getId(), customer2.getId())), any(FieldSelection.class)))
+            .thenReturn(Flux.just(customer1, customer2));
+
+    //then
+    webTestClient.get()
+            .uri("/api/v1/customers?ids={first}, {second},", customer1.getId(), customer2.getId())
+            .exchange().expectStatus().isOk()
+            .expectBodyList(CustomerDTO.class)
+            .hasSize(2);
+
+    webTestClient.get()
+            .uri("/api/v1/customers?ids={id}&limit=2", customer1.getId())
+            .exchange().expectStatus().isBadRequest();
+
+    webTestClient.get()
+            .uri("/api/v1/customers?ids=,")
+            .exchange().expectStatus().isBadRequest();
+  }
+
+  @Test
+  @Order(17)
+  void getAllCustomersAcceptingAnything() {
+    //given
+    Customer customer = new Customer(ObjectId.get().toString(), "Atul", "Singh");
+
+    //when
+    when(customerService.getAllCustomers(any(FieldSelection.class))).thenReturn(Flux.just(customer));
+
+    //then
+    webTestClient.get()
+            .uri("/api/v1/customers")
+            .accept(MediaType.ALL)
+            .exchange().expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+            .expectBodyList(CustomerDTO.class)
+            .hasSize(1);
+  }
+
+  @Test
+  @Order(18)
+  void createCustomerWithoutBody() {
+    webTestClient.post()
+            .uri("/api/v1/customers")
+            .contentType(MediaType.APPLICATION_JSON)
+            .exchange().expectStatus().isBadRequest();
+  }
+
+  @Test
+  @Order(19)
+  void createCustomerWriteBehind() {
+    //given
+    Customer customer = new Customer(ObjectId.get().toString(), "Atul", "Singh");
+    final AppProperties appProperties = new AppProperties();
+    appProperties.getWriteBehind().setEnabled(true);
+    final WebTestClient writeBehindClient = WebTestClient.bindToRouterFunction(V1Routes.customerRoutes(
+            new CustomerHandler(CustomerMapper.INSTANCE, customerService, appProperties))).build();
+
+    //when
+    when(customerService.bufferCustomer(any(Customer.class)))
+            .thenReturn(Mono.just(customer))
+            .thenReturn(Mono.error(new BufferFullException("The customers write buffer is full")));
+
+    //then
+    writeBehindClient.post()
+            .uri("/api/v1/customers")
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Mono.just(new CustomerDTO("Atul", "Singh")), CustomerDTO.class)
+            .exchange().expectStatus().isAccepted()
+            .expectBody(CustomerDTO.class)
+            .value(CustomerDTO::getCustomerUrl, equalTo("/api/v1/customers/" + customer.getId()));
+
+    writeBehindClient.post()
+            .uri("/api/v1/customers")
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Mono.just(new CustomerDTO("Atul", "Singh")), CustomerDTO.class)
+            .exchange().expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+    verify(customerService, never()).addCustomer(any(Customer.class));
+  }
+
+  @Test
+  @Order(20)
+  void searchCustomers() {
+    //given
+    Customer customer = new Customer(ObjectId.get().toString(), "Atul", "Singh");
+
+    //when
+    when(customerService.searchCustomers("at", 10)).thenReturn(Flux.just(customer));
+    when(customerService.searchCustomers("at", 50)).thenReturn(Flux.empty());
+
+    //then
+    webTestClient.get()
+            .uri("/api/v1/customers/search?q=at")
+            .exchange().expectStatus().isOk()
+            .expectBodyList(CustomerDTO.class)
+            .hasSize(1)
+            .value(customers -> customers.get(0).getCustomerUrl(), equalTo("/api/v1/customers/" + customer.getId()));
+
+    webTestClient.get()
+            .uri("/api/v1/customers/search?q=at&limit=1000")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange().expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON);
+
+    webTestClient.get()
+            .uri("/api/v1/customers/search")
+            .exchange().expectStatus().isBadRequest();
+  }
+
+  @Test
+  @Order(21)
+  void createCustomerIdempotent() {
+    //given
+    Customer customer = new Customer(ObjectId.get().toString(), "Atul", "Singh");
+    final AppProperties appProperties = new AppProperties();
+    final WebTestClient idempotentClient = WebTestClient.bindToRouterFunction(V1Routes.customerRoutes(
+                    new CustomerHandler(CustomerMapper.INSTANCE, customerService, appProperties)))
+            .webFilter(new IdempotencyFilter(idempotencyRecordRepository, appProperties, new SimpleMeterRegistry()))
+            .build();
+
+    //when
+    when(customerService.addCustomer(any(Customer.class))).thenReturn(Mono.just(customer));
+    when(idempotencyRecordRepository.insert(any(IdempotencyRecord.class)))
+            .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    when(idempotencyRecordRepository.save(any(IdempotencyRecord.class)))
+            .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+    //then
+    for (int attempt = 0; attempt < 2; attempt++) {
+      idempotentClient.post()
+              .uri("/api/v1/customers")
+              .header("Idempotency-Key", "create-atul")
+              .contentType(MediaType.APPLICATION_JSON)
+              .body(Mono.just(new CustomerDTO("Atul", "Singh")), CustomerDTO.class)
+              .exchange().expectStatus().isCreated()
+              .expectBody(CustomerDTO.class)
+              .value(CustomerDTO::getCustomerUrl, equalTo("/api/v1/customers/" + customer.getId()));
+    }
+
+    verify(customerService, times(1)).addCustomer(any(Customer.class));
+  }
+}
\ No newline at end of file
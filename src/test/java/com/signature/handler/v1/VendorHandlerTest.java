@@ -0,0 +1,383 @@
+package com.signature.handler.v1;
+
+import com.signature.config.AppProperties;
+import com.signature.domain.BatchItemDTO;
+import com.signature.domain.VendorDTO;
+import com.signature.idempotency.IdempotencyFilter;
+import com.signature.mapper.VendorMapper;
+import com.signature.model.IdempotencyRecord;
+import com.signature.model.Vendor;
+import com.signature.repository.BulkInsertResult;
+import com.signature.repository.ChangeEvent;
+import com.signature.repository.IdempotencyRecordRepository;
+import com.signature.service.VendorService;
+import com.signature.util.FieldSelection;
+import com.signature.util.KeysetPage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+@TestMethodOrder(OrderAnnotation.class)
+class VendorHandlerTest {
+
+  private WebTestClient webTestClient;
+
+  @MockBean
+  public VendorService vendorService;
+
+  @MockBean
+  public IdempotencyRecordRepository idempotencyRecordRepository;
+
+  @BeforeEach
+  void setUp() {
+    webTestClient = WebTestClient.bindToRouterFunction(V1Routes.vendorRoutes(
+            new VendorHandler(VendorMapper.INSTANCE, vendorService, new AppProperties()))).build();
+  }
+
+  @Test
+  @Order(1)
+  void createVendor() {
+    //given
+    Vendor vendor = new Vendor(ObjectId.get().toString(), "Signature Technologies");
+
+    //when
+    when(vendorService.addVendor(any(Vendor.class))).thenReturn(Mono.just(vendor));
+
+    //then
+    webTestClient.post().uri("/api/v1/vendors")
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Mono.just(new VendorDTO("Signature Technologies")), VendorDTO.class)
+            .exchange().expectStatus().isCreated()
+            .expectBody(VendorDTO.class)
+            .value(VendorDTO::getName, equalTo("Signature Technologies"))
+            .value(VendorDTO::getVendorUrl, equalTo("/api/v1/vendors/" + vendor.getId()));
+  }
+
+  @Test
+  @Order(2)
+  void getVendor() {
+    //given
+    Vendor vendor = new Vendor(ObjectId.get().toString(), "Signature Technologies");
+
+    //when
+    when(vendorService.getVendor(anyString(), any(FieldSelection.class))).thenReturn(Mono.just(vendor));
+
+    //then
+    webTestClient.get().uri("/api/v1/vendors/" + vendor.getId())
+            .exchange().expectStatus().isOk()
+            .expectBody(VendorDTO.class)
+            .value(VendorDTO::getName, equalTo("Signature Technologies"))
+            .value(VendorDTO::getVendorUrl, equalTo("/api/v1/vendors/" + vendor.getId()));
+  }
+
+  @Test
+  @Order(3)
+  void getAllVendors() {
+    //given
+    Vendor vendor1 = new Vendor(ObjectId.get().toString(), "Signature Technologies");
+    Vendor vendor2 = new Vendor(ObjectId.get().toString(), "Microsoft Technologies");
+    Vendor vendor3 = new Vendor(ObjectId.get().toString(), "Amazon Technologies");
+
+    //when
+    when(vendorService.getAllVendors(any(FieldSelection.class))).thenReturn(Flux.just(vendor1, vendor2, vendor3));
+
+    //then
+    webTestClient.get().uri("/api/v1/vendors")
+            .exchange().expectStatus().isOk()
+            .expectBodyList(VendorDTO.class)
+            .hasSize(3);
+  }
+
+  @Test
+  @Order(4)
+  void updateVendor() {
+    //given
+    final String vendorId = ObjectId.get().toString();
+    Vendor current = new Vendor(vendorId, "Microsoft Technologies");
+    Vendor updated = new Vendor(vendorId, "Signature Technologies");
+
+    //when
+    when(vendorService.getVendor(anyString())).thenReturn(Mono.just(current));
+    when(vendorService.updateVendor(any(Vendor.class))).thenReturn(Mono.just(updated));
+
+    //then
+    webTestClient.put().uri("/api/v1/vendors/" + vendorId)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Mono.just(new VendorDTO("Signature Technologies")), VendorDTO.class)
+            .exchange().expectStatus().isOk()
+            .expectBody(VendorDTO.class)
+            .value(VendorDTO::getName, equalTo("Signature Technologies"))
+            .value(VendorDTO::getVendorUrl, equalTo("/api/v1/vendors/" + vendorId));
+  }
+
+  @Test
+  @Order(5)
+  void patchVendor() {
+    //given
+    final String vendorId = ObjectId.get().toString();
+    Vendor current = new Vendor(vendorId, "Signature Technologies");
+    Vendor updated = new Vendor(vendorId, "Microsoft Technologies");
+
+    //when
+    when(vendorService.getVendor(anyString())).thenReturn(Mono.just(current));
+    when(vendorService.patchVendor(any(Vendor.class))).thenReturn(Mono.just(updated));
+
+    //then
+    VendorDTO vendorDTO = new VendorDTO();
+    vendorDTO.setName("Microsoft Technologies");
+
+    webTestClient.patch().uri("/api/v1/vendors/" + vendorId)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Mono.just(vendorDTO), VendorDTO.class)
+            .exchange().expectStatus().isOk()
+            .expectBody(VendorDTO.class)
+            .value(VendorDTO::getName, equalTo("Microsoft Technologies"))
+            .value(VendorDTO::getVendorUrl, equalTo("/api/v1/vendors/" + vendorId));
+  }
+
+  @Test
+  @Order(6)
+  void deleteVendor() {
+    //given
+    Vendor vendor = new Vendor(ObjectId.get().toString(), "Signature Technologies");
+
+    //when
+    when(vendorService.deleteVendor(anyString())).thenReturn(Mono.empty());
+
+    //then
+    webTestClient.delete().uri("/api/v1/vendors/" + vendor.getId())
+            .exchange().expectStatus().isOk();
+  }
+
+  @Test
+  @Order(7)
+  void getVendorPage() {
+    //given
+    Vendor vendor1 = new Vendor(ObjectId.get().toString(), "Signature Technologies");
+    Vendor vendor2 = new Vendor(ObjectId.get().toString(), "Microsoft Technologies");
+
+    //when
+    when(vendorService.getVendorPage(isNull(), eq(2), any(FieldSelection.class))).thenReturn(Flux.just(vendor1, vendor2));
+
+    //then
+    webTestClient.get().uri("/api/v1/vendors?limit=1")
+            .exchange().expectStatus().isOk()
+            .expectHeader().valueEquals(KeysetPage.NEXT_CURSOR_HEADER, KeysetPage.encode(vendor1.getId()))
+            .expectBodyList(VendorDTO.class)
+            .hasSize(1);
+  }
+
+  @Test
+  @Order(8)
+  void streamAllVendors() {
+    //given
+    Vendor vendor1 = new Vendor(ObjectId.get().toString(), "Signature Technologies");
+    Vendor vendor2 = new Vendor(ObjectId.get().toString(), "Microsoft Technologies");
+
+    //when
+    when(vendorService.streamAllVendors()).thenReturn(Flux.just(vendor1, vendor2));
+
+    //then
+    webTestClient.get().uri("/api/v1/vendors")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .exchange().expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+            .expectBodyList(VendorDTO.class)
+            .hasSize(2);
+  }
+
+  @Test
+  @Order(9)
+  void createVendors() {
+    //given
+    final String vendorId = ObjectId.get().toString();
+
+    //when
+    when(vendorService.addVendors(any())).thenReturn(Flux.just(new BulkInsertResult(0, vendorId, null)));
+
+    //then
+    webTestClient.post().uri("/api/v1/vendors/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Flux.just(new VendorDTO("Signature Technologies")), VendorDTO.class)
+            .exchange().expectStatus().isOk()
+            .expectBodyList(BatchItemDTO.class)
+            .hasSize(1)
+            .value(items -> assertEquals("/api/v1/vendors/" + vendorId, items.get(0).getUrl()));
+  }
+
+  @Test
+  @Order(10)
+  void getAllVendorsWithFields() {
+    //given
+    Vendor vendor = new Vendor(ObjectId.get().toString(), null);
+
+    //when
+    when(vendorService.getAllVendors(any(FieldSelection.class))).thenReturn(Flux.just(vendor));
+
+    //then
+    webTestClient.get().uri("/api/v1/vendors?fields=vendor_url")
+            .exchange().expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$[0].vendor_url").isEqualTo("/api/v1/vendors/" + vendor.getId())
+            .jsonPath("$[0].name").doesNotExist();
+  }
+
+  @Test
+  @Order(11)
+  void getVendorNotModified() {
+    //given
+    Vendor vendor = new Vendor(ObjectId.get().toString(), "Signature Technologies");
+
+    //when
+    when(vendorService.getVendor(anyString(), any(FieldSelection.class))).thenReturn(Mono.just(vendor));
+
+    //then
+    final String etag = webTestClient.get().uri("/api/v1/vendors/" + vendor.getId())
+            .exchange().expectStatus().isOk()
+            .returnResult(VendorDTO.class)
+            .getResponseHeaders().getETag();
+
+    webTestClient.get().uri("/api/v1/vendors/" + vendor.getId())
+            .ifNoneMatch(etag)
+            .exchange().expectStatus().isNotModified()
+            .expectBody().isEmpty();
+
+    webTestClient.get().uri("/api/v1/vendors/" + vendor.getId() + "?fields=name")
+            .ifNoneMatch(etag)
+            .exchange().expectStatus().isOk();
+  }
+
+  @Test
+  @Order(12)
+  void streamVendorChanges() {
+    //given
+    Vendor vendor = new Vendor(ObjectId.get().toString(), "Signature Technologies Ltd.");
+
+    //when
+    when(vendorService.getVendorChanges("0a")).thenReturn(Flux.just(
+            new ChangeEvent<>("0b", "insert", vendor.getId(), vendor)));
+
+    //then
+    webTestClient.get()
+            .uri("/api/v1/vendors/changes?resumeAfter=0a")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .exchange().expectStatus().isOk()
+            .expectBody(String.class)
+            .value(containsString("id:0b\nevent:insert\n"))
+            .value(containsString("\"vendor_url\":\"/api/v1/vendors/" + vendor.getId() + "\""));
+  }
+
+  @Test
+  @Order(13)
+  void getVendorsByIds() {
+    //given
+    Vendor vendor1 = new Vendor(ObjectId.get().toString(), "Signature Technologies Ltd.");
+    Vendor vendor2 = new Vendor(ObjectId.get().toString(), "Signature Technologies Ltd.");
+
+    //when
+    when(vendorService.getVendors(eq(Set.of(vendor1.getId(), vendor2.getId())), any(FieldSelection.class)))
+            .thenReturn(Flux.just(vendor1, vendor2));
+
+    //then
+    webTestClient.get()
+            .uri("/api/v1/vendors?ids={first}, {second},", vendor1.getId(), vendor2.getId())
+            .exchange().expectStatus().isOk()
+            .expectBodyList(VendorDTO.class)
+            .hasSize(2);
+
+    webTestClient.get()
+            .uri("/api/v1/vendors?ids={id}&limit=2", vendor1.getId())
+            .exchange().expectStatus().isBadRequest();
+
+    webTestClient.get()
+            .uri("/api/v1/vendors?ids=,")
+            .exchange().expectStatus().isBadRequest();
+  }
+
+  @Test
+  @Order(14)
+  void suggestVendors() {
+    //given
+    Vendor vendor = new Vendor(ObjectId.get().toString(), "Apple Technologies Ltd.");
+
+    //when
+    when(vendorService.suggestVendors("app", 10)).thenReturn(Flux.just(vendor));
+
+    //then
+    webTestClient.get()
+            .uri("/api/v1/vendors/suggest?prefix=app")
+            .exchange().expectStatus().isOk()
+            .expectBodyList(VendorDTO.class)
+            .hasSize(1)
+            .value(vendors -> vendors.get(0).getVendorUrl(), equalTo("/api/v1/vendors/" + vendor.getId()));
+
+    webTestClient.get()
+            .uri("/api/v1/vendors/suggest")
+            .exchange().expectStatus().isBadRequest();
+  }
+
+  @Test
+  @Order(15)
+  void createVendorIdempotently() {
+    //given
+    Vendor vendor = new Vendor(ObjectId.get().toString(), "Signature Technologies");
+    final WebTestClient idempotentClient = WebTestClient.bindToRouterFunction(V1Routes.vendorRoutes(
+                    new VendorHandler(VendorMapper.INSTANCE, vendorService, new AppProperties())))
+            .webFilter(new IdempotencyFilter(idempotencyRecordRepository, new AppProperties(),
+                    new SimpleMeterRegistry()))
+            .build();
+
+    //when
+    when(vendorService.addVendor(any(Vendor.class))).thenReturn(Mono.just(vendor));
+    when(idempotencyRecordRepository.insert(any(IdempotencyRecord.class)))
+            .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    when(idempotencyRecordRepository.save(any(IdempotencyRecord.class)))
+            .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+    //then
+    idempotentClient.post().uri("/api/v1/vendors")
+            .header("Idempotency-Key", "create-signature")
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Mono.just(new VendorDTO("Signature Technologies")), VendorDTO.class)
+            .exchange().expectStatus().isCreated()
+            .expectHeader().doesNotExist("Idempotent-Replayed")
+            .expectBody(VendorDTO.class)
+            .value(VendorDTO::getVendorUrl, equalTo("/api/v1/vendors/" + vendor.getId()));
+
+    idempotentClient.post().uri("/api/v1/vendors")
+            .header("Idempotency-Key", "create-signature")
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Mono.just(new VendorDTO("Signature Technologies")), VendorDTO.class)
+            .exchange().expectStatus().isCreated()
+            .expectHeader().valueEquals("Idempotent-Replayed", "true")
+            .expectBody(VendorDTO.class)
+            .value(VendorDTO::getVendorUrl, equalTo("/api/v1/vendors/" + vendor.getId()));
+
+    verify(vendorService, times(1)).addVendor(any(Vendor.class));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,343 @@
+package com.signature.idempotency;
+
+import com.signature.config.AppProperties;
+import com.signature.model.IdempotencyRecord;
+import com.signature.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotencyFilterTest {
+
+  private static final String PATH = "/api/v1/customers";
+  private static final String BODY = "{\"firstName\":\"Atul\",\"lastName\":\"Singh\"}";
+
+  private final Map<String, IdempotencyRecord> records = new ConcurrentHashMap<>();
+  private final AtomicInteger executions = new AtomicInteger();
+
+  private SimpleMeterRegistry registry;
+  private AppProperties appProperties;
+  private IdempotencyRecordRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    appProperties = new AppProperties();
+    appProperties.getIdempotency().setPollInterval(Duration.ofMillis(10));
+    appProperties.getIdempotency().setWaitTimeout(Duration.ofMillis(300));
+
+    repository = mock(IdempotencyRecordRepository.class);
+    lenient().when(repository.insert(any(IdempotencyRecord.class))).thenAnswer(invocation -> {
+      final IdempotencyRecord record = invocation.getArgument(0);
+      return records.putIfAbsent(record.getId(), record) == null
+              ? Mono.just(record) : Mono.error(new DuplicateKeyException("E11000 duplicate key"));
+    });
+    lenient().when(repository.save(any(IdempotencyRecord.class))).thenAnswer(invocation -> {
+      final IdempotencyRecord record = invocation.getArgument(0);
+      records.put(record.getId(), record);
+      return Mono.just(record);
+    });
+    lenient().when(repository.findById(anyString()))
+            .thenAnswer(invocation -> Mono.justOrEmpty(records.get(invocation.<String>getArgument(0))));
+    lenient().when(repository.deleteById(anyString()))
+            .thenAnswer(invocation -> Mono.fromRunnable(() -> records.remove(invocation.<String>getArgument(0))));
+  }
+
+  @Test
+  void replayResponseWithoutRunningRequestAgain() {
+    //given
+    final IdempotencyFilter filter = new IdempotencyFilter(repository, appProperties, registry);
+
+    //when
+    final MockServerWebExchange first = filter(filter, "key-1", BODY, created(Duration.ZERO));
+    final MockServerWebExchange retry = filter(filter, "key-1", BODY, created(Duration.ZERO));
+
+    //then
+    assertEquals(1, executions.get());
+    assertEquals(HttpStatus.CREATED, retry.getResponse().getStatusCode());
+    assertEquals(first.getResponse().getBodyAsString().block(), retry.getResponse().getBodyAsString().block());
+    assertEquals(MediaType.APPLICATION_JSON, retry.getResponse().getHeaders().getContentType());
+    assertEquals("/api/v1/customers/1", retry.getResponse().getHeaders().getLocation().toString());
+    assertEquals("true", retry.getResponse().getHeaders().getFirst(IdempotencyFilter.REPLAYED_HEADER));
+    assertNull(first.getResponse().getHeaders().getFirst(IdempotencyFilter.REPLAYED_HEADER));
+    assertEquals(1, records.size());
+    assertEquals(201, records.values().iterator().next().getStatus());
+    assertEquals(1, registry.get("app.idempotency.requests").tag("result", "replayed").counter().count());
+  }
+
+  @Test
+  void replayStoredResponseAfterCacheMiss() {
+    //given
+    appProperties.getIdempotency().setCacheSize(0);
+    final IdempotencyFilter filter = new IdempotencyFilter(repository, appProperties, registry);
+    filter(filter, "key-1", BODY, created(Duration.ZERO));
+
+    //when
+    final MockServerWebExchange retry = filter(new IdempotencyFilter(repository, appProperties, registry),
+            "key-1", BODY, created(Duration.ZERO));
+
+    //then
+    assertEquals(1, executions.get());
+    assertEquals(HttpStatus.CREATED, retry.getResponse().getStatusCode());
+    assertTrue(retry.getResponse().getBodyAsString().block().contains("\"customer\":1"));
+  }
+
+  @Test
+  void rejectKeyReusedWithDifferentBody() {
+    //given
+    final IdempotencyFilter filter = new IdempotencyFilter(repository, appProperties, registry);
+    filter(filter, "key-1", BODY, created(Duration.ZERO));
+
+    //when
+    final MockServerWebExchange other = filter(filter, "key-1", "{\"firstName\":\"Other\"}", created(Duration.ZERO));
+
+    //then
+    assertEquals(1, executions.get());
+    assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, other.getResponse().getStatusCode());
+    assertEquals(1, registry.get("app.idempotency.requests").tag("result", "mismatched").counter().count());
+  }
+
+  @Test
+  void scopeKeysByPathAndApiKey() {
+    //given
+    final IdempotencyFilter filter = new IdempotencyFilter(repository, appProperties, registry);
+
+    //when
+    filter(filter, "key-1", BODY, created(Duration.ZERO));
+    filter(filter, MockServerHttpRequest.post("/api/v1/vendors").header("Idempotency-Key", "key-1"), BODY,
+            created(Duration.ZERO));
+    filter(filter, MockServerHttpRequest.post(PATH).header("Idempotency-Key", "key-1")
+            .header("X-API-Key", "client-2"), BODY, created(Duration.ZERO));
+
+    //then
+    assertEquals(3, executions.get());
+    assertEquals(3, records.size());
+  }
+
+  @Test
+  void releaseKeyWhenRequestFails() {
+    //given
+    final IdempotencyFilter filter = new IdempotencyFilter(repository, appProperties, registry);
+    final WebFilterChain failing = exchange -> {
+      executions.incrementAndGet();
+      exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+      return exchange.getResponse().setComplete();
+    };
+
+    //when
+    final MockServerWebExchange first = filter(filter, "key-1", BODY, failing);
+    final MockServerWebExchange retry = filter(filter, "key-1", BODY, created(Duration.ZERO));
+
+    //then
+    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, first.getResponse().getStatusCode());
+    assertEquals(HttpStatus.CREATED, retry.getResponse().getStatusCode());
+    assertEquals(2, executions.get());
+  }
+
+  @Test
+  void releaseKeyWhenRequestErrors() {
+    //given
+    final IdempotencyFilter filter = new IdempotencyFilter(repository, appProperties, registry);
+    final WebFilterChain failing = exchange -> {
+      executions.incrementAndGet();
+      return Mono.error(new IllegalStateException("database down"));
+    };
+
+    //when
+    final Mono<Void> first = filter.filter(exchange(request("key-1"), BODY), failing);
+
+    //then
+    assertEquals("database down", assertThrows(IllegalStateException.class, first::block).getMessage());
+    assertTrue(records.isEmpty());
+  }
+
+  @Test
+  void keepKeyWhenResponseCannotBeStored() {
+    //given
+    when(repository.save(any(IdempotencyRecord.class))).thenReturn(Mono.error(new IllegalStateException("timeout")));
+    final IdempotencyFilter filter = new IdempotencyFilter(repository, appProperties, registry);
+
+    //when
+    final MockServerWebExchange first = filter(filter, "key-1", BODY, created(Duration.ZERO));
+    final MockServerWebExchange retry = filter(filter, "key-1", BODY, created(Duration.ZERO));
+
+    //then
+    assertEquals(HttpStatus.CREATED, first.getResponse().getStatusCode());
+    assertEquals(HttpStatus.CONFLICT, retry.getResponse().getStatusCode());
+    assertEquals(1, executions.get());
+    assertEquals(1, records.size());
+  }
+
+  @Test
+  void keepKeyWithoutStoringAcceptedResponse() {
+    //given
+    final IdempotencyFilter filter = new IdempotencyFilter(repository, appProperties, registry);
+
+    //when
+    final MockServerWebExchange first = filter(filter, "key-1", BODY, answer(HttpStatus.ACCEPTED, Duration.ZERO));
+    final MockServerWebExchange retry = filter(filter, "key-1", BODY, answer(HttpStatus.ACCEPTED, Duration.ZERO));
+
+    //then
+    assertEquals(HttpStatus.ACCEPTED, first.getResponse().getStatusCode());
+    assertEquals(HttpStatus.CONFLICT, retry.getResponse().getStatusCode());
+    assertEquals(1, executions.get());
+    assertNull(records.values().iterator().next().getStatus());
+    verify(repository, never()).save(any(IdempotencyRecord.class));
+  }
+
+  @Test
+  void concurrentDuplicateWaitsForOriginal() {
+    //given
+    final IdempotencyFilter filter = new IdempotencyFilter(repository, appProperties, registry);
+    final MockServerWebExchange original = exchange(request("key-1"), BODY);
+    final MockServerWebExchange duplicate = exchange(request("key-1"), BODY);
+
+    //when
+    Mono.when(filter.filter(original, created(Duration.ofMillis(100))),
+            filter.filter(duplicate, created(Duration.ZERO))).block();
+
+    //then
+    assertEquals(1, executions.get());
+    assertEquals(HttpStatus.CREATED, duplicate.getResponse().getStatusCode());
+    assertEquals(original.getResponse().getBodyAsString().block(), duplicate.getResponse().getBodyAsString().block());
+  }
+
+  @Test
+  void duplicateOfOtherInstanceWaitsForStoredResponse() {
+    //given
+    final IdempotencyFilter original = new IdempotencyFilter(repository, appProperties, registry);
+    final IdempotencyFilter other = new IdempotencyFilter(repository, appProperties, new SimpleMeterRegistry());
+    final MockServerWebExchange duplicate = exchange(request("key-1"), BODY);
+
+    //when
+    Mono.when(original.filter(exchange(request("key-1"), BODY), created(Duration.ofMillis(100))),
+            Mono.delay(Duration.ofMillis(20)).then(other.filter(duplicate, created(Duration.ZERO)))).block();
+
+    //then
+    assertEquals(1, executions.get());
+    assertEquals(HttpStatus.CREATED, duplicate.getResponse().getStatusCode());
+    assertEquals("true", duplicate.getResponse().getHeaders().getFirst(IdempotencyFilter.REPLAYED_HEADER));
+  }
+
+  @Test
+  void answerConflictWhileOriginalIsInProgress() {
+    //given
+    final IdempotencyFilter filter = new IdempotencyFilter(repository, appProperties, registry);
+    filter(filter, "key-1", BODY, created(Duration.ZERO));
+    final String id = records.keySet().iterator().next();
+    records.put(id, new IdempotencyRecord(id, "pending", new Date()));
+
+    //when
+    final MockServerWebExchange duplicate = filter(new IdempotencyFilter(repository, appProperties, registry),
+            "key-1", BODY, created(Duration.ZERO));
+
+    //then
+    assertEquals(1, executions.get());
+    assertEquals(HttpStatus.CONFLICT, duplicate.getResponse().getStatusCode());
+    assertEquals(1, registry.get("app.idempotency.requests").tag("result", "in_progress").counter().count());
+  }
+
+  @Test
+  void passRequestsWithoutKey() {
+    //given
+    final IdempotencyFilter filter = new IdempotencyFilter(repository, appProperties, registry);
+
+    //when
+    filter(filter, MockServerHttpRequest.post(PATH), BODY, created(Duration.ZERO));
+    filter(filter, MockServerHttpRequest.post(PATH), BODY, created(Duration.ZERO));
+    filter(filter, MockServerHttpRequest.post(PATH + "/batch").header("Idempotency-Key", "key-1"), BODY,
+            created(Duration.ZERO));
+    filter(filter, MockServerHttpRequest.post(PATH + "/batch").header("Idempotency-Key", "key-1"), BODY,
+            created(Duration.ZERO));
+
+    //then
+    assertEquals(4, executions.get());
+    assertTrue(records.isEmpty());
+  }
+
+  @Test
+  void rejectOverlongKey() {
+    //given
+    final IdempotencyFilter filter = new IdempotencyFilter(repository, appProperties, registry);
+
+    //when
+    final MockServerWebExchange exchange = filter(filter, "k".repeat(256), BODY, created(Duration.ZERO));
+
+    //then
+    assertEquals(HttpStatus.BAD_REQUEST, exchange.getResponse().getStatusCode());
+    assertEquals(0, executions.get());
+  }
+
+  private WebFilterChain created(final Duration delay) {
+    return answer(HttpStatus.CREATED, delay);
+  }
+
+  /**
+   * Echoes the request body with the number of the execution, after the given delay.
+   */
+  private WebFilterChain answer(final HttpStatus status, final Duration delay) {
+    return exchange -> DataBufferUtils.join(exchange.getRequest().getBody())
+            .map(buffer -> buffer.toString(StandardCharsets.UTF_8))
+            .delayElement(delay)
+            .flatMap(body -> {
+              final int execution = executions.incrementAndGet();
+              final ServerHttpResponse response = exchange.getResponse();
+              response.setStatusCode(status);
+              response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+              response.getHeaders().set("Location", "/api/v1/customers/" + execution);
+              final byte[] bytes = ("{\"customer\":" + execution + ",\"request\":" + body + "}")
+                      .getBytes(StandardCharsets.UTF_8);
+              return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+            });
+  }
+
+  private static MockServerHttpRequest.BodyBuilder request(final String key) {
+    return MockServerHttpRequest.post(PATH).header("Idempotency-Key", key);
+  }
+
+  private static MockServerWebExchange exchange(final MockServerHttpRequest.BodyBuilder request, final String body) {
+    return MockServerWebExchange.from(request.contentType(MediaType.APPLICATION_JSON).body(body));
+  }
+
+  private static MockServerWebExchange filter(final IdempotencyFilter filter, final String key, final String body,
+                                              final WebFilterChain chain) {
+    return filter(filter, request(key), body, chain);
+  }
+
+  private static MockServerWebExchange filter(final IdempotencyFilter filter,
+                                              final MockServerHttpRequest.BodyBuilder request,
+                                              final String body,
+                                              final WebFilterChain chain) {
+    final MockServerWebExchange exchange = exchange(request, body);
+    filter.filter(exchange, chain).block();
+    return exchange;
+  }
+}
\ No newline at end of file
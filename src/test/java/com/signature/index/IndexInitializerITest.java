@@ -0,0 +1,134 @@
+package com.signature.index;
+
+import com.mongodb.ExplainVerbosity;
+import com.signature.bootstrap.Bootstrap;
+import com.signature.config.AppProperties;
+import com.signature.model.Customer;
+import com.signature.model.Vendor;
+import com.signature.repository.CategoryRepository;
+import com.signature.repository.CustomerRepository;
+import com.signature.repository.VendorRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.test.annotation.DirtiesContext;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataMongoTest
+class IndexInitializerITest {
+
+  @Autowired
+  public ReactiveMongoTemplate mongoTemplate;
+
+  @Autowired
+  public MongoMappingContext mappingContext;
+
+  @Autowired
+  public CategoryRepository categoryRepository;
+
+  @Autowired
+  public CustomerRepository customerRepository;
+
+  @Autowired
+  public VendorRepository vendorRepository;
+
+  @BeforeEach
+  void setUp() {
+    new Bootstrap(categoryRepository, customerRepository, vendorRepository, event -> { }).seed().block();
+    new IndexInitializer(mongoTemplate, mappingContext, new DerivedQueryRegistry(), new AppProperties())
+            .ensureIndexes().block();
+  }
+
+  @Test
+  @DirtiesContext
+  void indexedQueryExaminesOnlyMatches() {
+    //given
+    final Document filter = new Document("lastName", "Singh");
+    final long matches = mongoTemplate.count(new BasicQuery(filter), Customer.class).block();
+
+    //when
+    final Document explain = explain(Customer.class, filter);
+
+    //then
+    final Document plan = winningPlan(explain);
+    assertFalse(IndexInitializer.isCollectionScan(plan));
+    final Document indexScan = findStage(plan, "IXSCAN");
+    assertNotNull(indexScan, "No index scan in " + plan.toJson());
+    assertEquals("lastName_firstName", indexScan.getString("indexName"));
+
+    final Document stats = explain.get("executionStats", Document.class);
+    assertTrue(matches > 1);
+    assertEquals(matches, count(stats, "nReturned"));
+    assertEquals(matches, count(stats, "totalKeysExamined"));
+    assertEquals(matches, count(stats, "totalDocsExamined"));
+  }
+
+  @Test
+  @DirtiesContext
+  void unindexedQueryExaminesWholeCollection() {
+    //given
+    final Document filter = new Document("name", "Apple Technologies Ltd.");
+    final long vendors = mongoTemplate.count(new BasicQuery(new Document()), Vendor.class).block();
+
+    //when
+    final Document explain = explain(Vendor.class, filter);
+
+    //then
+    final Document plan = winningPlan(explain);
+    assertTrue(IndexInitializer.isCollectionScan(plan));
+    assertNull(findStage(plan, "IXSCAN"), "Unexpected index scan in " + plan.toJson());
+
+    final Document stats = explain.get("executionStats", Document.class);
+    assertTrue(vendors > 1);
+    assertEquals(1L, count(stats, "nReturned"));
+    assertEquals(0L, count(stats, "totalKeysExamined"));
+    assertEquals(vendors, count(stats, "totalDocsExamined"));
+  }
+
+  private Document explain(final Class<?> entityClass, final Document filter) {
+    return mongoTemplate.getCollection(mongoTemplate.getCollectionName(entityClass))
+            .flatMap(collection -> Mono.from(collection.find(filter).explain(ExplainVerbosity.EXECUTION_STATS)))
+            .block();
+  }
+
+  private static Document winningPlan(final Document explain) {
+    return explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+  }
+
+  private static long count(final Document stats, final String key) {
+    return ((Number) stats.get(key)).longValue();
+  }
+
+  private static Document findStage(final Object plan, final String stage) {
+    if (plan instanceof Map) {
+      if (stage.equals(((Map<?, ?>) plan).get("stage"))) {
+        return (Document) plan;
+      }
+      return findStage(new ArrayList<>(((Map<?, ?>) plan).values()), stage);
+    }
+    if (plan instanceof List) {
+      for (Object child : (List<?>) plan) {
+        final Document found = findStage(child, stage);
+        if (found != null) {
+          return found;
+        }
+      }
+    }
+    return null;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.signature.index;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndexInitializerTest {
+
+  @Test
+  void indexScanIsNotCollectionScan() {
+    final Document plan = new Document("stage", "FETCH")
+            .append("inputStage", new Document("stage", "IXSCAN").append("indexName", "name"));
+
+    assertFalse(IndexInitializer.isCollectionScan(plan));
+  }
+
+  @Test
+  void nestedCollectionScan() {
+    final Document plan = new Document("stage", "OR")
+            .append("inputStages", List.of(new Document("stage", "IXSCAN"), new Document("stage", "COLLSCAN")));
+
+    assertTrue(IndexInitializer.isCollectionScan(plan));
+    assertTrue(IndexInitializer.isCollectionScan(new Document("queryPlan", new Document("stage", "COLLSCAN"))));
+  }
+}
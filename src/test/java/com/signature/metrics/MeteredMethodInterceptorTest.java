@@ -0,0 +1,79 @@
+package com.signature.metrics;
+
+import com.signature.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MeteredMethodInterceptorTest {
+
+  interface Lookup {
+
+    Mono<String> find(String id);
+
+    Flux<Integer> all();
+  }
+
+  static class FixedLookup implements Lookup {
+
+    @Override
+    public Mono<String> find(String id) {
+      return "1".equals(id) ? Mono.just("one") : Mono.error(new ResourceNotFoundException("Not found"));
+    }
+
+    @Override
+    public Flux<Integer> all() {
+      return Flux.just(1, 2, 3);
+    }
+  }
+
+  MeterRegistry registry;
+  Lookup lookup;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+
+    final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    beanFactory.registerSingleton("meterRegistry", registry);
+
+    final ProxyFactory proxyFactory = new ProxyFactory(new FixedLookup());
+    proxyFactory.addAdvice(new MeteredMethodInterceptor("test", Lookup.class,
+            beanFactory.getBeanProvider(MeterRegistry.class)));
+    lookup = (Lookup) proxyFactory.getProxy();
+  }
+
+  @Test
+  void timesMonoByOutcome() {
+    StepVerifier.create(lookup.find("1")).expectNext("one").verifyComplete();
+    StepVerifier.create(lookup.find("2")).expectError(ResourceNotFoundException.class).verify();
+
+    assertEquals(1, registry.get("test").tags("class", "Lookup", "method", "find", "outcome", "success")
+            .timer().count());
+    assertEquals(1, registry.get("test").tags("outcome", "not_found").timer().count());
+    assertEquals(1, registry.get("test.not.found").tags("method", "find").counter().count());
+  }
+
+  @Test
+  void countsFluxElements() {
+    StepVerifier.create(lookup.all()).expectNextCount(3).verifyComplete();
+
+    assertEquals(1, registry.get("test").tags("method", "all", "outcome", "success").timer().count());
+    assertEquals(3, registry.get("test.elements").tags("method", "all").counter().count());
+  }
+
+  @Test
+  void notRecordedUntilSubscribed() {
+    lookup.find("1");
+
+    assertEquals(0, registry.find("test").timers().size());
+  }
+}
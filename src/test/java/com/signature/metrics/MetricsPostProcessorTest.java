@@ -0,0 +1,101 @@
+package com.signature.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsPostProcessorTest {
+
+  interface Lookup {
+
+    Mono<String> find(String id);
+  }
+
+  interface Listing {
+
+    Flux<String> all();
+  }
+
+  @Service
+  static class LookupService implements Lookup, Listing {
+
+    private final AtomicInteger refreshes = new AtomicInteger();
+
+    @Override
+    public Mono<String> find(String id) {
+      return Mono.just(id);
+    }
+
+    @Override
+    public Flux<String> all() {
+      return Flux.just("1", "2");
+    }
+
+    public Mono<String> notOnInterface() {
+      return Mono.just("x");
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void onRefresh() {
+      refreshes.incrementAndGet();
+    }
+
+    public int getRefreshes() {
+      return refreshes.get();
+    }
+  }
+
+  AnnotationConfigApplicationContext context;
+  MeterRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    context = new AnnotationConfigApplicationContext();
+    context.registerBean(MeterRegistry.class, () -> registry);
+    context.register(MetricsPostProcessor.class, LookupService.class);
+    context.refresh();
+  }
+
+  @AfterEach
+  void tearDown() {
+    context.close();
+  }
+
+  @Test
+  void keepServiceClassAndEventListeners() {
+    final LookupService service = context.getBean(LookupService.class);
+
+    assertTrue(AopUtils.isAopProxy(service));
+    assertEquals(1, service.getRefreshes());
+  }
+
+  @Test
+  void timeInterfaceMethodsTaggedWithDeclaringInterface() {
+    final LookupService service = context.getBean(LookupService.class);
+
+    service.find("1").block();
+    service.all().blockLast();
+    service.notOnInterface().block();
+
+    assertEquals(1, registry.get(MetricsPostProcessor.SERVICE).tags("class", "Lookup", "method", "find")
+            .timer().count());
+    assertEquals(1, registry.get(MetricsPostProcessor.SERVICE).tags("class", "Listing", "method", "all")
+            .timer().count());
+    assertEquals(2, registry.find(MetricsPostProcessor.SERVICE).timers().size());
+  }
+}
\ No newline at end of file
@@ -0,0 +1,167 @@
+package com.signature.ratelimit;
+
+import com.signature.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitFilterTest {
+
+  private static final String ID = "63290f1d8e0c4b2a3c5d7e91";
+
+  private final AtomicInteger passed = new AtomicInteger();
+  private final WebFilterChain chain = exchange -> {
+    passed.incrementAndGet();
+    return Mono.empty();
+  };
+
+  private SimpleMeterRegistry registry;
+  private AppProperties appProperties;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    appProperties = new AppProperties();
+    appProperties.getRateLimit().getClient().setRate(0.001);
+    appProperties.getRateLimit().getClient().setBurst(2);
+    appProperties.getRateLimit().getRoute().setRate(0.001);
+    appProperties.getRateLimit().getRoute().setBurst(3);
+  }
+
+  @Test
+  void rejectClientOverItsLimit() {
+    //given
+    final RateLimitFilter filter = new RateLimitFilter(appProperties, registry);
+
+    //when
+    final MockServerWebExchange first = filter(filter, "10.0.0.1", "/api/v1/customers/" + ID);
+    final MockServerWebExchange second = filter(filter, "10.0.0.1", "/api/v1/vendors");
+    final MockServerWebExchange third = filter(filter, "10.0.0.1", "/api/v1/customers");
+    final MockServerWebExchange otherClient = filter(filter, "10.0.0.2", "/api/v1/customers");
+
+    //then
+    assertNull(first.getResponse().getStatusCode());
+    assertNull(second.getResponse().getStatusCode());
+    assertEquals(HttpStatus.TOO_MANY_REQUESTS, third.getResponse().getStatusCode());
+    assertTrue(Long.parseLong(third.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)) > 0);
+    assertTrue(third.getResponse().getBodyAsString().block().contains("\"status\":429"));
+    assertNull(otherClient.getResponse().getStatusCode());
+    assertEquals(3, passed.get());
+    assertEquals(1, registry.get("app.rate.limit.requests").tag("result", "client_rejected").counter().count());
+  }
+
+  @Test
+  void rejectRouteOverItsLimit() {
+    //given
+    final RateLimitFilter filter = new RateLimitFilter(appProperties, registry);
+
+    //when
+    for (int i = 0; i < 3; i++) {
+      filter(filter, "10.0.0." + i, "/api/v1/customers/" + ObjectId.get().toHexString());
+    }
+    final MockServerWebExchange rejected = filter(filter, "10.0.0.3", "/api/v1/customers/" + ID);
+    final MockServerWebExchange otherRoute = filter(filter, "10.0.0.3", "/api/v1/vendors/" + ID);
+
+    //then
+    assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+    assertNull(otherRoute.getResponse().getStatusCode());
+    assertEquals(4, passed.get());
+    assertEquals(1, registry.get("app.rate.limit.requests").tag("result", "route_rejected").counter().count());
+  }
+
+  @Test
+  void skipPathsOutsideApi() {
+    //given
+    appProperties.getRateLimit().getClient().setBurst(1);
+    final RateLimitFilter filter = new RateLimitFilter(appProperties, registry);
+
+    //when
+    for (int i = 0; i < 5; i++) {
+      filter(filter, "10.0.0.1", "/actuator/health");
+    }
+
+    //then
+    assertEquals(5, passed.get());
+  }
+
+  @Test
+  void limitPrincipalWhateverItsAddress() {
+    //given
+    final RateLimitFilter filter = new RateLimitFilter(appProperties, registry);
+    final Principal alice = () -> "alice";
+
+    //when
+    for (int i = 0; i < 2; i++) {
+      filter(filter, "10.0.0." + i, "/api/v1/customers", alice);
+    }
+    final MockServerWebExchange rejected = filter(filter, "10.0.0.9", "/api/v1/customers", alice);
+
+    //then
+    assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+    assertEquals(2, passed.get());
+  }
+
+  @Test
+  void readForwardedForOnlyFromTrustedProxies() {
+    //given
+    appProperties.getRateLimit().setTrustedProxies(List.of("10.0.0.100", "10.0.0.101"));
+    final RateLimitFilter filter = new RateLimitFilter(appProperties, registry);
+
+    //then
+    assertEquals("203.0.113.7", filter.addressKey(MockServerHttpRequest.get("/api/v1/customers")
+            .remoteAddress(address("10.0.0.100"))
+            .header("X-Forwarded-For", "198.51.100.1, 203.0.113.7, 10.0.0.101")
+            .build()));
+    assertEquals("10.0.0.100", filter.addressKey(MockServerHttpRequest.get("/api/v1/customers")
+            .remoteAddress(address("10.0.0.100"))
+            .build()));
+    assertEquals("10.0.0.5", filter.addressKey(MockServerHttpRequest.get("/api/v1/customers")
+            .remoteAddress(address("10.0.0.5"))
+            .header("X-Forwarded-For", "203.0.113.7")
+            .build()));
+  }
+
+  @Test
+  void routeKeyLeavesOutIds() {
+    assertEquals("GET /api/v1/customers/{id}", RateLimitFilter.routeKey("GET", "/api/v1/customers/" + ID));
+    assertEquals("POST /api/v1/customers/batch", RateLimitFilter.routeKey("POST", "/api/v1/customers/batch"));
+    assertEquals("GET /api/v1/categories/Fruits", RateLimitFilter.routeKey("GET", "/api/v1/categories/Fruits"));
+  }
+
+  private MockServerWebExchange filter(final RateLimitFilter filter, final String address, final String path) {
+    final MockServerWebExchange exchange = MockServerWebExchange.from(request(address, path));
+    filter.filter(exchange, chain).block();
+    return exchange;
+  }
+
+  private MockServerWebExchange filter(final RateLimitFilter filter, final String address, final String path,
+                                       final Principal principal) {
+    final MockServerWebExchange exchange = MockServerWebExchange.from(request(address, path));
+    filter.filter(exchange.mutate().principal(Mono.just(principal)).build(), chain).block();
+    return exchange;
+  }
+
+  private static MockServerHttpRequest request(final String address, final String path) {
+    return MockServerHttpRequest.get(path).remoteAddress(address(address)).build();
+  }
+
+  private static InetSocketAddress address(final String address) {
+    return new InetSocketAddress(address, 443);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.signature.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketsTest {
+
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+
+  @Test
+  void admitBurstThenRate() {
+    //given
+    final TokenBuckets buckets = new TokenBuckets(2, 3, 1_000, Duration.ofMinutes(1), clock::get);
+
+    //when
+    for (int i = 0; i < 3; i++) {
+      assertEquals(0, buckets.tryAcquire("a", clock.get()));
+    }
+    final long wait = buckets.tryAcquire("a", clock.get());
+
+    //then
+    assertEquals(SECOND / 2, wait);
+    assertEquals(0, buckets.tryAcquire("b", clock.get()));
+
+    clock.addAndGet(SECOND / 2);
+    assertEquals(0, buckets.tryAcquire("a", clock.get()));
+    assertTrue(buckets.tryAcquire("a", clock.get()) > 0);
+  }
+
+  @Test
+  void releaseReturnsToken() {
+    //given
+    final TokenBuckets buckets = new TokenBuckets(1, 1, 1_000, Duration.ofMinutes(1), clock::get);
+
+    //when
+    assertEquals(0, buckets.tryAcquire("a", clock.get()));
+    buckets.release("a");
+
+    //then
+    assertEquals(0, buckets.tryAcquire("a", clock.get()));
+    assertEquals(SECOND, buckets.tryAcquire("a", clock.get()));
+  }
+
+  @Test
+  void dropIdleBuckets() {
+    //given
+    final TokenBuckets buckets = new TokenBuckets(10, 1, 1_000, Duration.ofSeconds(10), clock::get);
+    for (int i = 0; i < 100; i++) {
+      buckets.tryAcquire("key" + i, clock.get());
+    }
+    assertEquals(100, buckets.size());
+
+    //when
+    clock.addAndGet(11 * SECOND);
+    for (int i = 0; i < 64 * 4; i++) {
+      buckets.tryAcquire("other" + i, clock.get());
+    }
+
+    //then
+    assertTrue(buckets.size() < 64 * 4 + 100, "idle buckets of every swept stripe are dropped");
+  }
+
+  @Test
+  void boundMemory() {
+    //given
+    final TokenBuckets buckets = new TokenBuckets(1, 1, 64, Duration.ofMinutes(1), clock::get);
+
+    //when
+    int untracked = 0;
+    for (int i = 0; i < 1_000; i++) {
+      if (buckets.tryAcquire("key" + i, clock.get()) == TokenBuckets.UNTRACKED) {
+        untracked++;
+      }
+    }
+
+    //then
+    assertTrue(buckets.size() <= 64);
+    assertEquals(1_000 - buckets.size(), untracked);
+
+    clock.addAndGet(2 * SECOND);
+    assertEquals(0, buckets.tryAcquire("new", clock.get()), "refilled buckets make room for new keys");
+  }
+}
\ No newline at end of file
@@ -1,5 +1,8 @@
 package com.signature.service;
 
+import com.signature.catalog.CategoryCatalog;
+import com.signature.config.AppProperties;
+import com.signature.exception.ResourceNotFoundException;
 import com.signature.model.Category;
 import com.signature.repository.CategoryRepository;
 import com.signature.service.impl.CategoryServiceImpl;
@@ -12,14 +15,16 @@ import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -33,24 +38,30 @@ class CategoryServiceTest {
   @Mock
   public CategoryRepository categoryRepository;
 
+  @Mock
+  public ReactiveMongoTemplate mongoTemplate;
+
+  private final String categoryId = ObjectId.get().toString();
+
   @BeforeEach
   void setUp() {
-    categoryService = new CategoryServiceImpl(categoryRepository);
+    when(categoryRepository.findAll()).thenReturn(Flux.just(new Category(categoryId, "Fruits"),
+            new Category(ObjectId.get().toString(), "Dried"), new Category(ObjectId.get().toString(), "Nuts")));
+
+    CategoryCatalog categoryCatalog = new CategoryCatalog(categoryRepository, mongoTemplate, new AppProperties());
+    categoryCatalog.refresh().block();
+
+    categoryService = new CategoryServiceImpl(categoryCatalog);
   }
 
   @Test
   @Order(1)
   void getByName() {
-    //given
-    Category category = new Category(ObjectId.get().toString(), "Fruits");
-
-    when(categoryRepository.findByName(anyString())).thenReturn(Mono.just(category));
-
     //when
     Category category1 = categoryService.getByName("Fruits").block();
 
     //then
-    verify(categoryRepository, times(1)).findByName("Fruits");
+    verify(categoryRepository, never()).findByName(anyString());
     assertNotNull(category1, "Category should not be null!");
     assertEquals("Fruits", category1.getName());
   }
@@ -58,17 +69,11 @@ class CategoryServiceTest {
   @Test
   @Order(2)
   void getById() {
-    //given
-    String categoryId = ObjectId.get().toString();
-    Category category = new Category(categoryId, "Fruits");
-
-    when(categoryRepository.findById(anyString())).thenReturn(Mono.just(category));
-
     //when
     Category category1 = categoryService.getById(categoryId).block();
 
     //then
-    verify(categoryRepository, times(1)).findById(categoryId);
+    verify(categoryRepository, never()).findById(anyString());
     assertNotNull(category1, "Category should not be null!");
     assertEquals(categoryId, category1.getId());
     assertEquals("Fruits", category1.getName());
@@ -77,16 +82,21 @@ class CategoryServiceTest {
   @Test
   @Order(3)
   void getAll() {
-    //given
-    Flux<Category> categories = Flux.just(new Category(), new Category(), new Category());
-
-    when(categoryRepository.findAll()).thenReturn(categories);
-
     //when
     Flux<Category> categoryList = categoryService.getAll();
 
     //then
-    verify(categoryRepository, times(1)).findAll();
     assertEquals(3, Objects.requireNonNull(categoryList.collectList().block()).size());
+    verify(categoryRepository, times(1)).findAll();
+  }
+
+  @Test
+  @Order(4)
+  void getByNameNotFound() {
+    StepVerifier.create(categoryService.getByName("Exotic"))
+            .expectError(ResourceNotFoundException.class)
+            .verify();
+
+    verify(categoryRepository, never()).findByName(anyString());
   }
-}
\ No newline at end of file
+}
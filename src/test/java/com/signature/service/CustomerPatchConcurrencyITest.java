@@ -0,0 +1,104 @@
+package com.signature.service;
+
+import com.signature.config.AppProperties;
+import com.signature.model.Customer;
+import com.signature.repository.CustomerRepository;
+import com.signature.service.impl.CustomerServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.test.annotation.DirtiesContext;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Fires a first name patch and a last name patch at the same customer concurrently, round after round, and checks
+ * that both changes survive. The read-modify-save implementation PATCH used before is run the same way for
+ * comparison.
+ */
+@Slf4j
+@DataMongoTest
+class CustomerPatchConcurrencyITest {
+
+  private static final int ROUNDS = 200;
+
+  @Autowired
+  public CustomerRepository customerRepository;
+
+  private CustomerService customerService;
+
+  @BeforeEach
+  void setUp() {
+    customerService = new CustomerServiceImpl(customerRepository, new AppProperties());
+  }
+
+  @Test
+  @DirtiesContext
+  void concurrentPatchesDoNotLoseUpdates() {
+    final Customer customer = customerRepository.save(new Customer("Atul", "Singh")).block();
+
+    assertNotNull(customer, "Failed to save customer!");
+
+    final StressResult legacy = stress(customer.getId(), this::readModifySave);
+    final StressResult atomic = stress(customer.getId(), customerService::patchCustomer);
+
+    log.info("read-modify-save: {} patches/s, {} of {} rounds lost an update",
+            legacy.throughput(), legacy.lostUpdates, ROUNDS);
+    log.info("findAndModify:    {} patches/s, {} of {} rounds lost an update",
+            atomic.throughput(), atomic.lostUpdates, ROUNDS);
+
+    assertEquals(0, atomic.lostUpdates, "Concurrent patches lost updates!");
+  }
+
+  private Mono<Customer> readModifySave(final Customer patch) {
+    return customerRepository.findById(patch.getId())
+            .flatMap(existing -> {
+              if (patch.getFirstName() != null) {
+                existing.setFirstName(patch.getFirstName());
+              }
+              if (patch.getLastName() != null) {
+                existing.setLastName(patch.getLastName());
+              }
+              return customerRepository.save(existing);
+            });
+  }
+
+  private StressResult stress(final String customerId, final Function<Customer, Mono<Customer>> patcher) {
+    final StressResult result = new StressResult();
+    for (int round = 0; round < ROUNDS; round++) {
+      customerRepository.save(new Customer(customerId, "Atul", "Singh")).block();
+
+      final Customer firstNamePatch = new Customer(customerId, "First" + round, null);
+      final Customer lastNamePatch = new Customer(customerId, null, "Last" + round);
+
+      final long start = System.nanoTime();
+      Mono.when(Mono.defer(() -> patcher.apply(firstNamePatch)).subscribeOn(Schedulers.parallel()),
+              Mono.defer(() -> patcher.apply(lastNamePatch)).subscribeOn(Schedulers.parallel())).block();
+      result.elapsedNanos += System.nanoTime() - start;
+
+      final Customer patched = customerRepository.findById(customerId).block();
+      if (patched == null || !("First" + round).equals(patched.getFirstName())
+              || !("Last" + round).equals(patched.getLastName())) {
+        result.lostUpdates++;
+      }
+    }
+    return result;
+  }
+
+  private static final class StressResult {
+
+    private long elapsedNanos;
+    private int lostUpdates;
+
+    private long throughput() {
+      return Math.round(2.0 * ROUNDS / (elapsedNanos / 1_000_000_000.0));
+    }
+  }
+}
@@ -1,11 +1,14 @@
 package com.signature.service;
 
 import com.signature.bootstrap.Bootstrap;
+import com.signature.config.AppProperties;
 import com.signature.model.Customer;
+import com.signature.repository.BulkInsertResult;
 import com.signature.repository.CategoryRepository;
 import com.signature.repository.CustomerRepository;
 import com.signature.repository.VendorRepository;
 import com.signature.service.impl.CustomerServiceImpl;
+import com.signature.util.FieldSelection;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
@@ -15,14 +18,19 @@ import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
 import org.springframework.test.annotation.DirtiesContext;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Slf4j
 @DataMongoTest
@@ -46,11 +54,11 @@ class CustomerServiceITest {
   public void setUp() throws Exception {
     log.info("Started loading initial data");
 
-    new Bootstrap(categoryRepository, customerRepository, vendorRepository).run();
+    new Bootstrap(categoryRepository, customerRepository, vendorRepository, event -> { }).seed().block();
 
     log.info("Finished loading initial data");
 
-    customerService = new CustomerServiceImpl(customerRepository);
+    customerService = new CustomerServiceImpl(customerRepository, new AppProperties());
 
     customerIds = customerService.getAllCustomers().map(Customer::getId).collectList().block();
   }
@@ -172,4 +180,73 @@ class CustomerServiceITest {
 
     assertEquals(count - 1, customerRepository.count().block());
   }
+
+  @Test
+  @Order(8)
+  @DirtiesContext
+  void getCustomerPage() {
+    List<String> firstPage = customerService.getCustomerPage(null, 3, FieldSelection.ALL).map(Customer::getId).collectList().block();
+
+    assertNotNull(firstPage, "Null page returned!");
+    assertEquals(customerIds.stream().sorted().limit(3).collect(Collectors.toList()), firstPage);
+
+    List<String> secondPage = customerService.getCustomerPage(firstPage.get(2), 3, FieldSelection.ALL).map(Customer::getId).collectList().block();
+
+    assertNotNull(secondPage, "Null page returned!");
+    assertEquals(customerIds.stream().sorted().skip(3).limit(3).collect(Collectors.toList()), secondPage);
+  }
+
+  @Test
+  @Order(9)
+  @DirtiesContext
+  void addCustomers() {
+    Long count = customerRepository.count().block();
+
+    Customer duplicate = new Customer(customerIds.get(0), "Pranjal", "Singh");
+
+    List<BulkInsertResult> results = customerService.addCustomers(Flux.just(new Customer("Pranjal", "Singh"),
+            duplicate, new Customer("Shaurya", "Singh"))).collectList().block();
+
+    assertNotNull(results, "Null results returned!");
+    assertEquals(3, results.size());
+    assertTrue(results.get(0).isInserted());
+    assertFalse(results.get(1).isInserted());
+    assertEquals(BulkInsertResult.DUPLICATE_ID, results.get(1).getError());
+    assertTrue(results.get(2).isInserted());
+    assertEquals(count + 2, customerRepository.count().block());
+  }
+
+  @Test
+  @Order(10)
+  @DirtiesContext
+  void getCustomerWithFields() {
+    Customer customer = customerService.getCustomer(customerIds.get(0), FieldSelection.of("firstName")).block();
+
+    assertNotNull(customer, "Null customer returned!");
+    assertEquals(customerIds.get(0), customer.getId());
+    assertNotNull(customer.getFirstName(), "First name was not projected!");
+    assertNull(customer.getLastName());
+  }
+
+  @Test
+  @Order(11)
+  @DirtiesContext
+  void searchCustomers() {
+    customerService.addCustomer(new Customer("Šárka", "Abhyankar")).block();
+
+    List<String> singhs = customerService.searchCustomers("SIN", 10).map(Customer::getLastName).collectList().block();
+    List<String> byFullName = customerService.searchCustomers("singh at", 10).map(Customer::getFirstName)
+            .collectList().block();
+    List<Customer> accented = customerService.searchCustomers("sarka", 10).collectList().block();
+
+    assertNotNull(singhs, "Null customers returned!");
+    assertEquals(4, singhs.size());
+    assertTrue(singhs.stream().allMatch("Singh"::equals));
+    assertEquals(List.of("Atul"), byFullName);
+    assertNotNull(accented, "Null customers returned!");
+    assertEquals(1, accented.size());
+    assertEquals("Šárka", accented.get(0).getFirstName());
+    assertNull(accented.get(0).getFirstNameKey());
+    assertEquals(2, customerService.searchCustomers("a", 2).count().block());
+  }
 }
\ No newline at end of file
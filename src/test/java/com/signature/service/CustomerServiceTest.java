@@ -1,8 +1,14 @@
 package com.signature.service;
 
+import com.signature.config.AppProperties;
+import com.signature.exception.InvalidRequestException;
+import com.signature.exception.ResourceNotFoundException;
 import com.signature.model.Customer;
+import com.signature.repository.BulkInsertResult;
 import com.signature.repository.CustomerRepository;
 import com.signature.service.impl.CustomerServiceImpl;
+import com.signature.util.FieldSelection;
+import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
@@ -10,17 +16,30 @@ import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.query.Update;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -36,7 +55,7 @@ class CustomerServiceTest {
 
   @BeforeEach
   void setUp() {
-    customerService = new CustomerServiceImpl(customerRepository);
+    customerService = new CustomerServiceImpl(customerRepository, new AppProperties());
   }
 
   @Test
@@ -128,4 +147,290 @@ class CustomerServiceTest {
 
     verify(customerRepository, times(1)).deleteById(anyString());
   }
+
+  @Test
+  @Order(6)
+  void getCustomerPage() {
+    //given
+    final String afterId = ObjectId.get().toString();
+
+    //when
+    when(customerRepository.findPageAfter(afterId, 2, FieldSelection.ALL)).thenReturn(Flux.just(new Customer(), new Customer()));
+
+    //then
+    List<Customer> page = customerService.getCustomerPage(afterId, 2, FieldSelection.ALL).collectList().block();
+
+    assertEquals(2, page.size());
+
+    verify(customerRepository, times(1)).findPageAfter(afterId, 2, FieldSelection.ALL);
+  }
+
+  @Test
+  @Order(7)
+  void streamAllCustomers() {
+    //when
+    when(customerRepository.streamAll(anyInt())).thenReturn(Flux.just(new Customer(), new Customer()));
+
+    //then
+    List<Customer> customerList = customerService.streamAllCustomers().collectList().block();
+
+    assertEquals(2, customerList.size());
+
+    verify(customerRepository, times(1)).streamAll(anyInt());
+  }
+
+  @Test
+  @Order(8)
+  void addCustomers() {
+    //given
+    AppProperties appProperties = new AppProperties();
+    appProperties.getBatch().setChunkSize(2);
+    customerService = new CustomerServiceImpl(customerRepository, appProperties);
+
+    //when
+    when(customerRepository.insertUnordered(anyList())).thenAnswer(invocation -> {
+      List<Customer> chunk = invocation.getArgument(0);
+      return Flux.range(0, chunk.size()).map(index -> new BulkInsertResult(index, ObjectId.get().toString(), null));
+    });
+
+    //then
+    List<BulkInsertResult> results = customerService.addCustomers(Flux.range(0, 5)
+            .map(index -> new Customer("Customer" + index, "Singh"))).collectList().block();
+
+    verify(customerRepository, times(3)).insertUnordered(anyList());
+
+    assertEquals(5, results.size());
+    assertEquals(List.of(0, 1, 2, 3, 4), results.stream().map(BulkInsertResult::getIndex).collect(Collectors.toList()));
+  }
+
+  @Test
+  @Order(9)
+  void patchCustomer() {
+    //given
+    final String customerId = ObjectId.get().toString();
+    Customer patch = new Customer();
+    patch.setId(customerId);
+    patch.setLastName("Suryavanshi");
+
+    //when
+    when(customerRepository.findAndUpdate(anyString(), any(Update.class)))
+            .thenReturn(Mono.just(new Customer(customerId, "Atul", "Suryavanshi")));
+
+    //then
+    Customer patched = customerService.patchCustomer(patch).block();
+
+    ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+    verify(customerRepository, times(1)).findAndUpdate(eq(customerId), update.capture());
+    verify(customerRepository, never()).save(any(Customer.class));
+
+    assertEquals(new Document("$set", new Document("lastName", "Suryavanshi").append("lastNameKey", "suryavanshi")),
+            update.getValue().getUpdateObject());
+    assertNotNull(patched, "Failed to patch customer!");
+    assertEquals("Atul", patched.getFirstName());
+    assertEquals("Suryavanshi", patched.getLastName());
+  }
+
+  @Test
+  @Order(10)
+  void patchMissingCustomer() {
+    //given
+    Customer patch = new Customer();
+    patch.setId(ObjectId.get().toString());
+    patch.setFirstName("Atul");
+
+    //when
+    when(customerRepository.findAndUpdate(anyString(), any(Update.class))).thenReturn(Mono.empty());
+
+    //then
+    StepVerifier.create(customerService.patchCustomer(patch))
+            .expectError(ResourceNotFoundException.class)
+            .verify();
+  }
+
+  @Test
+  @Order(11)
+  void getCustomerWithFields() {
+    //given
+    final String customerId = ObjectId.get().toString();
+    final FieldSelection fields = FieldSelection.of("firstName");
+
+    //when
+    when(customerRepository.findByIdProjected(customerId, fields)).thenReturn(Mono.just(new Customer(customerId, "Atul", null)));
+
+    //then
+    Customer customer = customerService.getCustomer(customerId, fields).block();
+
+    verify(customerRepository, times(1)).findByIdProjected(customerId, fields);
+    verify(customerRepository, never()).findById(anyString());
+
+    assertNotNull(customer, "Null customer returned!");
+    assertEquals("Atul", customer.getFirstName());
+  }
+
+  @Test
+  @Order(12)
+  void getCustomers() {
+    //given
+    final List<String> ids = List.of(ObjectId.get().toString(), ObjectId.get().toString(), ObjectId.get().toString());
+
+    //when
+    when(customerRepository.findAllByIdProjected(ids, FieldSelection.ALL))
+            .thenReturn(Flux.just(new Customer(ids.get(2), "First2", "Last"), new Customer(ids.get(0), "First0", "Last")));
+
+    //then
+    StepVerifier.create(customerService.getCustomers(ids, FieldSelection.ALL).map(Customer::getId))
+            .expectNext(ids.get(0), ids.get(2))
+            .verifyComplete();
+  }
+
+  @Test
+  @Order(13)
+  void getCustomerBatched() {
+    //given
+    final AppProperties appProperties = new AppProperties();
+    appProperties.getBatchLoader().setWindow(Duration.ofSeconds(10));
+    appProperties.getBatchLoader().setMaxBatchSize(2);
+    final CustomerService batchingCustomerService = new CustomerServiceImpl(customerRepository, appProperties);
+    final String first = ObjectId.get().toString();
+    final String second = ObjectId.get().toString();
+
+    //when
+    when(customerRepository.findAllById(anyList()))
+            .thenReturn(Flux.just(new Customer(first, "First1", "Last"), new Customer(second, "First2", "Last")));
+
+    //then
+    StepVerifier.create(Mono.zip(batchingCustomerService.getCustomer(first), batchingCustomerService.getCustomer(second)))
+            .assertNext(found -> {
+              assertEquals(first, found.getT1().getId());
+              assertEquals(second, found.getT2().getId());
+            })
+            .verifyComplete();
+    verify(customerRepository, times(1)).findAllById(List.of(first, second));
+    verify(customerRepository, never()).findById(anyString());
+  }
+
+  @Test
+  @Order(14)
+  void getCustomerCached() {
+    //given
+    final String customerId = ObjectId.get().toString();
+    final Customer updated = new Customer(customerId, "Rishu", "Singh");
+
+    //when
+    when(customerRepository.findById(customerId)).thenReturn(Mono.just(new Customer(customerId, "Atul", "Singh")));
+    when(customerRepository.save(updated)).thenReturn(Mono.just(updated));
+    when(customerRepository.deleteById(customerId)).thenReturn(Mono.empty());
+
+    //then
+    customerService.getCustomer(customerId).block();
+    customerService.getCustomer(customerId).block();
+    verify(customerRepository, times(1)).findById(customerId);
+
+    customerService.updateCustomer(updated).block();
+    updated.setFirstName("Changed");
+    final Customer cached = customerService.getCustomer(customerId).block();
+    assertEquals("Rishu", cached.getFirstName());
+    cached.setFirstName("Changed");
+    assertEquals("Rishu", customerService.getCustomer(customerId).block().getFirstName());
+    verify(customerRepository, times(1)).findById(customerId);
+
+    customerService.deleteCustomer(customerId).block();
+    customerService.getCustomer(customerId).block();
+    verify(customerRepository, times(2)).findById(customerId);
+  }
+
+  @Test
+  @Order(15)
+  void bufferCustomer() {
+    //given
+    final AppProperties appProperties = new AppProperties();
+    appProperties.getWriteBehind().setEnabled(true);
+    appProperties.getWriteBehind().setDurability(AppProperties.WriteBehind.Durability.WRITTEN);
+    appProperties.getWriteBehind().setMaxBatchSize(1);
+    customerService = new CustomerServiceImpl(customerRepository, appProperties);
+
+    //when
+    when(customerRepository.insertUnordered(anyList())).thenAnswer(invocation -> Flux.just(
+            new BulkInsertResult(0, invocation.<List<Customer>>getArgument(0).get(0).getId(), null)));
+
+    //then
+    final Customer customer = customerService.bufferCustomer(new Customer("Atul", "Singh")).block();
+    customerService.getCustomer(customer.getId()).block();
+    ((CustomerServiceImpl) customerService).drainWriteBehind();
+
+    assertTrue(ObjectId.isValid(customer.getId()));
+    verify(customerRepository, never()).save(any(Customer.class));
+    verify(customerRepository, never()).findById(anyString());
+  }
+
+  @Test
+  @Order(16)
+  void bufferCustomerCachedOnceWritten() {
+    //given
+    final AppProperties appProperties = new AppProperties();
+    appProperties.getWriteBehind().setEnabled(true);
+    appProperties.getWriteBehind().setFlushInterval(Duration.ofHours(1));
+    customerService = new CustomerServiceImpl(customerRepository, appProperties);
+    final Customer request = new Customer("Atul", "Singh");
+
+    //when
+    when(customerRepository.findById(anyString())).thenReturn(Mono.empty());
+    when(customerRepository.insertUnordered(anyList())).thenAnswer(invocation -> Flux.just(
+            new BulkInsertResult(0, invocation.<List<Customer>>getArgument(0).get(0).getId(), null)));
+
+    //then
+    final Customer customer = customerService.bufferCustomer(request).block();
+    assertNull(request.getId());
+    assertNotSame(request, customer);
+    StepVerifier.create(customerService.getCustomer(customer.getId()))
+            .expectError(ResourceNotFoundException.class)
+            .verify();
+
+    ((CustomerServiceImpl) customerService).drainWriteBehind();
+    assertEquals("Atul", customerService.getCustomer(customer.getId()).block().getFirstName());
+    verify(customerRepository, times(1)).findById(customer.getId());
+  }
+
+  @Test
+  @Order(17)
+  void searchCustomers() {
+    //given
+    Customer customer = new Customer(ObjectId.get().toString(), "Élodie", "Núñez");
+
+    //when
+    when(customerRepository.findByNamePrefix("elodie n", 5)).thenReturn(Flux.just(customer));
+
+    //then
+    StepVerifier.create(customerService.searchCustomers("  ÉLODIE   N ", 5))
+            .expectNext(customer)
+            .verifyComplete();
+    StepVerifier.create(customerService.searchCustomers(" ", 5))
+            .expectError(InvalidRequestException.class)
+            .verify();
+    verify(customerRepository, times(1)).findByNamePrefix(anyString(), anyInt());
+  }
+
+  @Test
+  @Order(18)
+  void getCustomerBatchedByUppercaseId() {
+    //given
+    final AppProperties appProperties = new AppProperties();
+    appProperties.getBatchLoader().setWindow(Duration.ofMillis(1));
+    final CustomerService batchingCustomerService = new CustomerServiceImpl(customerRepository, appProperties);
+    final String customerId = ObjectId.get().toString();
+    final String uppercaseId = customerId.toUpperCase(Locale.ROOT);
+
+    //when
+    when(customerRepository.findAllById(anyList())).thenReturn(Flux.just(new Customer(customerId, "Atul", "Singh")));
+    when(customerRepository.deleteById(customerId)).thenReturn(Mono.empty());
+
+    //then
+    assertEquals(customerId, batchingCustomerService.getCustomer(uppercaseId).block().getId());
+    assertEquals("Atul", batchingCustomerService.getCustomer(customerId).block().getFirstName());
+    verify(customerRepository, times(1)).findAllById(List.of(customerId));
+
+    batchingCustomerService.deleteCustomer(uppercaseId).block();
+    batchingCustomerService.getCustomer(customerId).block();
+    verify(customerRepository, times(2)).findAllById(List.of(customerId));
+  }
 }
\ No newline at end of file
@@ -1,11 +1,14 @@
 package com.signature.service;
 
 import com.signature.bootstrap.Bootstrap;
+import com.signature.catalog.VendorNameIndex;
+import com.signature.config.AppProperties;
 import com.signature.model.Vendor;
 import com.signature.repository.CategoryRepository;
 import com.signature.repository.CustomerRepository;
 import com.signature.repository.VendorRepository;
 import com.signature.service.impl.VendorServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
@@ -46,11 +49,13 @@ class VendorServiceITest {
   void setUp() throws Exception {
     log.info("Started loading initial data");
 
-    new Bootstrap(categoryRepository, customerRepository, vendorRepository).run();
+    new Bootstrap(categoryRepository, customerRepository, vendorRepository, event -> { }).seed().block();
 
     log.info("Finished loading initial data");
 
-    vendorService = new VendorServiceImpl(vendorRepository);
+    final AppProperties appProperties = new AppProperties();
+    vendorService = new VendorServiceImpl(vendorRepository,
+            new VendorNameIndex(vendorRepository, appProperties, new SimpleMeterRegistry()), appProperties);
 
     vendorIds = vendorService.getAllVendors().map(Vendor::getId).collectList().block();
   }
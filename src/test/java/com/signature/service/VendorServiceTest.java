@@ -1,8 +1,14 @@
 package com.signature.service;
 
+import com.signature.catalog.VendorNameIndex;
+import com.signature.config.AppProperties;
+import com.signature.exception.InvalidRequestException;
 import com.signature.model.Vendor;
+import com.signature.repository.BulkInsertResult;
 import com.signature.repository.VendorRepository;
 import com.signature.service.impl.VendorServiceImpl;
+import com.signature.util.FieldSelection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
@@ -12,15 +18,25 @@ import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.query.Update;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Locale;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -31,12 +47,16 @@ class VendorServiceTest {
 
   private VendorService vendorService;
 
+  private VendorNameIndex nameIndex;
+
   @Mock
   public VendorRepository vendorRepository;
 
   @BeforeEach
   void setUp() {
-    vendorService = new VendorServiceImpl(vendorRepository);
+    final AppProperties appProperties = new AppProperties();
+    nameIndex = new VendorNameIndex(vendorRepository, appProperties, new SimpleMeterRegistry());
+    vendorService = new VendorServiceImpl(vendorRepository, nameIndex, appProperties);
   }
 
   @Test
@@ -84,17 +104,17 @@ class VendorServiceTest {
   void patchVendor() throws Exception {
     //given
     final String vendorId = ObjectId.get().toString();
-    Vendor vendor = new Vendor(vendorId, "Signature Technologies");
     Vendor updated = new Vendor(vendorId, "Signature Technologies Ltd.");
 
     //when
-    when(vendorRepository.findById(anyString())).thenReturn(Mono.just(vendor));
-    when(vendorRepository.save(any(Vendor.class))).thenReturn(Mono.just(updated));
+    when(vendorRepository.findAndUpdate(anyString(), any(Update.class))).thenReturn(Mono.just(updated));
 
     //then
     Vendor savedVendor = vendorService.patchVendor(updated).block();
 
-    verify(vendorRepository, times(1)).save(any(Vendor.class));
+    verify(vendorRepository, times(1)).findAndUpdate(eq(vendorId), any(Update.class));
+    verify(vendorRepository, never()).findById(anyString());
+    verify(vendorRepository, never()).save(any(Vendor.class));
 
     assertNotNull(savedVendor, "Failed to patch vendor!");
 
@@ -150,4 +170,204 @@ class VendorServiceTest {
 
     verify(vendorRepository, times(1)).deleteById(anyString());
   }
+
+  @Test
+  @Order(7)
+  void getVendorPage() {
+    //given
+    final String afterId = ObjectId.get().toString();
+
+    //when
+    when(vendorRepository.findPageAfter(afterId, 3, FieldSelection.ALL)).thenReturn(Flux.just(new Vendor(), new Vendor(), new Vendor()));
+
+    //then
+    List<Vendor> page = vendorService.getVendorPage(afterId, 3, FieldSelection.ALL).collectList().block();
+
+    verify(vendorRepository, times(1)).findPageAfter(afterId, 3, FieldSelection.ALL);
+
+    assertEquals(3, page.size());
+  }
+
+  @Test
+  @Order(8)
+  void streamAllVendors() {
+    //when
+    when(vendorRepository.streamAll(anyInt())).thenReturn(Flux.just(new Vendor(), new Vendor()));
+
+    //then
+    List<Vendor> allVendors = vendorService.streamAllVendors().collectList().block();
+
+    verify(vendorRepository, times(1)).streamAll(anyInt());
+
+    assertEquals(2, allVendors.size());
+  }
+
+  @Test
+  @Order(9)
+  void addVendors() {
+    //given
+    final String duplicateId = ObjectId.get().toString();
+
+    //when
+    when(vendorRepository.insertUnordered(anyList())).thenReturn(Flux.just(
+            new BulkInsertResult(0, ObjectId.get().toString(), null),
+            new BulkInsertResult(1, null, BulkInsertResult.DUPLICATE_ID)));
+
+    //then
+    List<BulkInsertResult> results = vendorService.addVendors(Flux.just(new Vendor("Signature Technologies"),
+            new Vendor(duplicateId, "Microsoft Technologies"))).collectList().block();
+
+    verify(vendorRepository, times(1)).insertUnordered(anyList());
+
+    assertEquals(2, results.size());
+    assertTrue(results.get(0).isInserted());
+    assertFalse(results.get(1).isInserted());
+  }
+
+  @Test
+  @Order(10)
+  void getAllVendorsWithFields() {
+    //given
+    final FieldSelection fields = FieldSelection.of("name");
+
+    //when
+    when(vendorRepository.findAllProjected(fields)).thenReturn(Flux.just(new Vendor(), new Vendor()));
+
+    //then
+    List<Vendor> vendors = vendorService.getAllVendors(fields).collectList().block();
+
+    verify(vendorRepository, times(1)).findAllProjected(fields);
+    verify(vendorRepository, never()).findAll();
+
+    assertEquals(2, vendors.size());
+  }
+
+  @Test
+  @Order(11)
+  void getVendors() {
+    //given
+    final List<String> ids = List.of(ObjectId.get().toString(), ObjectId.get().toString(), ObjectId.get().toString());
+
+    //when
+    when(vendorRepository.findAllByIdProjected(ids, FieldSelection.ALL))
+            .thenReturn(Flux.just(new Vendor(ids.get(2), "Vendor 2"), new Vendor(ids.get(0), "Vendor 0")));
+
+    //then
+    StepVerifier.create(vendorService.getVendors(ids, FieldSelection.ALL).map(Vendor::getId))
+            .expectNext(ids.get(0), ids.get(2))
+            .verifyComplete();
+  }
+
+  @Test
+  @Order(12)
+  void getVendorBatched() {
+    //given
+    final AppProperties appProperties = new AppProperties();
+    appProperties.getBatchLoader().setWindow(Duration.ofSeconds(10));
+    appProperties.getBatchLoader().setMaxBatchSize(2);
+    final VendorService batchingVendorService = new VendorServiceImpl(vendorRepository, nameIndex, appProperties);
+    final String first = ObjectId.get().toString();
+    final String second = ObjectId.get().toString();
+
+    //when
+    when(vendorRepository.findAllById(anyList()))
+            .thenReturn(Flux.just(new Vendor(first, "Vendor 1"), new Vendor(second, "Vendor 2")));
+
+    //then
+    StepVerifier.create(Mono.zip(batchingVendorService.getVendor(first), batchingVendorService.getVendor(second)))
+            .assertNext(found -> {
+              assertEquals(first, found.getT1().getId());
+              assertEquals(second, found.getT2().getId());
+            })
+            .verifyComplete();
+    verify(vendorRepository, times(1)).findAllById(List.of(first, second));
+    verify(vendorRepository, never()).findById(anyString());
+  }
+
+  @Test
+  @Order(13)
+  void getVendorCached() {
+    //given
+    final String vendorId = ObjectId.get().toString();
+    final Vendor updated = new Vendor(vendorId, "Vandela Technologies Ltd.");
+
+    //when
+    when(vendorRepository.findById(vendorId)).thenReturn(Mono.just(new Vendor(vendorId, "Signature Technologies Ltd.")));
+    when(vendorRepository.save(updated)).thenReturn(Mono.just(updated));
+    when(vendorRepository.deleteById(vendorId)).thenReturn(Mono.empty());
+
+    //then
+    vendorService.getVendor(vendorId).block();
+    vendorService.getVendor(vendorId).block();
+    verify(vendorRepository, times(1)).findById(vendorId);
+
+    vendorService.updateVendor(updated).block();
+    updated.setName("Changed");
+    final Vendor cached = vendorService.getVendor(vendorId).block();
+    assertEquals("Vandela Technologies Ltd.", cached.getName());
+    cached.setName("Changed");
+    assertEquals("Vandela Technologies Ltd.", vendorService.getVendor(vendorId).block().getName());
+    verify(vendorRepository, times(1)).findById(vendorId);
+
+    vendorService.deleteVendor(vendorId).block();
+    vendorService.getVendor(vendorId).block();
+    verify(vendorRepository, times(2)).findById(vendorId);
+  }
+
+  @Test
+  @Order(14)
+  void suggestVendors() {
+    //given
+    final String appleId = ObjectId.get().toString();
+    final String googleId = ObjectId.get().toString();
+    final Vendor vandela = new Vendor(ObjectId.get().toString(), "Vandela Technologies Ltd.");
+
+    //when
+    when(vendorRepository.findAllProjected(any(FieldSelection.class))).thenReturn(Flux.just(
+            new Vendor(appleId, "Apple Technologies Ltd."), new Vendor(googleId, "Google Technologies Ltd.")));
+    when(vendorRepository.save(any(Vendor.class))).thenReturn(Mono.just(vandela));
+    when(vendorRepository.deleteById(googleId)).thenReturn(Mono.empty());
+
+    //then
+    StepVerifier.create(vendorService.suggestVendors("apple", 10)).verifyComplete();
+
+    nameIndex.reload().block();
+    vendorService.addVendor(vandela).block();
+    vendorService.deleteVendor(googleId).block();
+
+    StepVerifier.create(vendorService.suggestVendors(" ÁPPLE ", 10).map(Vendor::getId))
+            .expectNext(appleId)
+            .verifyComplete();
+    StepVerifier.create(vendorService.suggestVendors("v", 10).map(Vendor::getName))
+            .expectNext("Vandela Technologies Ltd.")
+            .verifyComplete();
+    StepVerifier.create(vendorService.suggestVendors("goo", 10)).verifyComplete();
+    StepVerifier.create(vendorService.suggestVendors("", 10))
+            .expectError(InvalidRequestException.class)
+            .verify();
+  }
+
+  @Test
+  @Order(15)
+  void getVendorBatchedByUppercaseId() {
+    //given
+    final AppProperties appProperties = new AppProperties();
+    appProperties.getBatchLoader().setWindow(Duration.ofMillis(1));
+    final VendorService batchingVendorService = new VendorServiceImpl(vendorRepository, nameIndex, appProperties);
+    final String vendorId = ObjectId.get().toString();
+    final String uppercaseId = vendorId.toUpperCase(Locale.ROOT);
+
+    //when
+    when(vendorRepository.findAllById(anyList())).thenReturn(Flux.just(new Vendor(vendorId, "Vendor 1")));
+    when(vendorRepository.deleteById(vendorId)).thenReturn(Mono.empty());
+
+    //then
+    assertEquals(vendorId, batchingVendorService.getVendor(uppercaseId).block().getId());
+    assertEquals("Vendor 1", batchingVendorService.getVendor(vendorId).block().getName());
+    verify(vendorRepository, times(1)).findAllById(List.of(vendorId));
+
+    batchingVendorService.deleteVendor(uppercaseId).block();
+    batchingVendorService.getVendor(vendorId).block();
+    verify(vendorRepository, times(2)).findAllById(List.of(vendorId));
+  }
 }
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.signature.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchLoaderTest {
+
+  private final List<List<String>> batches = new ArrayList<>();
+  private VirtualTimeScheduler scheduler;
+  private BatchLoader<String, String> batchLoader;
+
+  @BeforeEach
+  void setUp() {
+    scheduler = VirtualTimeScheduler.create();
+    batchLoader = new BatchLoader<>(this::lookup, value -> value.substring(0, 1), Duration.ofMillis(2), 3, scheduler);
+  }
+
+  @Test
+  void batchWithinWindow() {
+    //given
+    final List<String> values = new ArrayList<>();
+
+    //when
+    batchLoader.load("a").subscribe(values::add);
+    batchLoader.load("b").subscribe(values::add);
+    batchLoader.load("a").subscribe(values::add);
+    scheduler.advanceTimeBy(Duration.ofMillis(1));
+    assertTrue(batches.isEmpty());
+    scheduler.advanceTimeBy(Duration.ofMillis(1));
+
+    //then
+    assertEquals(List.of(List.of("a", "b")), batches);
+    assertEquals(List.of("a!", "a!", "b!"), values);
+  }
+
+  @Test
+  void dispatchFullBatchEarly() {
+    batchLoader.load("a").subscribe();
+    batchLoader.load("b").subscribe();
+    batchLoader.load("c").subscribe();
+    batchLoader.load("d").subscribe();
+
+    assertEquals(List.of(List.of("a", "b", "c")), batches);
+
+    scheduler.advanceTimeBy(Duration.ofMillis(2));
+    assertEquals(List.of(List.of("a", "b", "c"), List.of("d")), batches);
+  }
+
+  @Test
+  void completeMissingKeysEmpty() {
+    final List<String> values = new ArrayList<>();
+    final List<Boolean> completed = new ArrayList<>();
+
+    batchLoader.load("x").subscribe(values::add, null, () -> completed.add(true));
+    scheduler.advanceTimeBy(Duration.ofMillis(2));
+
+    assertTrue(values.isEmpty());
+    assertEquals(List.of(true), completed);
+  }
+
+  @Test
+  void failAllOnBatchError() {
+    final BatchLoader<String, String> failing = new BatchLoader<>(
+            keys -> Flux.error(new IllegalStateException("down")), value -> value, Duration.ofMillis(2), 3, scheduler);
+    final List<Throwable> errors = new ArrayList<>();
+
+    failing.load("a").subscribe(null, errors::add);
+    failing.load("b").subscribe(null, errors::add);
+    scheduler.advanceTimeBy(Duration.ofMillis(2));
+
+    assertEquals(2, errors.size());
+  }
+
+  @Test
+  void leaveOutKeysWhoseCallersCancelled() {
+    final List<String> values = new ArrayList<>();
+
+    batchLoader.load("a").subscribe().dispose();
+    batchLoader.load("b").subscribe(values::add);
+    final Disposable cancelled = batchLoader.load("b").subscribe();
+    cancelled.dispose();
+    scheduler.advanceTimeBy(Duration.ofMillis(2));
+
+    assertEquals(List.of(List.of("b")), batches);
+    assertEquals(List.of("b!"), values);
+  }
+
+  @Test
+  void skipLookupWhenEveryCallerCancelled() {
+    batchLoader.load("a").subscribe().dispose();
+    batchLoader.load("b").subscribe().dispose();
+    scheduler.advanceTimeBy(Duration.ofMillis(2));
+
+    assertTrue(batches.isEmpty());
+  }
+
+  @Test
+  void cancelLookupWhenEveryCallerCancelled() {
+    final AtomicBoolean cancelled = new AtomicBoolean();
+    final BatchLoader<String, String> slow = new BatchLoader<>(
+            keys -> Flux.<String>never().doOnCancel(() -> cancelled.set(true)), value -> value, Duration.ofMillis(2), 3,
+            scheduler);
+
+    final Disposable first = slow.load("a").subscribe();
+    final Disposable second = slow.load("b").subscribe();
+    scheduler.advanceTimeBy(Duration.ofMillis(2));
+    first.dispose();
+    assertFalse(cancelled.get());
+    second.dispose();
+
+    assertTrue(cancelled.get());
+  }
+
+  private Flux<String> lookup(final Collection<String> keys) {
+    batches.add(List.copyOf(keys));
+    return Flux.fromIterable(keys).filter(key -> !"x".equals(key)).map(key -> key + "!");
+  }
+}
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.signature.util;
+
+import com.signature.domain.ChangeEventDTO;
+import com.signature.exception.InvalidRequestException;
+import com.signature.repository.ChangeEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ChangeFeedTest {
+
+  private final List<String> opened = new ArrayList<>();
+  private Sinks.Many<ChangeEvent<String>> upstream;
+  private ChangeFeed<String> changeFeed;
+
+  @BeforeEach
+  void setUp() {
+    upstream = Sinks.many().multicast().directBestEffort();
+    changeFeed = new ChangeFeed<>(resumeAfter -> {
+      opened.add(resumeAfter);
+      return resumeAfter == null ? upstream.asFlux() : Flux.just(event("0f", "resumed"));
+    }, 2, Duration.ZERO);
+  }
+
+  @Test
+  void sharesOneStream() {
+    //given
+    final List<String> first = new ArrayList<>();
+    final List<String> second = new ArrayList<>();
+
+    //when
+    changeFeed.changes(null).subscribe(event -> first.add(event.getDocument()));
+    changeFeed.changes(null).subscribe(event -> second.add(event.getDocument()));
+    upstream.tryEmitNext(event("01", "Atul"));
+
+    //then
+    assertEquals(1, opened.size());
+    assertEquals(List.of("Atul"), first);
+    assertEquals(List.of("Atul"), second);
+  }
+
+  @Test
+  void resumesFromHistory() {
+    //given
+    changeFeed.changes(null).subscribe();
+    upstream.tryEmitNext(event("01", "Atul"));
+    upstream.tryEmitNext(event("02", "Rishu"));
+    upstream.tryEmitNext(event("03", "Verma"));
+
+    //when
+    final List<String> resumed = new ArrayList<>();
+    changeFeed.changes("02").subscribe(event -> resumed.add(event.getDocument()));
+    upstream.tryEmitNext(event("04", "Singh"));
+
+    //then
+    assertEquals(1, opened.size());
+    assertEquals(List.of("Verma", "Singh"), resumed);
+  }
+
+  @Test
+  void resumesUnknownTokenOnItsOwnStream() {
+    changeFeed.changes(null).subscribe();
+    upstream.tryEmitNext(event("01", "Atul"));
+    upstream.tryEmitNext(event("02", "Rishu"));
+    upstream.tryEmitNext(event("03", "Verma"));
+
+    StepVerifier.create(changeFeed.changes("01"))
+            .expectNextMatches(event -> "resumed".equals(event.getDocument()))
+            .verifyComplete();
+    assertEquals(List.of("01"), opened.subList(1, opened.size()));
+  }
+
+  @Test
+  void resumesOnItsOwnStreamAfterSharedStreamClosed() {
+    //given
+    final Disposable subscriber = changeFeed.changes(null).subscribe();
+    upstream.tryEmitNext(event("01", "Atul"));
+    upstream.tryEmitNext(event("02", "Rishu"));
+    subscriber.dispose();
+
+    //when
+    upstream.tryEmitNext(event("03", "Verma"));
+
+    //then
+    StepVerifier.create(changeFeed.changes("02"))
+            .expectNextMatches(event -> "resumed".equals(event.getDocument()))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    assertEquals(Arrays.asList(null, "02"), opened);
+  }
+
+  @Test
+  void rejectsMalformedToken() {
+    StepVerifier.create(changeFeed.changes("not-a-token"))
+            .verifyError(InvalidRequestException.class);
+    assertEquals(0, opened.size());
+  }
+
+  @Test
+  void reopensAfterLastSubscriberLeaves() {
+    changeFeed.changes(null).subscribe().dispose();
+    changeFeed.changes(null).subscribe();
+
+    assertEquals(2, opened.size());
+  }
+
+  @Test
+  void toServerSentEvents() {
+    final ChangeEvent<String> delete = new ChangeEvent<>("02", "delete", "id-2", null);
+
+    StepVerifier.withVirtualTime(() -> ChangeFeed.toServerSentEvents(
+                    Flux.just(event("01", "atul"), delete).concatWith(Flux.never()), String::toUpperCase,
+                    Duration.ofSeconds(15)))
+            .assertNext(sse -> {
+              assertEquals("01", sse.id());
+              assertEquals("insert", sse.event());
+              assertEquals("ATUL", sse.data().getData());
+            })
+            .assertNext(sse -> {
+              assertEquals("delete", sse.event());
+              assertEquals("id-2", sse.data().getId());
+              assertNull(sse.data().getData());
+            })
+            .thenAwait(Duration.ofSeconds(15))
+            .assertNext(sse -> assertEquals("heartbeat", sse.comment()))
+            .thenCancel()
+            .verify();
+  }
+
+  @Test
+  void toServerSentEventsCompletesWithChanges() {
+    final Flux<ServerSentEvent<ChangeEventDTO<String>>> events =
+            ChangeFeed.toServerSentEvents(Flux.just(event("01", "atul")), String::toUpperCase, Duration.ofSeconds(15));
+
+    StepVerifier.create(events).expectNextCount(1).verifyComplete();
+  }
+
+  private static ChangeEvent<String> event(final String token, final String document) {
+    return new ChangeEvent<>(token, "insert", "id-" + token, document);
+  }
+}
\ No newline at end of file
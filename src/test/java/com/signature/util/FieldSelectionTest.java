@@ -0,0 +1,60 @@
+package com.signature.util;
+
+import com.signature.exception.InvalidRequestException;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.test.StepVerifier;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FieldSelectionTest {
+
+  private static final Set<String> FIELDS = Set.of("firstName", "lastName", "customer_url");
+  private static final Set<String> STORED_FIELDS = Set.of("firstName", "lastName");
+
+  @Test
+  void parseBlank() {
+    assertTrue(FieldSelection.parse(null).isAll());
+    assertTrue(FieldSelection.parse(" ").isAll());
+    assertTrue(FieldSelection.parse((String) null).includes("firstName"));
+  }
+
+  @Test
+  void parseFields() {
+    //when
+    FieldSelection fields = FieldSelection.parse(" firstName, customer_url ,");
+
+    //then
+    assertFalse(fields.isAll());
+    assertEquals(Set.of("firstName", "customer_url"), fields.getFields());
+    assertTrue(fields.includes("customer_url"));
+    assertFalse(fields.includes("lastName"));
+  }
+
+  @Test
+  void parseUnknownField() {
+    StepVerifier.create(FieldSelection.parse("firstName,password", FIELDS))
+            .expectError(InvalidRequestException.class)
+            .verify();
+  }
+
+  @Test
+  void applyTo() {
+    assertTrue(FieldSelection.ALL.applyTo(new Query(), STORED_FIELDS).getFieldsObject().isEmpty());
+    assertEquals(new Document("id", 1).append("firstName", 1),
+            FieldSelection.of("firstName").applyTo(new Query(), STORED_FIELDS).getFieldsObject());
+  }
+
+  @Test
+  void applyToRenderedField() {
+    assertEquals(new Document("id", 1).append("lastName", 1),
+            FieldSelection.of("customer_url", "lastName").applyTo(new Query(), STORED_FIELDS).getFieldsObject());
+    assertEquals(new Document("id", 1),
+            FieldSelection.of("customer_url").applyTo(new Query(), STORED_FIELDS).getFieldsObject());
+  }
+}
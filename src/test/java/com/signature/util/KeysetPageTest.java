@@ -0,0 +1,43 @@
+package com.signature.util;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeysetPageTest {
+
+  @Test
+  void encodeAndDecode() {
+    //given
+    final String id = ObjectId.get().toString();
+
+    //when
+    final String cursor = KeysetPage.encode(id);
+
+    //then
+    assertEquals(16, cursor.length());
+    assertEquals(id, KeysetPage.decode(cursor).orElseThrow());
+  }
+
+  @Test
+  void decodePlainObjectId() {
+    final String id = ObjectId.get().toString();
+
+    assertEquals(id, KeysetPage.decode(id).orElseThrow());
+  }
+
+  @Test
+  void decodeInvalidCursor() {
+    assertTrue(KeysetPage.decode("not-a-cursor").isEmpty());
+    assertTrue(KeysetPage.decode("").isEmpty());
+  }
+
+  @Test
+  void pageSize() {
+    assertEquals(KeysetPage.DEFAULT_LIMIT, KeysetPage.pageSize(null));
+    assertEquals(1, KeysetPage.pageSize(0));
+    assertEquals(KeysetPage.MAX_LIMIT, KeysetPage.pageSize(KeysetPage.MAX_LIMIT + 1));
+  }
+}
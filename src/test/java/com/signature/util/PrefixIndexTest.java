@@ -0,0 +1,118 @@
+package com.signature.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefixIndexTest {
+
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+  private PrefixIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new PrefixIndex("test", registry);
+  }
+
+  private static List<String> labels(final List<PrefixIndex.Entry> entries) {
+    return entries.stream().map(PrefixIndex.Entry::getLabel).collect(Collectors.toList());
+  }
+
+  private static PrefixIndex.Entry entry(final String label) {
+    return new PrefixIndex.Entry(ObjectId.get().toHexString(), label);
+  }
+
+  @Test
+  void findByPrefix() {
+    //given
+    index.beginLoad();
+    index.load(List.of(entry("Microsoft Technologies Ltd."), entry("Apple Technologies Ltd."), entry("Applied Ñame"),
+            entry("Ápplé Orchards"), entry("Google Technologies Ltd."), new PrefixIndex.Entry("not-an-id", "Apple")));
+
+    //when
+    final List<PrefixIndex.Entry> apples = index.find("APP", 10);
+
+    //then
+    assertTrue(index.isLoaded());
+    assertEquals(List.of("Ápplé Orchards", "Apple Technologies Ltd.", "Applied Ñame"), labels(apples));
+    assertEquals(List.of("Ápplé Orchards"), labels(index.find("apple o", 10)));
+    assertEquals(List.of("Ápplé Orchards", "Apple Technologies Ltd."), labels(index.find("app", 2)));
+    assertTrue(index.find("z", 10).isEmpty());
+    assertEquals(5, index.size());
+    assertTrue(registry.get("app.prefix.index.memory").gauge().value() > 0);
+  }
+
+  @Test
+  void replaceAndRemove() {
+    //given
+    final PrefixIndex.Entry apple = entry("Apple");
+    final PrefixIndex.Entry google = entry("Google");
+    index.beginLoad();
+    index.load(List.of(apple, google));
+
+    //when
+    index.put(apple.getId(), "Banana");
+    index.remove(google.getId());
+    index.put(ObjectId.get().toHexString(), "Grape");
+
+    //then
+    assertTrue(index.find("apple", 10).isEmpty());
+    assertEquals(List.of("Grape"), labels(index.find("g", 10)));
+    final List<PrefixIndex.Entry> bananas = index.find("b", 10);
+    assertEquals(List.of("Banana"), labels(bananas));
+    assertEquals(apple.getId(), bananas.get(0).getId());
+    assertEquals(2, index.size());
+  }
+
+  @Test
+  void keepChangesMadeDuringLoad() {
+    //given
+    final PrefixIndex.Entry apple = entry("Apple");
+    final PrefixIndex.Entry google = entry("Google");
+    index.beginLoad();
+
+    //when
+    index.put(ObjectId.get().toHexString(), "Apricot");
+    index.remove(google.getId());
+    index.load(List.of(apple, google));
+
+    //then
+    assertEquals(List.of("Apple", "Apricot"), labels(index.find("ap", 10)));
+    assertTrue(index.find("google", 10).isEmpty());
+  }
+
+  @Test
+  void mergeDeltaIntoBase() {
+    //given
+    final List<PrefixIndex.Entry> loaded = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      loaded.add(entry(String.format("Vendor %04d", i)));
+    }
+    index.beginLoad();
+    index.load(loaded);
+    final long loadedMemory = index.memory();
+
+    //when
+    for (int i = 0; i < 1500; i++) {
+      index.put(loaded.get(i).getId(), String.format("Renamed %04d", i));
+    }
+
+    //then
+    assertEquals(2000, index.size());
+    assertEquals(List.of("Renamed 0000", "Renamed 0001"), labels(index.find("renamed", 2)));
+    assertEquals(List.of("Vendor 1500"), labels(index.find("vendor 1500", 10)));
+    assertFalse(index.find("vendor 0", 10).stream().anyMatch(entry -> entry.getLabel().startsWith("Vendor 0")));
+    assertEquals(500, index.find("vendor", 1000).size());
+    assertTrue(index.memory() >= loadedMemory);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.signature.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadThroughCacheTest {
+
+  private final AtomicInteger loads = new AtomicInteger();
+  private SimpleMeterRegistry registry;
+  private ReadThroughCache<String, String> cache;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    cache = new ReadThroughCache<>("test", 100, Duration.ofMinutes(1), registry);
+  }
+
+  @Test
+  void loadOnce() {
+    //when
+    StepVerifier.create(cache.get("a", this::load)).expectNext("a1").verifyComplete();
+    StepVerifier.create(cache.get("a", this::load)).expectNext("a1").verifyComplete();
+
+    //then
+    assertEquals(1, loads.get());
+    assertEquals(1, registry.get("cache.gets").tag("cache", "test").tag("result", "hit").functionCounter().count());
+    assertEquals(1, registry.get("cache.gets").tag("cache", "test").tag("result", "miss").functionCounter().count());
+  }
+
+  @Test
+  void doNotCacheEmpty() {
+    StepVerifier.create(cache.get("a", key -> {
+      loads.incrementAndGet();
+      return Mono.empty();
+    })).verifyComplete();
+    StepVerifier.create(cache.get("a", this::load)).expectNext("a2").verifyComplete();
+  }
+
+  @Test
+  void doNotCacheErrors() {
+    StepVerifier.create(cache.get("a", key -> Mono.error(new IllegalStateException("down"))))
+            .verifyError(IllegalStateException.class);
+    StepVerifier.create(cache.get("a", this::load)).expectNext("a1").verifyComplete();
+  }
+
+  @Test
+  void putAndInvalidate() {
+    StepVerifier.create(cache.get("a", this::load)).expectNext("a1").verifyComplete();
+
+    cache.put("a", "updated");
+    StepVerifier.create(cache.get("a", this::load)).expectNext("updated").verifyComplete();
+
+    cache.invalidate("a");
+    StepVerifier.create(cache.get("a", this::load)).expectNext("a2").verifyComplete();
+  }
+
+  @Test
+  void cancelledCallerDoesNotCancelLoad() {
+    final Mono<String> slow = Mono.delay(Duration.ofMillis(50)).map(tick -> "slow");
+
+    cache.get("a", key -> slow).subscribe().dispose();
+
+    StepVerifier.create(cache.get("a", this::load)).expectNext("slow").verifyComplete();
+    assertEquals(0, loads.get());
+  }
+
+  @Test
+  void handOutCopies() {
+    final ReadThroughCache<String, StringBuilder> copying = new ReadThroughCache<>("copies", 100,
+            Duration.ofMinutes(1), StringBuilder::new, registry);
+    final StringBuilder put = new StringBuilder("a");
+
+    copying.put("a", put);
+    put.append("-changed");
+    copying.get("a", key -> Mono.empty()).block().append("-changed");
+
+    StepVerifier.create(copying.get("a", key -> Mono.empty()).map(StringBuilder::toString))
+            .expectNext("a")
+            .verifyComplete();
+  }
+
+  @Test
+  void disabled() {
+    final ReadThroughCache<String, String> disabled = new ReadThroughCache<>("off", 0, Duration.ofMinutes(1), registry);
+
+    StepVerifier.create(disabled.get("a", this::load)).expectNext("a1").verifyComplete();
+    StepVerifier.create(disabled.get("a", this::load)).expectNext("a2").verifyComplete();
+  }
+
+  private Mono<String> load(final String key) {
+    return Mono.fromSupplier(() -> key + loads.incrementAndGet());
+  }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.signature.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SearchKeysTest {
+
+  @Test
+  void normalize() {
+    assertEquals("atul singh", SearchKeys.normalize("  Atul \t SINGH "));
+    assertEquals("elodie nunez", SearchKeys.normalize("Élodie Núñez"));
+    assertEquals("sarka", SearchKeys.normalize("Šárka"));
+    assertEquals("francois", SearchKeys.normalize("François"));
+    assertEquals("", SearchKeys.normalize(" "));
+    assertNull(SearchKeys.normalize(null));
+  }
+
+  @Test
+  void limit() {
+    assertEquals(SearchKeys.DEFAULT_LIMIT, SearchKeys.limit(null));
+    assertEquals(1, SearchKeys.limit(0));
+    assertEquals(20, SearchKeys.limit(20));
+    assertEquals(SearchKeys.MAX_LIMIT, SearchKeys.limit(10_000));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.signature.util;
+
+import com.signature.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SingleFlightTest {
+
+  private SimpleMeterRegistry registry;
+  private SingleFlight<String, String> singleFlight;
+  private final AtomicInteger lookups = new AtomicInteger();
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    singleFlight = new SingleFlight<>("test", registry);
+  }
+
+  @Test
+  void coalesceConcurrentLookups() {
+    //given
+    final Sinks.One<String> result = Sinks.one();
+    final List<String> values = new ArrayList<>();
+
+    //when
+    for (int i = 0; i < 3; i++) {
+      singleFlight.execute("a", key -> {
+        lookups.incrementAndGet();
+        return result.asMono();
+      }).subscribe(values::add);
+    }
+    assertEquals(1, singleFlight.inFlight());
+    result.tryEmitValue("A");
+
+    //then
+    assertEquals(1, lookups.get());
+    assertEquals(List.of("A", "A", "A"), values);
+    assertEquals(0, singleFlight.inFlight());
+    assertEquals(1, count("executed"));
+    assertEquals(2, count("coalesced"));
+  }
+
+  @Test
+  void lookupAgainAfterCompletion() {
+    StepVerifier.create(singleFlight.execute("a", this::lookup)).expectNext("a1").verifyComplete();
+    StepVerifier.create(singleFlight.execute("a", this::lookup)).expectNext("a2").verifyComplete();
+
+    assertEquals(2, count("executed"));
+    assertEquals(0, count("coalesced"));
+  }
+
+  @Test
+  void keysDoNotShare() {
+    StepVerifier.create(singleFlight.execute("a", this::lookup)).expectNext("a1").verifyComplete();
+    StepVerifier.create(singleFlight.execute("b", this::lookup)).expectNext("b2").verifyComplete();
+  }
+
+  @Test
+  void shareErrors() {
+    final Sinks.One<String> result = Sinks.one();
+    final List<Throwable> errors = new ArrayList<>();
+
+    singleFlight.execute("a", key -> result.asMono()).subscribe(null, errors::add);
+    singleFlight.execute("a", key -> result.asMono()).subscribe(null, errors::add);
+    result.tryEmitError(new ResourceNotFoundException("a not found"));
+
+    assertEquals(2, errors.size());
+    assertEquals(0, singleFlight.inFlight());
+  }
+
+  @Test
+  void removeWhenAllCancel() {
+    final Disposable first = singleFlight.execute("a", key -> Mono.never()).subscribe();
+    final Disposable second = singleFlight.execute("a", key -> Mono.never()).subscribe();
+
+    first.dispose();
+    assertEquals(1, singleFlight.inFlight());
+    second.dispose();
+    assertEquals(0, singleFlight.inFlight());
+  }
+
+  private Mono<String> lookup(final String key) {
+    return Mono.fromSupplier(() -> key + lookups.incrementAndGet());
+  }
+
+  private double count(final String result) {
+    return registry.get("app.single.flight.calls").tag("name", "test").tag("result", result).counter().count();
+  }
+}
\ No newline at end of file
@@ -0,0 +1,179 @@
+package com.signature.util;
+
+import com.signature.exception.BufferFullException;
+import com.signature.repository.BulkInsertResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteBehindBufferTest {
+
+  private final List<List<String>> batches = new ArrayList<>();
+  private final List<String> written = new CopyOnWriteArrayList<>();
+  private final List<String> failed = new CopyOnWriteArrayList<>();
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+  private VirtualTimeScheduler scheduler;
+
+  @BeforeEach
+  void setUp() {
+    scheduler = VirtualTimeScheduler.create();
+  }
+
+  private WriteBehindBuffer<String> buffer(final int capacity, final boolean awaitWrite,
+                                           final Function<List<String>, Flux<BulkInsertResult>> writer) {
+    return new WriteBehindBuffer<>("test", capacity, 3, Duration.ofMillis(50), awaitWrite, writer, written::add,
+            failed::add, scheduler, registry);
+  }
+
+  private Flux<BulkInsertResult> write(final List<String> batch) {
+    batches.add(List.copyOf(batch));
+    return Flux.range(0, batch.size()).map(index -> new BulkInsertResult(index, batch.get(index), null));
+  }
+
+  private double documents(final String result) {
+    return registry.get("app.write.behind.documents").tag("result", result).counter().count();
+  }
+
+  @Test
+  void flushFullBatch() {
+    //given
+    final WriteBehindBuffer<String> buffer = buffer(10, false, this::write);
+
+    //when
+    buffer.add("a").block();
+    buffer.add("b").block();
+    assertTrue(batches.isEmpty());
+    assertTrue(written.isEmpty());
+    buffer.add("c").block();
+
+    //then
+    assertEquals(List.of(List.of("a", "b", "c")), batches);
+    assertEquals(List.of("a", "b", "c"), written);
+    assertEquals(0, buffer.size());
+    assertEquals(3, documents("written"));
+  }
+
+  @Test
+  void flushOnInterval() {
+    //given
+    final WriteBehindBuffer<String> buffer = buffer(10, false, this::write);
+
+    //when
+    buffer.add("a").block();
+    scheduler.advanceTimeBy(Duration.ofMillis(49));
+    assertTrue(batches.isEmpty());
+    assertEquals(1, registry.get("app.write.behind.queue.depth").gauge().value());
+    scheduler.advanceTimeBy(Duration.ofMillis(1));
+
+    //then
+    assertEquals(List.of(List.of("a")), batches);
+    assertEquals(1, registry.get("app.write.behind.flush").timer().count());
+  }
+
+  @Test
+  void rejectWhenFull() {
+    //given
+    final WriteBehindBuffer<String> buffer = buffer(2, false, this::write);
+
+    //when
+    buffer.add("a").block();
+    buffer.add("b").block();
+
+    //then
+    StepVerifier.create(buffer.add("c")).expectError(BufferFullException.class).verify();
+    assertEquals(1, documents("rejected"));
+  }
+
+  @Test
+  void completeOnceWritten() {
+    //given
+    final Sinks.Many<BulkInsertResult> results = Sinks.many().unicast().onBackpressureBuffer();
+    final WriteBehindBuffer<String> buffer = buffer(10, true, batch -> results.asFlux());
+
+    //when
+    final List<String> completed = new ArrayList<>();
+    buffer.add("a").subscribe(completed::add);
+    buffer.add("b").subscribe(completed::add);
+    scheduler.advanceTimeBy(Duration.ofMillis(50));
+    assertTrue(completed.isEmpty());
+    results.tryEmitNext(new BulkInsertResult(0, "a", null));
+    results.tryEmitNext(new BulkInsertResult(1, "b", BulkInsertResult.DUPLICATE_ID));
+    results.tryEmitComplete();
+
+    //then
+    assertEquals(List.of("a"), completed);
+    assertEquals(List.of("a"), written);
+    assertEquals(List.of("b"), failed);
+    assertEquals(1, documents("failed"));
+  }
+
+  @Test
+  void countDuplicatesOfRetryAsWritten() {
+    //given
+    final List<Integer> attempts = new CopyOnWriteArrayList<>();
+    final WriteBehindBuffer<String> buffer = buffer(10, false, batch -> {
+      attempts.add(batch.size());
+      return attempts.size() == 1
+              ? Flux.error(new IllegalStateException("connection reset"))
+              : Flux.just(new BulkInsertResult(0, "a", BulkInsertResult.DUPLICATE_ID));
+    });
+
+    //when
+    buffer.add("a").block();
+    scheduler.advanceTimeBy(Duration.ofMillis(50));
+    assertEquals(List.of(1), attempts);
+    scheduler.advanceTimeBy(Duration.ofSeconds(1));
+
+    //then
+    assertEquals(List.of(1, 1), attempts);
+    assertEquals(List.of("a"), written);
+    assertTrue(failed.isEmpty());
+    assertEquals(1, documents("written"));
+  }
+
+  @Test
+  void drainOnClose() {
+    //given
+    final WriteBehindBuffer<String> buffer = buffer(10, false, this::write);
+    buffer.add("a").block();
+    buffer.add("b").block();
+
+    //when
+    buffer.close(Duration.ofSeconds(1));
+
+    //then
+    assertEquals(List.of(List.of("a", "b")), batches);
+    StepVerifier.create(buffer.add("c")).expectErrorMessage("The test write buffer is closed").verify();
+  }
+
+  @Test
+  void failWhatIsLeftAfterTimeout() {
+    //given
+    final WriteBehindBuffer<String> buffer = buffer(10, true, batch -> Flux.never());
+    final List<Throwable> errors = new ArrayList<>();
+    buffer.add("a").subscribe(value -> { }, errors::add);
+    scheduler.advanceTimeBy(Duration.ofMillis(50));
+    buffer.add("b").subscribe(value -> { }, errors::add);
+
+    //when
+    buffer.close(Duration.ofMillis(20));
+
+    //then
+    assertEquals(List.of("b"), failed);
+    assertEquals(1, errors.size());
+  }
+}
\ No newline at end of file